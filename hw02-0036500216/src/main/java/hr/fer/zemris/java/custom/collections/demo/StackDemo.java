@@ -3,10 +3,10 @@ package hr.fer.zemris.java.custom.collections.demo;
 import javax.naming.OperationNotSupportedException;
 
 import hr.fer.zemris.java.custom.collections.EmptyStackException;
-import hr.fer.zemris.java.custom.collections.ObjectStack;
+import hr.fer.zemris.java.custom.collections.IntObjectStack;
 
 /**
- * Demo class where we are going to show simple usage of {@link ObjectStack} class.
+ * Demo class where we are going to show simple usage of {@link IntObjectStack} class.
  * @author ilovrencic
  *
  */
@@ -14,7 +14,7 @@ public class StackDemo {
 
 	/**
 	 * Main method. Here we are going to perform postfix operations with a help of 
-	 * {@link ObjectStack} class.
+	 * {@link IntObjectStack} class, so operands aren't boxed.
 	 * @param args
 	 */
 	public static void main(String[] args) {
@@ -25,7 +25,7 @@ public class StackDemo {
 			return;
 		}
 		
-		ObjectStack stack = new ObjectStack();
+		IntObjectStack stack = new IntObjectStack();
 		String[] expressions = splitExpression(args[0]);
 		String operations = "+-*/%";
 		
@@ -40,18 +40,18 @@ public class StackDemo {
 				return;
 			}
 			
-			Integer firstNumber;
-			Integer secondNumber;
+			int firstNumber;
+			int secondNumber;
 			try {
-				firstNumber = (Integer) stack.pop();
-				secondNumber = (Integer) stack.pop();
+				firstNumber = stack.pop();
+				secondNumber = stack.pop();
 			} catch(EmptyStackException e) {
 				e.printStackTrace();
 				System.err.println("Unallowed action while stack was empty!");
 				return;
 			}
 			
-			Integer result;
+			int result;
 			try {
 				result = performOperation(expression,firstNumber,secondNumber);
 			} catch (OperationNotSupportedException e) {
@@ -77,13 +77,13 @@ public class StackDemo {
 	 * @return result of operation
 	 * @throws OperationNotSupportedException
 	 */
-	private static Integer performOperation(String expression,Integer firstNumber,Integer secondNumber) throws OperationNotSupportedException {
+	private static int performOperation(String expression,int firstNumber,int secondNumber) throws OperationNotSupportedException {
 		switch(expression) {
 			case "+": return secondNumber+firstNumber;
 			case "-": return secondNumber-firstNumber;
-			case "/": return (Integer)(secondNumber/firstNumber);
+			case "/": return secondNumber/firstNumber;
 			case "*": return firstNumber*secondNumber;
-			case "%": return (Integer)(secondNumber%firstNumber);
+			case "%": return secondNumber%firstNumber;
 			default: throw new OperationNotSupportedException();
 		}
 	}
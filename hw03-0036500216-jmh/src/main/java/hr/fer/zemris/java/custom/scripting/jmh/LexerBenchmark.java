@@ -0,0 +1,136 @@
+package hr.fer.zemris.java.custom.scripting.jmh;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptLexer;
+import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptToken;
+import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptTokenType;
+import hr.fer.zemris.java.custom.scripting.parser.SmartScriptParallelParser;
+import hr.fer.zemris.java.custom.scripting.parser.SmartScriptParser;
+
+/**
+ * Benchmark of {@link SmartScriptLexer}, {@link SmartScriptParser} and
+ * {@link SmartScriptParallelParser} on a generated document. The
+ * <code>tokens</code> counter reports the number of tokens per second next to
+ * the number of documents per second.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+	/**
+	 * Part of the document that is repeated. It has text with escapes, both
+	 * kinds of tags, numbers, strings, functions and operators.
+	 */
+	private static final String SECTION = "This is sample text \\{ with an escape.\n"
+			+ "{$ FOR i 1 10 1 $}\n  This is {$= i $}-th time this message is generated.\n{$END$}\n"
+			+ "{$FOR counter -1.5 \"10\" 2 $}\n  sin({$=counter$}^2) = {$= counter counter * @sin \"0.000\" @decfmt $}\n"
+			+ "{$END$}\n{$= \"a \\\"quoted\\\" string\" 42 3.25 + @paramGet $}\n";
+
+	/**
+	 * Number of times the section is repeated in the document
+	 */
+	@Param({ "10", "1000", "50000" })
+	public int sections;
+
+	/**
+	 * Generated document
+	 */
+	private String document;
+
+	/**
+	 * Counter of the generated tokens.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Tokens {
+		public long tokens;
+	}
+
+	/**
+	 * Method that generates the document.
+	 */
+	@Setup
+	public void setup() {
+		document = document(sections);
+	}
+
+	@Benchmark
+	public void lexString(Tokens counter, Blackhole blackhole) {
+		counter.tokens += lex(new SmartScriptLexer(document), blackhole);
+	}
+
+	@Benchmark
+	public void lexReader(Tokens counter, Blackhole blackhole) {
+		counter.tokens += lex(new SmartScriptLexer(new StringReader(document)), blackhole);
+	}
+
+	@Benchmark
+	public SmartScriptParser parse() {
+		return new SmartScriptParser(document);
+	}
+
+	@Benchmark
+	public SmartScriptParallelParser parseParallel() {
+		return new SmartScriptParallelParser(document);
+	}
+
+	/**
+	 * Method that generates all tokens of the lexer.
+	 *
+	 * @param lexer     - lexer of the document
+	 * @param blackhole - consumer of the tokens, or null
+	 * @return number of generated tokens, without EOF
+	 */
+	static int lex(SmartScriptLexer lexer, Blackhole blackhole) {
+		int count = 0;
+		SmartScriptToken token = lexer.nextToken();
+		while (token.getType() != SmartScriptTokenType.EOF) {
+			if (blackhole != null) {
+				blackhole.consume(token.getValue());
+			}
+			count++;
+			token = lexer.nextToken();
+		}
+		return count;
+	}
+
+	/**
+	 * Method that generates the document from the repeated section.
+	 *
+	 * @param sections - number of times the section is repeated
+	 * @return generated document
+	 */
+	static String document(int sections) {
+		StringBuilder builder = new StringBuilder(SECTION.length() * sections);
+		for (int i = 0; i < sections; i++) {
+			builder.append(SECTION);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,59 @@
+package hr.fer.zemris.java.custom.scripting.jmh;
+
+import java.util.Collection;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptLexer;
+
+/**
+ * Runner of {@link LexerBenchmark} with the GC profiler. After the run it
+ * prints the number of tokens per second and the number of bytes allocated per
+ * token of every benchmark. A regex passed as the first argument selects the
+ * benchmarks instead.
+ *
+ * @author ilovrencic
+ *
+ */
+public class LexerBenchmarkRunner {
+
+	/**
+	 * Name of the profiler result with the bytes allocated per operation
+	 */
+	private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+	/**
+	 * Main method
+	 *
+	 * @param args - optional regex of the benchmarks
+	 * @throws RunnerException if the benchmarks fail
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : LexerBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		Collection<RunResult> results = new Runner(options).run();
+
+		System.out.println();
+		System.out.printf("%-30s %10s %15s %15s%n", "Benchmark", "sections", "tokens/s", "bytes/token");
+		for (RunResult result : results) {
+			String name = result.getParams().getBenchmark();
+			int sections = Integer.parseInt(result.getParams().getParam("sections"));
+			int tokens = LexerBenchmark.lex(new SmartScriptLexer(LexerBenchmark.document(sections)), null);
+
+			double documentsPerSecond = result.getPrimaryResult().getScore();
+			Result<?> allocation = result.getSecondaryResults().get(ALLOCATION);
+			double bytesPerToken = allocation == null ? Double.NaN : allocation.getScore() / tokens;
+
+			System.out.printf("%-30s %10d %15.0f %15.1f%n", name.substring(name.lastIndexOf('.') + 1), sections,
+					documentsPerSecond * tokens, bytesPerToken);
+		}
+	}
+}
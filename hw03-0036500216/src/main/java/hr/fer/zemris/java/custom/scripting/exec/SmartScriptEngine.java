@@ -0,0 +1,767 @@
+package hr.fer.zemris.java.custom.scripting.exec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import hr.fer.zemris.java.custom.scripting.elems.Element;
+import hr.fer.zemris.java.custom.scripting.elems.ElementConstantDouble;
+import hr.fer.zemris.java.custom.scripting.elems.ElementConstantInteger;
+import hr.fer.zemris.java.custom.scripting.elems.ElementFunction;
+import hr.fer.zemris.java.custom.scripting.elems.ElementOperator;
+import hr.fer.zemris.java.custom.scripting.elems.ElementString;
+import hr.fer.zemris.java.custom.scripting.elems.ElementVariable;
+import hr.fer.zemris.java.custom.scripting.nodes.DocumentNode;
+import hr.fer.zemris.java.custom.scripting.nodes.EchoNode;
+import hr.fer.zemris.java.custom.scripting.nodes.ForLoopNode;
+import hr.fer.zemris.java.custom.scripting.nodes.Node;
+import hr.fer.zemris.java.custom.scripting.nodes.TextNode;
+
+/**
+ * Class that executes documents parsed by SmartScriptParser. The
+ * {@link DocumentNode} tree is compiled once, in the constructor, into a flat
+ * array of instructions. Variables are resolved to numbered slots and the
+ * maximum depth of the operand stack is computed while compiling, so
+ * {@link #execute(Map, Appendable)} only walks the instructions and can be
+ * called any number of times, also from different threads.
+ * <p>
+ * Text is written as it is. FOR loops go from the start value to the end value
+ * inclusive, with the step of one if the step isn't given. Echo tags are
+ * evaluated on the operand stack: constants and variables are pushed,
+ * operators and functions take their arguments from the stack and push the
+ * result. Everything that is left on the stack is written at the end of the
+ * tag, from the bottom of the stack, and null values aren't written. Variables
+ * that aren't FOR loop variables are taken from the parameters passed to the
+ * execute method.
+ *
+ * @author ilovrencic
+ *
+ */
+public class SmartScriptEngine {
+
+	/* ===== INSTRUCTIONS ===== */
+
+	/**
+	 * Writes the text with the given index
+	 */
+	private static final int TEXT = 0;
+
+	/**
+	 * Pushes the constant with the given index
+	 */
+	private static final int PUSH = 1;
+
+	/**
+	 * Pushes the value of the given slot
+	 */
+	private static final int LOAD = 2;
+
+	/**
+	 * Pops the value into the given slot
+	 */
+	private static final int STORE = 3;
+
+	/**
+	 * Applies the given operator to two values from the stack
+	 */
+	private static final int OPERATOR = 4;
+
+	/**
+	 * Calls the given function
+	 */
+	private static final int FUNCTION = 5;
+
+	/**
+	 * Writes the stack from the bottom and empties it
+	 */
+	private static final int ECHO = 6;
+
+	/**
+	 * Jumps to the given instruction if the loop variable slot is past the end
+	 * slot, which is larger for a positive step and smaller for a negative step
+	 */
+	private static final int LOOP_TEST = 7;
+
+	/**
+	 * Adds the step slot to the loop variable slot and jumps to the given
+	 * instruction
+	 */
+	private static final int LOOP_STEP = 8;
+
+	/* ===== OPERATORS ===== */
+
+	private static final int ADD = 0;
+	private static final int SUBTRACT = 1;
+	private static final int MULTIPLY = 2;
+	private static final int DIVIDE = 3;
+	private static final int POWER = 4;
+
+	/* ===== FUNCTIONS ===== */
+
+	private static final int SIN = 0;
+	private static final int DECFMT = 1;
+	private static final int DUP = 2;
+	private static final int SWAP = 3;
+	private static final int PARAM_GET = 4;
+	private static final int TPARAM_GET = 5;
+	private static final int TPARAM_SET = 6;
+	private static final int TPARAM_DEL = 7;
+
+	/**
+	 * Names of the functions, at the index of their code
+	 */
+	private static final String[] FUNCTIONS = { "sin", "decfmt", "dup", "swap", "paramGet", "tparamGet",
+			"tparamSet", "tparamDel" };
+
+	/**
+	 * Number of values every function takes from the stack
+	 */
+	private static final int[] FUNCTION_ARGUMENTS = { 1, 2, 1, 2, 2, 2, 2, 1 };
+
+	/**
+	 * Number of values every function pushes to the stack
+	 */
+	private static final int[] FUNCTION_RESULTS = { 1, 1, 2, 2, 1, 1, 0, 0 };
+
+	/**
+	 * Instructions, every instruction is followed by its operands
+	 */
+	private final int[] code;
+
+	/**
+	 * Texts of the text nodes
+	 */
+	private final String[] texts;
+
+	/**
+	 * Constants of the echo tags and FOR loops
+	 */
+	private final Object[] constants;
+
+	/**
+	 * Names of the parameters at the index of their slot, null for other slots
+	 */
+	private final String[] slotParameters;
+
+	/**
+	 * Maximum depth of the operand stack
+	 */
+	private final int maximumStackDepth;
+
+	/**
+	 * Default constructor that compiles the document.
+	 *
+	 * @param document - parsed document
+	 */
+	public SmartScriptEngine(DocumentNode document) {
+		if (document == null) {
+			throw new NullPointerException("Document can't be null!");
+		}
+
+		Compiler compiler = new Compiler();
+		compiler.compileChildren(document);
+
+		this.code = Arrays.copyOf(compiler.code, compiler.length);
+		this.texts = compiler.texts.toArray(new String[0]);
+		this.constants = compiler.constants.toArray();
+		this.slotParameters = compiler.slotParameters.toArray(new String[0]);
+		this.maximumStackDepth = compiler.maximumStackDepth;
+	}
+
+	/**
+	 * Method that executes the document and returns the output.
+	 *
+	 * @param parameters - values of the variables that aren't FOR loop variables
+	 * @return output of the document
+	 */
+	public String execute(Map<String, Object> parameters) {
+		StringBuilder output = new StringBuilder();
+		execute(parameters, output);
+		return output.toString();
+	}
+
+	/**
+	 * Method that executes the document and writes the output.
+	 *
+	 * @param parameters - values of the variables that aren't FOR loop variables
+	 * @param output     - where the output is written
+	 * @throws UncheckedIOException if the output can't be written
+	 */
+	public void execute(Map<String, Object> parameters, Appendable output) {
+		if (parameters == null) {
+			throw new NullPointerException("Parameters can't be null!");
+		}
+		if (output == null) {
+			throw new NullPointerException("Output can't be null!");
+		}
+
+		try {
+			new Execution(parameters, output).run();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Method that returns the number of the operator, or throws
+	 * {@link SmartScriptEngineException} if there is no such operator.
+	 *
+	 * @param symbol - symbol of the operator
+	 * @return number of the operator
+	 */
+	private static int operatorOf(String symbol) {
+		switch (symbol) {
+		case "+":
+			return ADD;
+		case "-":
+			return SUBTRACT;
+		case "*":
+			return MULTIPLY;
+		case "/":
+			return DIVIDE;
+		case "^":
+			return POWER;
+		default:
+			throw new SmartScriptEngineException("Unknown operator " + symbol + "!");
+		}
+	}
+
+	/**
+	 * Method that returns the number of the function, or throws
+	 * {@link SmartScriptEngineException} if there is no such function.
+	 *
+	 * @param name - name of the function
+	 * @return number of the function
+	 */
+	private static int functionOf(String name) {
+		for (int i = 0; i < FUNCTIONS.length; i++) {
+			if (FUNCTIONS[i].equals(name)) {
+				return i;
+			}
+		}
+		throw new SmartScriptEngineException("Unknown function @" + name + "!");
+	}
+
+	/**
+	 * Method that returns the value as a number. Null is zero, and strings are
+	 * parsed as a double if they contain a dot or an exponent, otherwise as an
+	 * integer.
+	 *
+	 * @param value - value of a variable or a constant
+	 * @return {@link Integer} or {@link Double}
+	 */
+	private static Number toNumber(Object value) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof Integer || value instanceof Double) {
+			return (Number) value;
+		}
+		if (value instanceof String) {
+			String text = (String) value;
+			try {
+				if (text.indexOf('.') >= 0 || text.indexOf('E') >= 0 || text.indexOf('e') >= 0) {
+					return Double.parseDouble(text);
+				}
+				return Integer.parseInt(text);
+			} catch (NumberFormatException e) {
+				throw new SmartScriptEngineException("Value " + text + " isn't a number!", e);
+			}
+		}
+		throw new SmartScriptEngineException("Value " + value + " isn't a number!");
+	}
+
+	/**
+	 * Method that applies the operator to two values. If both values are
+	 * integers, the result is an integer, otherwise it is a double.
+	 *
+	 * @param operator - number of the operator
+	 * @param left     - left operand
+	 * @param right    - right operand
+	 * @return result of the operation
+	 */
+	private static Object apply(int operator, Object left, Object right) {
+		Number first = toNumber(left);
+		Number second = toNumber(right);
+
+		if (operator != POWER && first instanceof Integer && second instanceof Integer) {
+			int a = first.intValue();
+			int b = second.intValue();
+			switch (operator) {
+			case ADD:
+				return a + b;
+			case SUBTRACT:
+				return a - b;
+			case MULTIPLY:
+				return a * b;
+			default:
+				if (b == 0) {
+					throw new SmartScriptEngineException("Division by zero!");
+				}
+				return a / b;
+			}
+		}
+
+		double a = first.doubleValue();
+		double b = second.doubleValue();
+		switch (operator) {
+		case ADD:
+			return a + b;
+		case SUBTRACT:
+			return a - b;
+		case MULTIPLY:
+			return a * b;
+		case DIVIDE:
+			return a / b;
+		default:
+			return Math.pow(a, b);
+		}
+	}
+
+	/**
+	 * Method that compares two values as numbers.
+	 *
+	 * @param left  - first value
+	 * @param right - second value
+	 * @return negative number, zero or positive number if the first value is
+	 *         smaller, equal or larger than the second
+	 */
+	private static int compare(Object left, Object right) {
+		Number first = toNumber(left);
+		Number second = toNumber(right);
+
+		if (first instanceof Integer && second instanceof Integer) {
+			return Integer.compare(first.intValue(), second.intValue());
+		}
+		return Double.compare(first.doubleValue(), second.doubleValue());
+	}
+
+	/**
+	 * Class that compiles the document tree into instructions.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class Compiler {
+
+		private int[] code = new int[64];
+		private int length;
+		private List<String> texts = new ArrayList<>();
+		private List<Object> constants = new ArrayList<>();
+
+		/**
+		 * Names of the parameters at the index of their slot
+		 */
+		private List<String> slotParameters = new ArrayList<>();
+
+		/**
+		 * Slots of the parameters that were already used
+		 */
+		private Map<String, Integer> parameterSlots = new HashMap<>();
+
+		/**
+		 * Names of the loop variables of the enclosing FOR loops, innermost last
+		 */
+		private List<String> scopeNames = new ArrayList<>();
+
+		/**
+		 * Slots of the loop variables of the enclosing FOR loops
+		 */
+		private List<Integer> scopeSlots = new ArrayList<>();
+
+		private int stackDepth;
+		private int maximumStackDepth;
+
+		/**
+		 * Method that compiles all children of the node.
+		 *
+		 * @param node - parent node
+		 */
+		void compileChildren(Node node) {
+			for (int i = 0, n = node.numberOfChildren(); i < n; i++) {
+				compile(node.getChild(i));
+			}
+		}
+
+		/**
+		 * Method that compiles one node.
+		 *
+		 * @param node - node we are compiling
+		 */
+		private void compile(Node node) {
+			if (node instanceof TextNode) {
+				texts.add(((TextNode) node).getText());
+				emit(TEXT, texts.size() - 1);
+			} else if (node instanceof EchoNode) {
+				for (Element element : ((EchoNode) node).getElements()) {
+					compileElement(element);
+				}
+				emit(ECHO);
+				stackDepth = 0;
+			} else if (node instanceof ForLoopNode) {
+				compileForLoop((ForLoopNode) node);
+			} else {
+				throw new SmartScriptEngineException("Unknown node " + node.getClass().getSimpleName() + "!");
+			}
+		}
+
+		/**
+		 * Method that compiles a FOR loop. Start, end and step values are computed
+		 * once, before the loop variable is visible.
+		 *
+		 * @param loop - FOR loop node
+		 */
+		private void compileForLoop(ForLoopNode loop) {
+			int variable = newSlot(null);
+			int end = newSlot(null);
+			int step = newSlot(null);
+
+			compileValue(loop.getStartExpression());
+			emit(STORE, variable);
+			compileValue(loop.getEndExpression());
+			emit(STORE, end);
+			if (loop.getStepExpression() == null) {
+				push(1);
+			} else {
+				compileValue(loop.getStepExpression());
+			}
+			emit(STORE, step);
+			stackDepth = 0;
+
+			int test = length;
+			emit(LOOP_TEST, variable, end, step, -1);
+
+			scopeNames.add(loop.getVariable().getName());
+			scopeSlots.add(variable);
+			compileChildren(loop);
+			scopeNames.remove(scopeNames.size() - 1);
+			scopeSlots.remove(scopeSlots.size() - 1);
+
+			emit(LOOP_STEP, variable, step, test);
+			code[test + 4] = length;
+		}
+
+		/**
+		 * Method that compiles an element of an echo tag.
+		 *
+		 * @param element - element we are compiling
+		 */
+		private void compileElement(Element element) {
+			if (element instanceof ElementOperator) {
+				String symbol = ((ElementOperator) element).getSymbol();
+				pop(2, symbol);
+				emit(OPERATOR, operatorOf(symbol));
+				grow(1);
+			} else if (element instanceof ElementFunction) {
+				String name = ((ElementFunction) element).getName();
+				int function = functionOf(name);
+				pop(FUNCTION_ARGUMENTS[function], "@" + name);
+				emit(FUNCTION, function);
+				grow(FUNCTION_RESULTS[function]);
+			} else {
+				compileValue(element);
+			}
+		}
+
+		/**
+		 * Method that compiles a variable or a constant, it pushes one value.
+		 *
+		 * @param element - element we are compiling
+		 */
+		private void compileValue(Element element) {
+			if (element instanceof ElementVariable) {
+				emit(LOAD, resolve(((ElementVariable) element).getName()));
+				grow(1);
+			} else if (element instanceof ElementConstantInteger) {
+				push(((ElementConstantInteger) element).getValue());
+			} else if (element instanceof ElementConstantDouble) {
+				push(((ElementConstantDouble) element).getValue());
+			} else if (element instanceof ElementString) {
+				push(((ElementString) element).getValue());
+			} else {
+				throw new SmartScriptEngineException("Element " + element.asText() + " isn't a value!");
+			}
+		}
+
+		/**
+		 * Method that returns the slot of the variable. Innermost FOR loop variable
+		 * with the name is used, otherwise it is a parameter.
+		 *
+		 * @param name - name of the variable
+		 * @return slot of the variable
+		 */
+		private int resolve(String name) {
+			for (int i = scopeNames.size() - 1; i >= 0; i--) {
+				if (scopeNames.get(i).equals(name)) {
+					return scopeSlots.get(i);
+				}
+			}
+
+			Integer slot = parameterSlots.get(name);
+			if (slot == null) {
+				slot = newSlot(name);
+				parameterSlots.put(name, slot);
+			}
+			return slot;
+		}
+
+		/**
+		 * Method that creates a new slot.
+		 *
+		 * @param parameter - name of the parameter whose value is in the slot, or
+		 *                  null
+		 * @return number of the slot
+		 */
+		private int newSlot(String parameter) {
+			slotParameters.add(parameter);
+			return slotParameters.size() - 1;
+		}
+
+		/**
+		 * Method that emits the instruction that pushes a constant.
+		 *
+		 * @param constant
+		 */
+		private void push(Object constant) {
+			constants.add(constant);
+			emit(PUSH, constants.size() - 1);
+			grow(1);
+		}
+
+		/**
+		 * Method that checks whether there are enough values on the stack for the
+		 * operator or the function, and takes them.
+		 *
+		 * @param count - number of values
+		 * @param name  - name of the operator or the function
+		 */
+		private void pop(int count, String name) {
+			if (stackDepth < count) {
+				throw new SmartScriptEngineException("Not enough values on the stack for " + name + "!");
+			}
+			stackDepth -= count;
+		}
+
+		/**
+		 * Method that adds values to the stack.
+		 *
+		 * @param count - number of values
+		 */
+		private void grow(int count) {
+			stackDepth += count;
+			maximumStackDepth = Math.max(maximumStackDepth, stackDepth);
+		}
+
+		/**
+		 * Method that appends the instruction and its operands.
+		 *
+		 * @param values - instruction and its operands
+		 */
+		private void emit(int... values) {
+			if (length + values.length > code.length) {
+				code = Arrays.copyOf(code, Math.max(code.length * 2, length + values.length));
+			}
+			System.arraycopy(values, 0, code, length, values.length);
+			length += values.length;
+		}
+	}
+
+	/**
+	 * Class that holds the state of one execution of the document.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private class Execution {
+
+		private Map<String, Object> parameters;
+		private Appendable output;
+		private Object[] slots;
+		private Object[] stack;
+		private int top;
+
+		/**
+		 * Temporary parameters, created when they are first used
+		 */
+		private Map<String, Object> temporaryParameters;
+
+		/**
+		 * Formats used by @decfmt, created when they are first used
+		 */
+		private Map<String, DecimalFormat> formats;
+
+		/**
+		 * Default constructor that fills the slots of the parameters.
+		 *
+		 * @param parameters - values of the parameters
+		 * @param output     - where the output is written
+		 */
+		Execution(Map<String, Object> parameters, Appendable output) {
+			this.parameters = parameters;
+			this.output = output;
+			this.slots = new Object[slotParameters.length];
+			this.stack = new Object[maximumStackDepth];
+
+			for (int i = 0; i < slots.length; i++) {
+				if (slotParameters[i] != null) {
+					slots[i] = parameters.get(slotParameters[i]);
+				}
+			}
+		}
+
+		/**
+		 * Method that runs the instructions.
+		 *
+		 * @throws IOException if the output can't be written
+		 */
+		void run() throws IOException {
+			int pc = 0;
+			while (pc < code.length) {
+				switch (code[pc]) {
+				case TEXT:
+					output.append(texts[code[pc + 1]]);
+					pc += 2;
+					break;
+				case PUSH:
+					stack[top++] = constants[code[pc + 1]];
+					pc += 2;
+					break;
+				case LOAD:
+					stack[top++] = slots[code[pc + 1]];
+					pc += 2;
+					break;
+				case STORE:
+					slots[code[pc + 1]] = stack[--top];
+					stack[top] = null;
+					pc += 2;
+					break;
+				case OPERATOR:
+					top--;
+					stack[top - 1] = apply(code[pc + 1], stack[top - 1], stack[top]);
+					stack[top] = null;
+					pc += 2;
+					break;
+				case FUNCTION:
+					call(code[pc + 1]);
+					pc += 2;
+					break;
+				case ECHO:
+					for (int i = 0; i < top; i++) {
+						if (stack[i] != null) {
+							output.append(stack[i].toString());
+						}
+						stack[i] = null;
+					}
+					top = 0;
+					pc++;
+					break;
+				case LOOP_TEST:
+					int direction = Integer.signum(compare(slots[code[pc + 3]], 0));
+					if (direction == 0) {
+						throw new SmartScriptEngineException("Step of the FOR loop can't be zero!");
+					}
+
+					if (Integer.signum(compare(slots[code[pc + 1]], slots[code[pc + 2]])) == direction) {
+						pc = code[pc + 4];
+					} else {
+						pc += 5;
+					}
+					break;
+				case LOOP_STEP:
+					slots[code[pc + 1]] = apply(ADD, slots[code[pc + 1]], slots[code[pc + 2]]);
+					pc = code[pc + 3];
+					break;
+				default:
+					throw new SmartScriptEngineException("Unknown instruction " + code[pc] + "!");
+				}
+			}
+		}
+
+		/**
+		 * Method that calls the function. Arguments are on the stack, the last
+		 * argument on the top.
+		 *
+		 * @param function - number of the function
+		 */
+		private void call(int function) {
+			Object value;
+			switch (function) {
+			case SIN:
+				stack[top - 1] = Math.sin(Math.toRadians(toNumber(stack[top - 1]).doubleValue()));
+				break;
+			case DECFMT:
+				String pattern = String.valueOf(stack[--top]);
+				stack[top - 1] = format(pattern).format(toNumber(stack[top - 1]));
+				break;
+			case DUP:
+				stack[top] = stack[top - 1];
+				top++;
+				break;
+			case SWAP:
+				value = stack[top - 1];
+				stack[top - 1] = stack[top - 2];
+				stack[top - 2] = value;
+				break;
+			case PARAM_GET:
+				value = parameters.get(String.valueOf(stack[top - 2]));
+				if (value != null) {
+					stack[top - 2] = value;
+				} else {
+					stack[top - 2] = stack[top - 1];
+				}
+				top--;
+				break;
+			case TPARAM_GET:
+				value = temporaryParameters == null ? null : temporaryParameters.get(String.valueOf(stack[top - 2]));
+				if (value != null) {
+					stack[top - 2] = value;
+				} else {
+					stack[top - 2] = stack[top - 1];
+				}
+				top--;
+				break;
+			case TPARAM_SET:
+				if (temporaryParameters == null) {
+					temporaryParameters = new HashMap<>();
+				}
+				temporaryParameters.put(String.valueOf(stack[top - 1]), stack[top - 2]);
+				top -= 2;
+				break;
+			default:
+				if (temporaryParameters != null) {
+					temporaryParameters.remove(String.valueOf(stack[top - 1]));
+				}
+				top--;
+				break;
+			}
+		}
+
+		/**
+		 * Method that returns the format for the pattern.
+		 *
+		 * @param pattern - pattern of {@link DecimalFormat}
+		 * @return format
+		 */
+		private DecimalFormat format(String pattern) {
+			if (formats == null) {
+				formats = new HashMap<>();
+			}
+
+			DecimalFormat format = formats.get(pattern);
+			if (format == null) {
+				try {
+					format = new DecimalFormat(pattern);
+				} catch (IllegalArgumentException e) {
+					throw new SmartScriptEngineException("Invalid format " + pattern + "!", e);
+				}
+				formats.put(pattern, format);
+			}
+			return format;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package hr.fer.zemris.java.custom.scripting.exec;
+
+/**
+ * Custom exception for {@link SmartScriptEngine}
+ * @author ilovrencic
+ *
+ */
+public class SmartScriptEngineException extends RuntimeException {
+
+	/**
+	 * Random generated serial version
+	 */
+	private static final long serialVersionUID = 3589120642217960184L;
+	
+	/**
+	 * Default constructor for {@link SmartScriptEngineException}
+	 */
+	public SmartScriptEngineException() {
+		super();
+	}
+	
+	/**
+	 * Default constructor for {@link SmartScriptEngineException}
+	 * @param msg - error message
+	 */
+	public SmartScriptEngineException(String msg) {
+		super(msg);
+	}
+	
+	/**
+	 * Default constructor for {@link SmartScriptEngineException}
+	 * @param error - error type
+	 */
+	public SmartScriptEngineException(Throwable error) {
+		super(error);
+	}
+	
+	/**
+	 * Default constructor for {@link SmartScriptEngineException}
+	 * @param msg - error message
+	 * @param error - error type
+	 */
+	public SmartScriptEngineException(String msg,Throwable error) {
+		super(msg,error);
+	}
+
+}
@@ -1,26 +1,166 @@
 package hr.fer.zemris.java.custom.scripting.lexer;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
 import hr.fer.zemris.java.hw03.prob1.LexerException;
 
 /**
  * Class SmartScriptLexer is responsible for generation of tokens, that are
  * going to be later used by Parser.
- * 
+ * <p>
+ * Symbols are classified with the {@link #CLASSES} table, and the value of a
+ * token is created only once, from the part of the buffer between
+ * {@link #mark} and the end of the token, so no objects are created for single
+ * symbols.
+ *
  * @author ilovrencic
  *
  */
 public class SmartScriptLexer {
 
+	/**
+	 * Default size of the buffer when the document is read from a
+	 * {@link Readable}
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/**
+	 * Class of the empty symbols that are skipped before tokens
+	 */
+	private static final byte SPACE = 1;
+
+	/**
+	 * Class of the digits
+	 */
+	private static final byte DIGIT = 2;
+
+	/**
+	 * Class of the letters
+	 */
+	private static final byte LETTER = 4;
+
+	/**
+	 * Class of the operators in echo tag
+	 */
+	private static final byte OPERATOR = 8;
+
+	/**
+	 * Class of the symbols that end an ID or a function name
+	 */
+	private static final byte ID_END = 16;
+
+	/**
+	 * Classes of the ASCII symbols. Other symbols are classified by
+	 * {@link Character}.
+	 */
+	private static final byte[] CLASSES = new byte[128];
+
+	/**
+	 * Values of the operator tokens, by the operator symbol
+	 */
+	private static final String[] OPERATORS = new String[128];
+
+	static {
+		for (char c : " \r\n\t".toCharArray()) {
+			CLASSES[c] |= SPACE | ID_END;
+		}
+		CLASSES['$'] |= ID_END;
+
+		for (char c = '0'; c <= '9'; c++) {
+			CLASSES[c] |= DIGIT;
+		}
+		for (char c = 'a'; c <= 'z'; c++) {
+			CLASSES[c] |= LETTER;
+			CLASSES[Character.toUpperCase(c)] |= LETTER;
+		}
+
+		for (char c : "+-*/^".toCharArray()) {
+			CLASSES[c] |= OPERATOR;
+			OPERATORS[c] = String.valueOf(c);
+		}
+	}
+
 	private SmartScriptToken token;
 	private SmartScriptLexerState state;
 	private char[] data;
 	private int currentIndex;
 
+	/**
+	 * Number of valid symbols in {@link #data}
+	 */
+	private int limit;
+
+	/**
+	 * Position in the document of the first symbol in {@link #data}
+	 */
+	private int bufferStart;
+
+	/**
+	 * Index of the first symbol of the token that is currently generated, or -1.
+	 * Symbols from the mark on are kept when the buffer is filled again.
+	 */
+	private int mark = -1;
+
+	/**
+	 * Source of the symbols, or null if the whole document is already in
+	 * {@link #data}
+	 */
+	private Readable input;
+
 	/**
 	 * Default constructor for {@link SmartScriptLexer}.
 	 */
 	public SmartScriptLexer(String text) {
-		initialize(text);
+		initialize(text, 0, text == null ? 0 : text.length());
+	}
+
+	/**
+	 * Constructor for {@link SmartScriptLexer} that generates tokens only from the
+	 * part of the text between the start (inclusive) and the end (exclusive).
+	 * Positions are still counted from the beginning of the text.
+	 * 
+	 * @param text  - whole document
+	 * @param start - position of the first symbol of the part
+	 * @param end   - position after the last symbol of the part
+	 */
+	public SmartScriptLexer(String text, int start, int end) {
+		initialize(text, start, end);
+	}
+
+	/**
+	 * Constructor for {@link SmartScriptLexer} that reads the document from the
+	 * input (for example a {@link java.io.Reader} or a {@link CharBuffer}) while
+	 * the tokens are generated. Only a buffer of the default size is kept, so the
+	 * whole document never has to be in memory.
+	 * 
+	 * @param input - source of the document
+	 */
+	public SmartScriptLexer(Readable input) {
+		this(input, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor for {@link SmartScriptLexer} that reads the document from the
+	 * input through a buffer of the given size.
+	 * 
+	 * @param input      - source of the document
+	 * @param bufferSize - initial size of the buffer
+	 */
+	public SmartScriptLexer(Readable input, int bufferSize) {
+		if (input == null) {
+			throw new NullPointerException("Input can't be null!");
+		}
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("Buffer size must be positive!");
+		}
+
+		this.input = input;
+		data = new char[bufferSize];
+		limit = 0;
+		currentIndex = 0;
+		state = SmartScriptLexerState.TEXT;
 	}
 
 	/**
@@ -36,7 +176,7 @@ public class SmartScriptLexer {
 
 		removeEmptyCharacters();
 
-		if (currentIndex >= data.length) {
+		if (!hasCharacter(0)) {
 			token = new SmartScriptToken(SmartScriptTokenType.EOF, null);
 			return token;
 		}
@@ -52,6 +192,17 @@ public class SmartScriptLexer {
 		return token;
 	}
 
+	/**
+	 * Method that returns the position of the current symbol in the document,
+	 * counted in symbols from the beginning of the document. After an error it is
+	 * the position where the error was found.
+	 * 
+	 * @return position of the current symbol
+	 */
+	public int getPosition() {
+		return bufferStart + currentIndex;
+	}
+
 	/**
 	 * Methods sets current state as @param state.
 	 */
@@ -67,31 +218,131 @@ public class SmartScriptLexer {
 	 * {@link String} is null, method throws {@link NullPointerException}.
 	 * 
 	 */
-	private void initialize(String text) {
+	private void initialize(String text, int start, int end) {
 		if (text == null) {
 			throw new NullPointerException("Text can't be null!");
 		}
+		if (start < 0 || end > text.length() || start > end) {
+			throw new IllegalArgumentException("Invalid part of the text! Start: " + start + ", end: " + end);
+		}
 
-		data = text.toCharArray();
+		data = new char[end - start];
+		text.getChars(start, end, data, 0);
+		limit = data.length;
+		bufferStart = start;
 		currentIndex = 0;
 		state = SmartScriptLexerState.TEXT;
 	}
 
+	/**
+	 * Method that checks whether the symbol belongs to the class.
+	 * 
+	 * @param symbol - symbol we are checking
+	 * @param type   - class of the symbols
+	 * @return true if the symbol belongs to the class, otherwise false
+	 */
+	private static boolean is(char symbol, byte type) {
+		if (symbol < CLASSES.length) {
+			return (CLASSES[symbol] & type) != 0;
+		}
+
+		if (type == LETTER) {
+			return Character.isLetter(symbol);
+		}
+		if (type == DIGIT) {
+			return Character.isDigit(symbol);
+		}
+		return false;
+	}
+
+	/**
+	 * Method that checks whether there is a symbol at the given offset from the
+	 * current symbol. If the document is read from the input and the symbol isn't
+	 * in the buffer yet, symbols before the current symbol (or before the mark)
+	 * are thrown away and the buffer is filled again, so {@link #currentIndex}
+	 * and {@link #mark} can change.
+	 * 
+	 * @param offset - offset from the current symbol
+	 * @return true if the symbol exists, otherwise false
+	 */
+	private boolean hasCharacter(int offset) {
+		while (currentIndex + offset >= limit) {
+			if (input == null) {
+				return false;
+			}
+
+			int start = mark >= 0 ? mark : currentIndex;
+			if (start > 0) {
+				System.arraycopy(data, start, data, 0, limit - start);
+				bufferStart += start;
+				limit -= start;
+				currentIndex -= start;
+				if (mark >= 0) {
+					mark = 0;
+				}
+			}
+			if (limit == data.length) {
+				data = Arrays.copyOf(data, data.length * 2);
+			}
+
+			int read;
+			try {
+				read = input.read(CharBuffer.wrap(data, limit, data.length - limit));
+			} catch (IOException e) {
+				throw new LexerException("Unable to read the document!", e);
+			}
+
+			if (read < 0) {
+				input = null;
+				return false;
+			}
+			limit += read;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Method that returns the current symbol.
+	 * 
+	 * @return current symbol
+	 * @throws LexerException if the document ended
+	 */
+	private char currentCharacter() {
+		if (!hasCharacter(0)) {
+			throw new LexerException("Unexpected end of the document!");
+		}
+		return data[currentIndex];
+	}
+
+	/**
+	 * Method that marks the current symbol as the first symbol of the token.
+	 */
+	private void mark() {
+		mark = currentIndex;
+	}
+
+	/**
+	 * Method that creates the value of the token from the symbols after the mark,
+	 * and removes the mark.
+	 * 
+	 * @param length - number of symbols in the value
+	 * @return value of the token
+	 */
+	private String slice(int length) {
+		String value = new String(data, mark, length);
+		mark = -1;
+		return value;
+	}
+
 	/**
 	 * 
 	 * Method that removes empty characters before the actual words/numbers.
 	 * 
 	 */
 	private void removeEmptyCharacters() {
-		String skipOperators = " \r\n\t";
-
-		while (currentIndex < data.length) {
-			Character character = data[currentIndex];
-			if (skipOperators.contains(character.toString())) {
-				currentIndex++;
-			} else {
-				break;
-			}
+		while (hasCharacter(0) && is(data[currentIndex], SPACE)) {
+			currentIndex++;
 		}
 	}
 
@@ -101,9 +352,7 @@ public class SmartScriptLexer {
 	 * means we are now parsing elements inside the tag.
 	 */
 	private boolean checkIfEnteringTag() {
-		Character symbol = data[currentIndex];
-
-		if (symbol.toString().equals("{")) {
+		if (data[currentIndex] == '{') {
 			token = new SmartScriptToken(SmartScriptTokenType.OPEN, "{");
 			state = SmartScriptLexerState.TAG;
 			currentIndex++;
@@ -118,9 +367,7 @@ public class SmartScriptLexer {
 	 * otherwise false.
 	 */
 	private boolean checkForDollarSign() {
-		Character symbol = data[currentIndex];
-
-		if (symbol.toString().equals("$")) {
+		if (currentCharacter() == '$') {
 			token = new SmartScriptToken(SmartScriptTokenType.DOLLAR_SYMBOL, "$");
 			currentIndex++;
 			return true;
@@ -139,37 +386,21 @@ public class SmartScriptLexer {
 	private boolean checkForTheKeyword() {
 		if (token != null && token.getType() == SmartScriptTokenType.DOLLAR_SYMBOL) {
 
-			Character symbol = data[currentIndex];
-
-			if (symbol.toString().equals("=")) {
+			if (currentCharacter() == '=') {
 				token = new SmartScriptToken(SmartScriptTokenType.KEYWORD, "=");
 				state = SmartScriptLexerState.ECHO_TAG;
 				currentIndex++;
 				return true;
 			}
 
-			int tempIndex = currentIndex;
-			String keyword = "";
-
-			while (tempIndex < data.length) {
-				symbol = data[tempIndex];
-
-				if (symbol.toString().equals(" ") || symbol.toString().equals("$")) {
-					break;
-				}
-
-				keyword += symbol.toString();
-				tempIndex++;
-			}
-
-			if (keyword.equals("FOR")) {
+			if (isKeyword("FOR")) {
 				token = new SmartScriptToken(SmartScriptTokenType.KEYWORD, "FOR");
 				state = SmartScriptLexerState.FOR_TAG;
 				currentIndex += 3;
 				return true;
 			}
 
-			if (keyword.equals("END")) {
+			if (isKeyword("END")) {
 				token = new SmartScriptToken(SmartScriptTokenType.KEYWORD, "END");
 				currentIndex += 3;
 				return true;
@@ -179,6 +410,25 @@ public class SmartScriptLexer {
 		return false;
 	}
 
+	/**
+	 * Method that checks whether the keyword starts at the current symbol. The
+	 * keyword has to end with a space, a dollar sign or the end of the document, so
+	 * only the few symbols after it have to be looked at.
+	 * 
+	 * @param keyword - keyword we are looking for
+	 * @return true if the keyword starts at the current symbol, otherwise false
+	 */
+	private boolean isKeyword(String keyword) {
+		int length = keyword.length();
+		for (int i = 0; i < length; i++) {
+			if (!hasCharacter(i) || data[currentIndex + i] != keyword.charAt(i)) {
+				return false;
+			}
+		}
+
+		return !hasCharacter(length) || data[currentIndex + length] == ' ' || data[currentIndex + length] == '$';
+	}
+
 	/**
 	 * 
 	 * Method that checks whether the current symbol holds "}". If it does, that
@@ -186,9 +436,7 @@ public class SmartScriptLexer {
 	 * 
 	 */
 	private boolean checkIfExitingTag() {
-		Character symbol = data[currentIndex];
-
-		if (symbol.toString().equals("}")) {
+		if (currentCharacter() == '}') {
 			token = new SmartScriptToken(SmartScriptTokenType.CLOSE, "}");
 			state = SmartScriptLexerState.TEXT;
 			currentIndex++;
@@ -239,44 +487,45 @@ public class SmartScriptLexer {
 	/**
 	 * 
 	 * Method that generates ID token.
-	 *
+	 * 
 	 */
 	private SmartScriptToken generateIdToken() {
-		Character character;
+		String tokenId = generateName();
 
-		String tokenId = "";
-		String skipOperators = " \r\n\t $";
-		while (currentIndex < data.length) {
-			character = data[currentIndex];
-			if (skipOperators.contains(character.toString()))
-				break;
+		checkId(tokenId);
+		return new SmartScriptToken(SmartScriptTokenType.ID, tokenId);
+	}
 
-			tokenId += character.toString();
+	/**
+	 * Method that reads the name of an ID or a function. Name ends with an empty
+	 * symbol, a dollar sign or the end of the document.
+	 * 
+	 * @return name
+	 */
+	private String generateName() {
+		mark();
+		while (hasCharacter(0) && !is(data[currentIndex], ID_END)) {
 			currentIndex++;
 		}
 
-		checkId(tokenId);
-		return new SmartScriptToken(SmartScriptTokenType.ID, tokenId);
+		return slice(currentIndex - mark);
 	}
 
 	/**
 	 * 
 	 * Method that generates Number token. It also checks whether @param isNegative.
 	 * If the current number is negative then it has to parse it as a negative
-	 * number.
+	 * number. Integers are computed straight from the digits in the buffer.
 	 * 
 	 */
 	private SmartScriptToken generateNumberToken(boolean isNegative) {
-		Character character;
-
-		String number = "";
+		mark();
 		boolean isInteger = true;
-		while (currentIndex < data.length) {
-			character = data[currentIndex];
+		while (hasCharacter(0)) {
+			char character = data[currentIndex];
 
-			if (character.toString().equals(".")) {
-				if (currentIndex + 1 < data.length && Character.isDigit(data[currentIndex + 1])) {
-					number += character.toString();
+			if (character == '.') {
+				if (hasCharacter(1) && is(data[currentIndex + 1], DIGIT)) {
 					currentIndex++;
 					isInteger = false;
 					continue;
@@ -285,29 +534,39 @@ public class SmartScriptLexer {
 				}
 			}
 
-			if (Character.isDigit(character)) {
-				number += character.toString();
+			if (is(character, DIGIT)) {
 				currentIndex++;
 			} else {
 				break;
 			}
 		}
 
-		if (isNegative) {
-			number = "-" + number;
-		}
-
+		int start = mark;
+		int length = currentIndex - mark;
 		if (isInteger) {
-			try {
-				Integer intNumber = Integer.parseInt(number);
-				return new SmartScriptToken(SmartScriptTokenType.NUMBER, intNumber);
-			} catch (NumberFormatException e) {
+			mark = -1;
+			if (length == 0) {
 				throw new LexerException("Invalid integer number in Lexer file!");
 			}
+
+			long number = 0;
+			for (int i = start; i < start + length; i++) {
+				number = number * 10 + Character.digit(data[i], 10);
+				if (number > Integer.MAX_VALUE + 1L) {
+					throw new LexerException("Invalid integer number in Lexer file!");
+				}
+			}
+
+			if (isNegative) {
+				number = -number;
+			} else if (number > Integer.MAX_VALUE) {
+				throw new LexerException("Invalid integer number in Lexer file!");
+			}
+			return new SmartScriptToken(SmartScriptTokenType.NUMBER, Integer.valueOf((int) number));
 		} else {
 			try {
-				Double doubleNumber = Double.parseDouble(number);
-				return new SmartScriptToken(SmartScriptTokenType.NUMBER, doubleNumber);
+				double number = Double.parseDouble(slice(length));
+				return new SmartScriptToken(SmartScriptTokenType.NUMBER, Double.valueOf(isNegative ? -number : number));
 			} catch (NumberFormatException e) {
 				throw new LexerException("Invalid double number in Lexer file!");
 			}
@@ -316,26 +575,26 @@ public class SmartScriptLexer {
 
 	/**
 	 * 
-	 * Method that generates TEXT token.
+	 * Method that generates TEXT token. Escaped symbols are moved over their
+	 * escape signs inside the buffer, so the value stays one part of the buffer.
 	 * 
 	 */
 	private SmartScriptToken generateTextToken() {
-		Character letter;
-
-		String wordToken = "";
-		while (currentIndex < data.length) {
-			letter = data[currentIndex];
+		mark();
+		int length = 0;
+		while (hasCharacter(0)) {
+			char letter = data[currentIndex];
 
-			if (letter.toString().equals("{"))
+			if (letter == '{')
 				break;
 
-			if (letter.toString().equals("\\"))
+			if (letter == '\\')
 				letter = extraTextAnaylsis();
 
-			wordToken += letter.toString();
+			data[mark + length++] = letter;
 			currentIndex++;
 		}
-		return new SmartScriptToken(SmartScriptTokenType.TEXT, wordToken);
+		return new SmartScriptToken(SmartScriptTokenType.TEXT, slice(length));
 	}
 
 	/**
@@ -344,56 +603,42 @@ public class SmartScriptLexer {
 	 * 
 	 */
 	private SmartScriptToken generateFunctionToken() {
-		Character character;
-
-		String functionId = "";
-		String skipOperators = " \r\n\t $";
-		while (currentIndex < data.length) {
-			character = data[currentIndex];
-			if (skipOperators.contains(character.toString()))
-				break;
-
-			functionId += character.toString();
-			currentIndex++;
-		}
+		String functionId = generateName();
 
 		checkId(functionId);
 		return new SmartScriptToken(SmartScriptTokenType.FUNCTION, functionId);
 	}
 
 	/**
-	 * Method that generates STRING token.
+	 * Method that generates STRING token. Escaped symbols are handled the same way
+	 * as in text.
 	 */
 	private SmartScriptToken generateStringToken() {
-		Character character;
+		mark();
+		int length = 0;
+		while (hasCharacter(0)) {
+			char character = data[currentIndex];
 
-		String string = "";
-		while (currentIndex < data.length) {
-			character = data[currentIndex];
-			
-			if (character.charValue() == '"')
+			if (character == '"')
 				break;
 
-			if (character.toString().equals("$"))
+			if (character == '$')
 				throw new LexerException("The quotes must be closed!");
 
-			if (character.charValue() == '\\') {
-				System.out.println(data[currentIndex+1]);
-				if (data[currentIndex + 1] != '\"' && data[currentIndex + 1] != '\\') {
+			if (character == '\\') {
+				if (!hasCharacter(1) || data[currentIndex + 1] != '\"' && data[currentIndex + 1] != '\\') {
 					throw new LexerException("Invalid escaping!");
 				}
 
 				currentIndex++;
 				character = data[currentIndex];
-				string += character.toString();
-				currentIndex++;
-				continue;
 			}
 
-			string += character.toString();
+			data[mark + length++] = character;
 			currentIndex++;
 		}
 
+		String string = slice(length);
 		currentIndex++;
 		return new SmartScriptToken(SmartScriptTokenType.TAG_TEXT, string);
 	}
@@ -405,15 +650,15 @@ public class SmartScriptLexer {
 	 * escape displacement.
 	 * 
 	 */
-	private Character extraTextAnaylsis() {
-		if (currentIndex + 1 >= data.length) {
+	private char extraTextAnaylsis() {
+		if (!hasCharacter(1)) {
 			throw new LexerException("Escape char \\ can not be the last char in the text!");
 		}
 
 		currentIndex++;
-		Character character = data[currentIndex];
+		char character = data[currentIndex];
 
-		if (!character.toString().equals("{") && !character.toString().equals("\\")) {
+		if (character != '{' && character != '\\') {
 			throw new LexerException("After \\ there has to be { or another escape character!");
 		}
 
@@ -426,7 +671,7 @@ public class SmartScriptLexer {
 	 * 
 	 */
 	private SmartScriptToken generateForTagToken() {
-		Character character = data[currentIndex];
+		char character = currentCharacter();
 
 		if (checkForDollarSign()) {
 			return token;
@@ -436,18 +681,18 @@ public class SmartScriptLexer {
 			return token;
 		}
 
-		if (Character.isLetter(character)) {
+		if (is(character, LETTER)) {
 			return generateIdToken();
 		}
 
-		if (Character.isDigit(character)) {
+		if (is(character, DIGIT)) {
 			return generateNumberToken(false);
 		}
 
 		if (checkForSignedNumbers()) {
 			return token;
 		}
-		
+
 		if (checkForStringNumber()) {
 			return token;
 		}
@@ -461,7 +706,7 @@ public class SmartScriptLexer {
 	 * 
 	 */
 	private SmartScriptToken generateEchoTagToken() {
-		Character character = data[currentIndex];
+		char character = currentCharacter();
 
 		if (checkForDollarSign()) {
 			return token;
@@ -471,11 +716,11 @@ public class SmartScriptLexer {
 			return token;
 		}
 
-		if (Character.isLetter(character)) {
+		if (is(character, LETTER)) {
 			return generateIdToken();
 		}
 
-		if (Character.isDigit(character)) {
+		if (is(character, DIGIT)) {
 			return generateNumberToken(false);
 		}
 
@@ -506,13 +751,12 @@ public class SmartScriptLexer {
 	 */
 	private void checkId(String id) {
 		for (int i = 0; i < id.length(); i++) {
-			Character character = id.charAt(i);
-			if (i == 0 && !Character.isLetter(character)) {
+			char character = id.charAt(i);
+			if (i == 0 && !is(character, LETTER)) {
 				throw new LexerException("Id error! Should start with letter! Id: " + id);
 			}
 
-			if (i != 0 && !(Character.isLetter(character) || Character.isDigit(character)
-					|| character.toString().equals("_"))) {
+			if (i != 0 && !(is(character, LETTER) || is(character, DIGIT) || character == '_')) {
 				throw new LexerException("Id error! Id should only contain letters, numbers and underscore! Id: " + id);
 			}
 		}
@@ -524,16 +768,11 @@ public class SmartScriptLexer {
 	 * 
 	 */
 	private boolean checkForSignedNumbers() {
-		Character character = data[currentIndex];
-		if (character.toString().equals("-") || character.toString().equals("+")) {
-			if (currentIndex + 1 < data.length && Character.isDigit(data[currentIndex + 1])) {
+		char character = currentCharacter();
+		if (character == '-' || character == '+') {
+			if (hasCharacter(1) && is(data[currentIndex + 1], DIGIT)) {
 				currentIndex++;
-
-				if (character.toString().equals("-")) {
-					token = generateNumberToken(true);
-				} else {
-					token = generateNumberToken(false);
-				}
+				token = generateNumberToken(character == '-');
 				return true;
 			}
 		}
@@ -544,11 +783,10 @@ public class SmartScriptLexer {
 	 * This method checks whether the current symbol is operator.
 	 */
 	private boolean checkForOperators() {
-		Character character = data[currentIndex];
-		String operators = "+-*/^";
+		char character = currentCharacter();
 
-		if (operators.contains(character.toString())) {
-			token = new SmartScriptToken(SmartScriptTokenType.SYMBOL, character.toString());
+		if (is(character, OPERATOR)) {
+			token = new SmartScriptToken(SmartScriptTokenType.SYMBOL, OPERATORS[character]);
 			currentIndex++;
 			return true;
 		}
@@ -562,9 +800,7 @@ public class SmartScriptLexer {
 	 * @return
 	 */
 	private boolean checkForFunction() {
-		Character character = data[currentIndex];
-
-		if (character.toString().equals("@")) {
+		if (currentCharacter() == '@') {
 			currentIndex++;
 			token = generateFunctionToken();
 			return true;
@@ -580,9 +816,7 @@ public class SmartScriptLexer {
 	 * @return true if they are, otherwise false
 	 */
 	private boolean checkForString() {
-		Character character = data[currentIndex];
-
-		if (character.charValue() == '"') {
+		if (currentCharacter() == '"') {
 			currentIndex++;
 			token = generateStringToken();
 			return true;
@@ -590,17 +824,15 @@ public class SmartScriptLexer {
 
 		return false;
 	}
-	
+
 	/**
 	 * This method checks whether the numbers in for loop are string.
 	 * @return true if they are, false otherwise
 	 */
 	private boolean checkForStringNumber() {
-		Character character = data[currentIndex];
-		
-		if(character.charValue() == '"') {
+		if (currentCharacter() == '"') {
 			currentIndex++;
-			if(checkForSignedNumbers()) {
+			if (checkForSignedNumbers()) {
 				currentIndex++;
 				return true;
 			} else {
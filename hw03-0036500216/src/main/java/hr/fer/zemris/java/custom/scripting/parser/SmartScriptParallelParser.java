@@ -0,0 +1,270 @@
+package hr.fer.zemris.java.custom.scripting.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptLexer;
+import hr.fer.zemris.java.custom.scripting.nodes.DocumentNode;
+
+/**
+ * Class that parses large documents in parallel. Document is split into
+ * segments only after tags that end at the top level, outside of any
+ * for-loop, so every segment can be lexed and parsed on its own. Segments are
+ * parsed in the common {@link ForkJoinPool} and their nodes are added to one
+ * {@link DocumentNode}, in the order of the segments.
+ * <p>
+ * Result is the same as the result of {@link SmartScriptParser}. If the
+ * document can't be parsed, the error of the first segment that failed is
+ * thrown, with the position counted from the beginning of the whole document.
+ *
+ * @author ilovrencic
+ *
+ */
+public class SmartScriptParallelParser {
+
+	/**
+	 * Default minimum length of a segment, in symbols
+	 */
+	public static final int DEFAULT_SEGMENT_LENGTH = 64 * 1024;
+
+	/**
+	 * Main node of the program
+	 */
+	private DocumentNode mainNode;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param document - document we want to parse
+	 */
+	public SmartScriptParallelParser(String document) {
+		this(document, DEFAULT_SEGMENT_LENGTH);
+	}
+
+	/**
+	 * Constructor that splits the document into segments of at least the given
+	 * length. Only the last segment can be shorter.
+	 *
+	 * @param document      - document we want to parse
+	 * @param segmentLength - minimum length of a segment
+	 */
+	public SmartScriptParallelParser(String document, int segmentLength) {
+		if (document == null) {
+			throw new NullPointerException("Document can't be null!");
+		}
+		if (segmentLength < 1) {
+			throw new IllegalArgumentException("Segment length must be positive!");
+		}
+
+		mainNode = parse(document, findSegments(document, segmentLength));
+	}
+
+	/**
+	 * Getter method for {@link DocumentNode}
+	 *
+	 * @return main node of the parsed document
+	 */
+	public DocumentNode getMainNode() {
+		return mainNode;
+	}
+
+	/**
+	 * Method that parses the segments in parallel and joins their nodes.
+	 *
+	 * @param document - document we want to parse
+	 * @param bounds   - positions where the segments start, and the length of the
+	 *                 document
+	 * @return main node of the document
+	 */
+	private static DocumentNode parse(String document, List<Integer> bounds) {
+		List<Segment> segments = new ArrayList<>();
+		for (int i = 0; i + 1 < bounds.size(); i++) {
+			segments.add(new Segment(document, bounds.get(i), bounds.get(i + 1)));
+		}
+
+		try {
+			for (Future<Segment> future : ForkJoinPool.commonPool().invokeAll(segments)) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new SmartScriptParserException("Unable to parse!", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SmartScriptParserException("Parsing was interrupted!", e);
+		}
+
+		DocumentNode mainNode = new DocumentNode();
+		for (Segment segment : segments) {
+			if (segment.error != null) {
+				throw segment.error;
+			}
+
+			for (int i = 0; i < segment.node.numberOfChildren(); i++) {
+				mainNode.addChildNode(segment.node.getChild(i));
+			}
+		}
+		return mainNode;
+	}
+
+	/**
+	 * Method that finds the positions where the document can be split. The
+	 * document is scanned the same way the lexer reads it: escaped symbols in the
+	 * text are skipped, tags start with "{" and end with "}" outside of a string,
+	 * and FOR and END keywords change the depth. If the scanner finds a tag it
+	 * doesn't understand, the rest of the document stays in one segment, so the
+	 * parser reports the error.
+	 *
+	 * @param document      - document we want to parse
+	 * @param segmentLength - minimum length of a segment
+	 * @return positions where the segments start, and the length of the document
+	 */
+	private static List<Integer> findSegments(String document, int segmentLength) {
+		List<Integer> bounds = new ArrayList<>();
+		bounds.add(0);
+
+		int length = document.length();
+		int depth = 0;
+		int index = 0;
+		while (index < length) {
+			char symbol = document.charAt(index);
+			if (symbol == '\\') {
+				index += 2;
+				continue;
+			}
+			if (symbol != '{') {
+				index++;
+				continue;
+			}
+
+			int keyword = skipSpaces(document, index + 1);
+			if (keyword >= length || document.charAt(keyword) != '$') {
+				break;
+			}
+			keyword = skipSpaces(document, keyword + 1);
+
+			int end = findTagEnd(document, keyword);
+			if (end < 0) {
+				break;
+			}
+
+			if (isKeyword(document, keyword, "FOR")) {
+				depth++;
+			} else if (isKeyword(document, keyword, "END")) {
+				depth--;
+			}
+			if (depth < 0) {
+				break;
+			}
+
+			index = end + 1;
+			if (depth == 0 && index < length && index - bounds.get(bounds.size() - 1) >= segmentLength) {
+				bounds.add(index);
+			}
+		}
+
+		bounds.add(length);
+		return bounds;
+	}
+
+	/**
+	 * Method that skips the empty symbols the lexer skips.
+	 *
+	 * @param document - document we are scanning
+	 * @param index    - position of the first symbol
+	 * @return position of the first symbol that isn't empty
+	 */
+	private static int skipSpaces(String document, int index) {
+		while (index < document.length() && " \r\n\t".indexOf(document.charAt(index)) >= 0) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Method that checks whether the keyword starts at the position. The keyword
+	 * has to end with a space, a dollar sign or the end of the document, the same
+	 * as in the lexer.
+	 *
+	 * @param document - document we are scanning
+	 * @param index    - position where the keyword could start
+	 * @param keyword  - keyword we are looking for
+	 * @return true if the keyword starts at the position, otherwise false
+	 */
+	private static boolean isKeyword(String document, int index, String keyword) {
+		if (!document.startsWith(keyword, index)) {
+			return false;
+		}
+
+		int end = index + keyword.length();
+		return end == document.length() || document.charAt(end) == ' ' || document.charAt(end) == '$';
+	}
+
+	/**
+	 * Method that finds the symbol that closes the tag. Strings in the tag are
+	 * skipped, together with their escaped quotes.
+	 *
+	 * @param document - document we are scanning
+	 * @param index    - position inside the tag
+	 * @return position of the "}" that closes the tag, or -1 if there isn't one
+	 */
+	private static int findTagEnd(String document, int index) {
+		int length = document.length();
+		while (index < length) {
+			char symbol = document.charAt(index);
+			if (symbol == '}') {
+				return index;
+			}
+
+			if (symbol == '"') {
+				index++;
+				while (index < length && document.charAt(index) != '"') {
+					index += document.charAt(index) == '\\' ? 2 : 1;
+				}
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Class that represents one segment of the document. Error of the segment is
+	 * kept instead of thrown, so it reaches the caller unchanged.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class Segment implements Callable<Segment> {
+		final String document;
+		final int start;
+		final int end;
+		DocumentNode node;
+		SmartScriptParserException error;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param document - whole document
+		 * @param start    - position of the first symbol of the segment
+		 * @param end      - position after the last symbol of the segment
+		 */
+		Segment(String document, int start, int end) {
+			this.document = document;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Segment call() {
+			try {
+				node = new SmartScriptParser(new SmartScriptLexer(document, start, end), null).getMainNode();
+			} catch (SmartScriptParserException e) {
+				error = e;
+			}
+			return this;
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package hr.fer.zemris.java.custom.scripting.parser;
 
+import java.util.Objects;
+import java.util.function.Consumer;
+
 import hr.fer.zemris.java.custom.scripting.elems.Element;
 import hr.fer.zemris.java.custom.scripting.elems.ElementConstantDouble;
 import hr.fer.zemris.java.custom.scripting.elems.ElementConstantInteger;
@@ -11,6 +14,7 @@ import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptLexer;
 import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptToken;
 import hr.fer.zemris.java.custom.scripting.lexer.SmartScriptTokenType;
 import hr.fer.zemris.java.custom.scripting.nodes.*;
+import hr.fer.zemris.java.hw03.prob1.LexerException;
 
 /**
  * Class {@link SmartScriptParser}. It uses {@link SmartScriptLexer} to parse
@@ -36,17 +40,64 @@ public class SmartScriptParser {
 	 */
 	private DocumentNode mainNode;
 
+	/**
+	 * Listener that gets the top-level nodes as soon as they are parsed, or null
+	 * if they are added to the {@link #mainNode}
+	 */
+	private Consumer<Node> listener;
+
 	/**
 	 * Default constructor
 	 * 
 	 * @param document - document we want to parse
 	 */
 	public SmartScriptParser(String document) {
-		lexer = new SmartScriptLexer(document);
+		this(new SmartScriptLexer(document), null);
+	}
+
+	/**
+	 * Constructor that parses the document while it is read from the input, so
+	 * the text of the document is never held in memory as a whole.
+	 * 
+	 * @param document - source of the document we want to parse
+	 */
+	public SmartScriptParser(Readable document) {
+		this(new SmartScriptLexer(document), null);
+	}
+
+	/**
+	 * Constructor that parses the document while it is read from the input, and
+	 * passes every top-level node to the listener as soon as it is complete. Text
+	 * and echo nodes are passed right away and for-loop nodes once their END tag
+	 * is parsed. Nodes aren't added to the main node, so only the node that is
+	 * currently parsed is held in memory.
+	 * 
+	 * @param document - source of the document we want to parse
+	 * @param listener - listener of the parsed top-level nodes
+	 */
+	public SmartScriptParser(Readable document, Consumer<Node> listener) {
+		this(new SmartScriptLexer(document), Objects.requireNonNull(listener, "Listener can't be null!"));
+	}
+
+	/**
+	 * Constructor that parses the tokens of the lexer. Errors of the lexer are
+	 * reported as {@link SmartScriptParserException} with the position where the
+	 * lexer stopped.
+	 * 
+	 * @param lexer    - lexer of the document
+	 * @param listener - listener of the parsed top-level nodes, or null
+	 */
+	SmartScriptParser(SmartScriptLexer lexer, Consumer<Node> listener) {
+		this.lexer = lexer;
+		this.listener = listener;
 		stack = new ObjectStack();
 		mainNode = new DocumentNode();
 
-		parse();
+		try {
+			parse();
+		} catch (LexerException e) {
+			throw new SmartScriptParserException(e.getMessage(), lexer.getPosition(), e);
+		}
 	}
 
 	/**
@@ -71,9 +122,7 @@ public class SmartScriptParser {
 			if (currentToken.getType() == SmartScriptTokenType.TEXT) {
 
 				TextNode textNode = new TextNode((String) currentToken.getValue());
-
-				Node peekNode = (Node) stack.peek();
-				peekNode.addChildNode(textNode);
+				addNode(textNode);
 
 				currentToken = lexer.nextToken();
 				continue;
@@ -83,7 +132,7 @@ public class SmartScriptParser {
 
 				currentToken = lexer.nextToken();
 				if (currentToken.getType() != SmartScriptTokenType.DOLLAR_SYMBOL) {
-					throw new SmartScriptParserException("There should be a dollar symbol after open parentheses!");
+					throw error("There should be a dollar symbol after open parentheses!");
 				}
 
 				currentToken = lexer.nextToken();
@@ -99,18 +148,18 @@ public class SmartScriptParser {
 			if (currentToken.getType() == SmartScriptTokenType.DOLLAR_SYMBOL) {
 				currentToken = lexer.nextToken();
 				if (currentToken.getType() != SmartScriptTokenType.CLOSE) {
-					throw new SmartScriptParserException("There should be a close parentheses after dollar sign!");
+					throw error("There should be a close parentheses after dollar sign!");
 				}
 
 				currentToken = lexer.nextToken();
 				continue;
 			}
 
-			throw new SmartScriptParserException("Unable to parse!");
+			throw error("Unable to parse!");
 		}
 
 		if (stack.size() != 1) {
-			throw new SmartScriptParserException("Unfinished parsing!");
+			throw error("Unfinished parsing!");
 		}
 
 		mainNode = (DocumentNode) stack.pop();
@@ -126,9 +175,9 @@ public class SmartScriptParser {
 
 		if (currentToken.getValue().equals("FOR")) {
 			ForLoopNode forLoopNode = parseForLoop();
-
-			Node peekNode = (Node) stack.peek();
-			peekNode.addChildNode(forLoopNode);
+			if (listener == null || stack.peek() != mainNode) {
+				addNode(forLoopNode);
+			}
 
 			stack.push(forLoopNode);
 			return;
@@ -136,34 +185,61 @@ public class SmartScriptParser {
 		} else if (currentToken.getValue().equals("END")) {
 			currentToken = lexer.nextToken();
 			if (currentToken.getType() != SmartScriptTokenType.DOLLAR_SYMBOL) {
-				throw new SmartScriptParserException("There should be dollar sign after END!");
+				throw error("There should be dollar sign after END!");
 			}
 
 			currentToken = lexer.nextToken();
 			if (currentToken.getType() != SmartScriptTokenType.CLOSE) {
-				throw new SmartScriptParserException("There should be a close parentheses after dollar sign!");
+				throw error("There should be a close parentheses after dollar sign!");
 			}
 
 			currentToken = lexer.nextToken();
 			
-			stack.pop();
+			Node forLoopNode = (Node) stack.pop();
 			if (stack.size() == 0) {
-				throw new SmartScriptParserException("Wrong end tag! Stack size can't be zero!");
+				throw error("Wrong end tag! Stack size can't be zero!");
+			}
+
+			if (listener != null && stack.peek() == mainNode) {
+				listener.accept(forLoopNode);
 			}
 			return;
 
 		} else if (currentToken.getValue().equals("=")) {
 			EchoNode echoNode = parseEcho();
-
-			Node peekNode = (Node) stack.peek();
-			peekNode.addChildNode(echoNode);
+			addNode(echoNode);
 
 			return;
 		} else {
-			throw new SmartScriptParserException("Wrong keyword value!");
+			throw error("Wrong keyword value!");
 		}
 	}
 
+	/**
+	 * Method that adds the node to the node on the top of the stack. Top-level
+	 * nodes are passed to the listener instead, if there is one.
+	 * 
+	 * @param node - parsed node
+	 */
+	private void addNode(Node node) {
+		Node peekNode = (Node) stack.peek();
+		if (listener != null && peekNode == mainNode) {
+			listener.accept(node);
+		} else {
+			peekNode.addChildNode(node);
+		}
+	}
+
+	/**
+	 * Method that creates the exception with the current position of the lexer.
+	 * 
+	 * @param message - error message
+	 * @return exception that should be thrown
+	 */
+	private SmartScriptParserException error(String message) {
+		return new SmartScriptParserException(message, lexer.getPosition());
+	}
+
 	/**
 	 * Method that parses elements/tokens inside for-loop tag.
 	 * 
@@ -173,7 +249,7 @@ public class SmartScriptParser {
 		SmartScriptToken currentToken = lexer.nextToken();
 
 		if (currentToken.getType() != SmartScriptTokenType.ID) {
-			throw new SmartScriptParserException("Wrong value for ID!");
+			throw error("Wrong value for ID!");
 		}
 
 		ElementVariable id = new ElementVariable((String) currentToken.getValue());
@@ -198,18 +274,18 @@ public class SmartScriptParser {
 				} else if (currentToken.getValue() instanceof Integer) {
 					elements.add(new ElementConstantInteger((Integer) currentToken.getValue()));
 				} else {
-					throw new SmartScriptParserException("Number is not in right format!");
+					throw error("Number is not in right format!");
 				}
 
 				currentToken = lexer.nextToken();
 				continue;
 			}
 
-			throw new SmartScriptParserException("Wrong value in for loop!");
+			throw error("Wrong value in for loop!");
 		}
 
 		if (elements.size() >= 5 || elements.size() <= 2) {
-			throw new SmartScriptParserException("Number of parameters in For Loop isn't allowed!");
+			throw error("Number of parameters in For Loop isn't allowed!");
 		}
 
 		if (elements.size() == 4) {
@@ -222,7 +298,7 @@ public class SmartScriptParser {
 					(Element) elements.get(2));
 		}
 
-		throw new SmartScriptParserException("Error parsing for-loop!");
+		throw error("Error parsing for-loop!");
 	}
 
 	/**
@@ -249,7 +325,7 @@ public class SmartScriptParser {
 				} else if (currentToken.getValue() instanceof Integer) {
 					elements.add(new ElementConstantInteger((Integer) currentToken.getValue()));
 				} else {
-					throw new SmartScriptParserException("Number is not in right format!");
+					throw error("Number is not in right format!");
 				}
 
 				currentToken = lexer.nextToken();
@@ -274,7 +350,7 @@ public class SmartScriptParser {
 				continue;
 			}
 
-			throw new SmartScriptParserException("Wrong format of the Echo field!");
+			throw error("Wrong format of the Echo field!");
 		}
 
 		Element[] arrayElements = new Element[elements.size()];
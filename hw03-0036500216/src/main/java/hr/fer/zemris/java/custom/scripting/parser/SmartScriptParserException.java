@@ -11,12 +11,18 @@ public class SmartScriptParserException extends RuntimeException {
 	 * Random generated serial version
 	 */
 	private static final long serialVersionUID = -7146405271722626823L;
+
+	/**
+	 * Position in the document where the error was found, or -1 if it is unknown
+	 */
+	private final int position;
 	
 	/**
 	 * Default constructor for {@link SmartScriptParserException}
 	 */
 	public SmartScriptParserException() {
 		super();
+		position = -1;
 	}
 	
 	/**
@@ -25,6 +31,7 @@ public class SmartScriptParserException extends RuntimeException {
 	 */
 	public SmartScriptParserException(String msg) {
 		super(msg);
+		position = -1;
 	}
 	
 	/**
@@ -33,6 +40,7 @@ public class SmartScriptParserException extends RuntimeException {
 	 */
 	public SmartScriptParserException(Throwable error) {
 		super(error);
+		position = -1;
 	}
 	
 	/**
@@ -42,6 +50,38 @@ public class SmartScriptParserException extends RuntimeException {
 	 */
 	public SmartScriptParserException(String msg,Throwable error) {
 		super(msg,error);
+		position = -1;
+	}
+
+	/**
+	 * Constructor for {@link SmartScriptParserException} that also holds the
+	 * position of the error, which is added to the message
+	 * @param msg - error message
+	 * @param position - position in the document where the error was found
+	 */
+	public SmartScriptParserException(String msg, int position) {
+		this(msg, position, null);
+	}
+
+	/**
+	 * Constructor for {@link SmartScriptParserException} that also holds the
+	 * position of the error, which is added to the message
+	 * @param msg - error message
+	 * @param position - position in the document where the error was found
+	 * @param error - error type
+	 */
+	public SmartScriptParserException(String msg, int position, Throwable error) {
+		super(msg + " (at position " + position + ")", error);
+		this.position = position;
+	}
+
+	/**
+	 * Getter for the position of the error
+	 * @return position in the document, counted in symbols from its beginning, or
+	 *         -1 if it is unknown
+	 */
+	public int getPosition() {
+		return position;
 	}
 
 }
@@ -0,0 +1,289 @@
+package hr.fer.zemris.java.custom.scripting.parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import hr.fer.zemris.java.custom.scripting.nodes.DocumentNode;
+
+/**
+ * Class that caches documents parsed by {@link SmartScriptParser}, so a
+ * template that didn't change isn't parsed again. Templates read from files
+ * are kept by their path, together with the modification time and the size of
+ * the file they were parsed from, so a file that changed is parsed again.
+ * Templates passed as text are kept by their content. When the cache is full,
+ * the template that wasn't used for the longest time is removed.
+ * <p>
+ * Cache can be used from more threads. Returned documents are shared between
+ * all callers, so they must not be changed.
+ *
+ * @author ilovrencic
+ *
+ */
+public class SmartScriptTemplateCache {
+
+	/**
+	 * Templates by their path or content, in the order they were used
+	 */
+	private final LinkedHashMap<Object, CachedTemplate> templates;
+
+	/**
+	 * Maximum number of templates in the cache
+	 */
+	private final int maximumSize;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long parseNanos;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param maximumSize - maximum number of templates in the cache
+	 */
+	public SmartScriptTemplateCache(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Maximum size can't be lower than one!");
+		}
+
+		this.maximumSize = maximumSize;
+		this.templates = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Method that returns the parsed template from the file. File is parsed again
+	 * if its modification time or size changed since it was parsed.
+	 *
+	 * @param path - path of the template, it is read as UTF-8
+	 * @return parsed template
+	 * @throws IOException if the file can't be read
+	 */
+	public DocumentNode get(Path path) throws IOException {
+		if (path == null) {
+			throw new NullPointerException("Path can't be null!");
+		}
+
+		Path key = path.toAbsolutePath().normalize();
+		BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+
+		synchronized (this) {
+			CachedTemplate template = templates.get(key);
+			if (template != null && template.matches(attributes)) {
+				hits++;
+				return template.document;
+			}
+			misses++;
+		}
+
+		String text = new String(Files.readAllBytes(key), StandardCharsets.UTF_8);
+		DocumentNode document = parse(text);
+		store(key, new CachedTemplate(document, attributes.lastModifiedTime(), attributes.size()));
+		return document;
+	}
+
+	/**
+	 * Method that returns the parsed template. Templates with the same text are
+	 * parsed only once.
+	 *
+	 * @param text - text of the template
+	 * @return parsed template
+	 */
+	public DocumentNode get(String text) {
+		if (text == null) {
+			throw new NullPointerException("Text can't be null!");
+		}
+
+		synchronized (this) {
+			CachedTemplate template = templates.get(text);
+			if (template != null) {
+				hits++;
+				return template.document;
+			}
+			misses++;
+		}
+
+		DocumentNode document = parse(text);
+		store(text, new CachedTemplate(document, null, text.length()));
+		return document;
+	}
+
+	/**
+	 * Method that removes the template of the file from the cache.
+	 *
+	 * @param path - path of the template
+	 */
+	public synchronized void invalidate(Path path) {
+		if (path == null) {
+			throw new NullPointerException("Path can't be null!");
+		}
+		templates.remove(path.toAbsolutePath().normalize());
+	}
+
+	/**
+	 * Method that removes all templates from the cache.
+	 */
+	public synchronized void invalidateAll() {
+		templates.clear();
+	}
+
+	/**
+	 * Method that removes templates of the files that changed or were deleted
+	 * since they were parsed.
+	 *
+	 * @return number of removed templates
+	 * @throws IOException if the attributes of a file can't be read
+	 */
+	public synchronized int removeStale() throws IOException {
+		int removed = 0;
+		Iterator<Map.Entry<Object, CachedTemplate>> iterator = templates.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Object, CachedTemplate> entry = iterator.next();
+			if (!(entry.getKey() instanceof Path)) {
+				continue;
+			}
+
+			BasicFileAttributes attributes;
+			try {
+				attributes = Files.readAttributes((Path) entry.getKey(), BasicFileAttributes.class);
+			} catch (NoSuchFileException e) {
+				attributes = null;
+			}
+
+			if (attributes == null || !entry.getValue().matches(attributes)) {
+				iterator.remove();
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Method that parses the template and measures how long it took.
+	 *
+	 * @param text - text of the template
+	 * @return parsed template
+	 */
+	private DocumentNode parse(String text) {
+		long start = System.nanoTime();
+		DocumentNode document = new SmartScriptParser(text).getMainNode();
+		long time = System.nanoTime() - start;
+
+		synchronized (this) {
+			parseNanos += time;
+		}
+		return document;
+	}
+
+	/**
+	 * Method that stores the template and removes the least recently used
+	 * templates if the cache is full.
+	 *
+	 * @param key      - path or text of the template
+	 * @param template - parsed template
+	 */
+	private synchronized void store(Object key, CachedTemplate template) {
+		templates.put(key, template);
+
+		Iterator<CachedTemplate> iterator = templates.values().iterator();
+		while (templates.size() > maximumSize) {
+			iterator.next();
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	/* ---- GETTERS ---- */
+
+	public synchronized int size() {
+		return templates.size();
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Method that returns the share of requests that were answered from the cache.
+	 *
+	 * @return hit rate between 0 and 1
+	 */
+	public synchronized double getHitRate() {
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	/**
+	 * Method that returns the total time spent parsing templates.
+	 *
+	 * @return time in nanoseconds
+	 */
+	public synchronized long getParseNanos() {
+		return parseNanos;
+	}
+
+	/**
+	 * Method that estimates the time that hits saved, from the average time of
+	 * one parse.
+	 *
+	 * @return time in nanoseconds
+	 */
+	public synchronized long getSavedParseNanos() {
+		return misses == 0 ? 0 : parseNanos / misses * hits;
+	}
+
+	/**
+	 * Class that represents a parsed template with the state of the file it was
+	 * parsed from.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class CachedTemplate {
+		final DocumentNode document;
+		final FileTime lastModified;
+		final long size;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param document     - parsed template
+		 * @param lastModified - modification time of the file, or null
+		 * @param size         - size of the file
+		 */
+		CachedTemplate(DocumentNode document, FileTime lastModified, long size) {
+			this.document = document;
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+
+		/**
+		 * Method that checks whether the file is the same as when it was parsed.
+		 *
+		 * @param attributes - current attributes of the file
+		 * @return true if the file didn't change, otherwise false
+		 */
+		boolean matches(BasicFileAttributes attributes) {
+			return attributes.lastModifiedTime().equals(lastModified) && attributes.size() == size;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package hr.fer.zemris.java.custom.scripting.exec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.java.custom.scripting.parser.SmartScriptParser;
+
+class SmartScriptEngineTest {
+
+	private static SmartScriptEngine compile(String document) {
+		return new SmartScriptEngine(new SmartScriptParser(document).getMainNode());
+	}
+
+	@Test
+	void testForLoopAndEcho() {
+		SmartScriptEngine engine = compile("Start{$ FOR i 1 3 1 $},{$= i $}{$END$}"
+				+ "{$FOR i 0 4 2 $}[{$= i i * \"0.0\" @decfmt $}]{$END$}");
+
+		String output = engine.execute(new HashMap<>());
+		assertEquals("Start,1,2,3[0.0][4.0][16.0]", output);
+
+		// the same compiled document can be executed again
+		assertEquals(output, engine.execute(new HashMap<>()));
+	}
+
+	@Test
+	void testOperatorsAndFunctions() {
+		SmartScriptEngine engine = compile("{$= 7 2 / 7 2.0 / 1 \"2\" + $}|{$= 30 @sin \"0.00\" @decfmt $}|"
+				+ "{$= 1 2 @swap @dup $}|{$= \"a\" @dup $}|{$= 2 3 ^ $}");
+		assertEquals("33.53|0.50|211|aa|8.0", engine.execute(new HashMap<>()));
+	}
+
+	@Test
+	void testNestedLoopsAndParameters() {
+		SmartScriptEngine engine = compile("{$FOR i 1 2 $}{$FOR j i n $}{$= i j * $},{$END$}{$END$}"
+				+ "{$= \"name\" \"nobody\" @paramGet $}{$= 5 \"x\" @tparamSet \"x\" 0 @tparamGet $}");
+
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("n", 3);
+		assertEquals("1,2,3,4,6,nobody5", engine.execute(parameters));
+
+		parameters.put("n", "2");
+		parameters.put("name", "Ivan");
+		assertEquals("1,2,4,Ivan5", engine.execute(parameters));
+	}
+
+	@Test
+	void testLoopSteps() {
+		assertEquals("3,2,1,", compile("{$FOR i 3 1 -1 $}{$= i $},{$END$}").execute(new HashMap<>()));
+		assertEquals("1,0.5,", compile("{$FOR i 1 0.5 -0.5 $}{$= i $},{$END$}").execute(new HashMap<>()));
+		assertEquals("", compile("{$FOR i 1 3 -1 $}{$= i $}{$END$}").execute(new HashMap<>()));
+		assertThrows(SmartScriptEngineException.class,
+				() -> compile("{$FOR i 1 3 0 $}{$= i $}{$END$}").execute(new HashMap<>()));
+	}
+
+	@Test
+	void testErrors() {
+		assertThrows(SmartScriptEngineException.class, () -> compile("{$= 1 + $}"));
+		assertThrows(SmartScriptEngineException.class, () -> compile("{$= 1 @unknown $}"));
+		assertThrows(SmartScriptEngineException.class, () -> compile("{$= 1 0 / $}").execute(new HashMap<>()));
+		assertThrows(SmartScriptEngineException.class, () -> compile("{$= \"a\" 1 + $}").execute(new HashMap<>()));
+	}
+}
@@ -2,8 +2,13 @@ package hr.fer.zemris.java.custom.scripting.lexer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.StringReader;
+import java.nio.CharBuffer;
+
 import org.junit.jupiter.api.Test;
 
+import hr.fer.zemris.java.hw03.prob1.LexerException;
+
 class SmartScriptLexerTest {
 
 	String example1 = "This is sample text.\n" + "{$ FOR i 1 10 1 $}\n"
@@ -96,4 +101,50 @@ class SmartScriptLexerTest {
 		assertEquals(token4.getType(), SmartScriptTokenType.TAG_TEXT);
 		token4 = lexer4.nextToken();
 	}
+
+	@Test
+	void testReadableInput() {
+		for (String example : new String[] { example1, example2, example3, example4 }) {
+			for (int bufferSize = 1; bufferSize <= 8; bufferSize++) {
+				SmartScriptLexer expected = new SmartScriptLexer(example);
+				SmartScriptLexer actual = new SmartScriptLexer(new StringReader(example), bufferSize);
+
+				SmartScriptToken token;
+				do {
+					token = expected.nextToken();
+					SmartScriptToken other = actual.nextToken();
+					assertEquals(token.getType(), other.getType());
+					assertEquals(token.getValue(), other.getValue());
+				} while (token.getType() != SmartScriptTokenType.EOF);
+			}
+		}
+
+		SmartScriptLexer lexer = new SmartScriptLexer(CharBuffer.wrap("{$END$}"));
+		lexer.nextToken();
+		lexer.nextToken();
+		assertEquals("END", lexer.nextToken().getValue());
+	}
+
+	@Test
+	void testTokenValues() {
+		SmartScriptLexer lexer = new SmartScriptLexer("a \\\\b\\{c{$= -2147483648 2.50 -1.5 x_1 @f \"q\\\\\\\"\" ^ $}");
+		assertEquals("a \\b{c", lexer.nextToken().getValue());
+		lexer.nextToken();
+		lexer.nextToken();
+		lexer.nextToken();
+		assertEquals(Integer.MIN_VALUE, lexer.nextToken().getValue());
+		assertEquals(2.5, lexer.nextToken().getValue());
+		assertEquals(-1.5, lexer.nextToken().getValue());
+		assertEquals("x_1", lexer.nextToken().getValue());
+		assertEquals("f", lexer.nextToken().getValue());
+		assertEquals("q\\\"", lexer.nextToken().getValue());
+		assertEquals("^", lexer.nextToken().getValue());
+
+		assertThrows(LexerException.class, () -> {
+			SmartScriptLexer overflow = new SmartScriptLexer("{$= 2147483648 $}");
+			for (int i = 0; i < 4; i++) {
+				overflow.nextToken();
+			}
+		});
+	}
 }
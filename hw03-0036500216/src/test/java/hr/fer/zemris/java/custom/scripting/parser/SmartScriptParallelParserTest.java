@@ -0,0 +1,64 @@
+package hr.fer.zemris.java.custom.scripting.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.java.custom.scripting.nodes.DocumentNode;
+
+class SmartScriptParallelParserTest {
+
+	String section = "Text \\{ with an escape.\n{$ FOR i 1 10 1 $}\n  This is {$= i $}-th time.\n"
+			+ "{$FOR j \"-1\" 3 $}{$= \"a \\\"}\\\" b\" j @sin $}{$END$}\n{$END$}\n{$= i i * \"0.000\" @decfmt $}";
+
+	private String document(int sections) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < sections; i++) {
+			builder.append(section);
+		}
+		return builder.toString();
+	}
+
+	@Test
+	void testSameAsSequential() {
+		String document = document(200);
+		SmartScriptParser sequential = new SmartScriptParser(document);
+
+		for (int segmentLength : new int[] { 1, 50, 1000, document.length() }) {
+			DocumentNode parallel = new SmartScriptParallelParser(document, segmentLength).getMainNode();
+
+			assertEquals(sequential.getMainNode().numberOfChildren(), parallel.numberOfChildren());
+			assertEquals(sequential.createOriginalDocumentBody(sequential.getMainNode()),
+					sequential.createOriginalDocumentBody(parallel));
+		}
+	}
+
+	@Test
+	void testErrorPositions() {
+		String document = document(20);
+		String[] errors = { "{$= \"unclosed $}", "{$END$}", "{$FOO$}", "\\x", "{$FOR i 1 $}", "{$FOR i 1 2 $}" };
+
+		for (String error : errors) {
+			for (int at : new int[] { 0, section.length() * 7, document.length() }) {
+				String broken = document.substring(0, at) + error + document.substring(at);
+
+				SmartScriptParserException expected = assertThrows(SmartScriptParserException.class,
+						() -> new SmartScriptParser(broken));
+				SmartScriptParserException actual = assertThrows(SmartScriptParserException.class,
+						() -> new SmartScriptParallelParser(broken, 10));
+
+				assertTrue(expected.getPosition() >= at);
+				assertEquals(expected.getPosition(), actual.getPosition());
+				assertEquals(expected.getMessage(), actual.getMessage());
+			}
+		}
+	}
+
+	@Test
+	void testPosition() {
+		SmartScriptParserException exception = assertThrows(SmartScriptParserException.class,
+				() -> new SmartScriptParser("abc{$= 1 $}{$FOO$}"));
+		assertEquals(16, exception.getPosition());
+		assertEquals("Unable to parse! (at position 16)", exception.getMessage());
+	}
+}
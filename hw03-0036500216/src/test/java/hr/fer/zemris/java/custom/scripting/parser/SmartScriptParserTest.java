@@ -2,6 +2,10 @@ package hr.fer.zemris.java.custom.scripting.parser;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import hr.fer.zemris.java.custom.scripting.nodes.*;
@@ -81,4 +85,35 @@ class SmartScriptParserTest {
 		
 		System.out.println(originalExample1);
 	}
+
+	@Test
+	void testReadableInput() {
+		SmartScriptParser expected = new SmartScriptParser(example1);
+		SmartScriptParser actual = new SmartScriptParser(new StringReader(example1));
+
+		assertEquals(expected.createOriginalDocumentBody(expected.getMainNode()),
+				actual.createOriginalDocumentBody(actual.getMainNode()));
+	}
+
+	@Test
+	void testNodeListener() {
+		List<Node> nodes = new ArrayList<>();
+		SmartScriptParser parser = new SmartScriptParser(new StringReader(example1), nodes::add);
+
+		assertEquals(0, parser.getMainNode().numberOfChildren());
+		assertEquals(3, nodes.size());
+		assertTrue(nodes.get(0) instanceof TextNode);
+		assertTrue(nodes.get(1) instanceof ForLoopNode);
+		assertTrue(nodes.get(2) instanceof ForLoopNode);
+		assertEquals(3, nodes.get(1).numberOfChildren());
+
+		DocumentNode document = new DocumentNode();
+		nodes.forEach(document::addChildNode);
+		SmartScriptParser expected = new SmartScriptParser(example1);
+		assertEquals(expected.createOriginalDocumentBody(expected.getMainNode()),
+				parser.createOriginalDocumentBody(document));
+
+		assertThrows(SmartScriptParserException.class,
+				() -> new SmartScriptParser(new StringReader("{$FOR i 1 2 $}"), node -> {}));
+	}
 }
@@ -0,0 +1,59 @@
+package hr.fer.zemris.java.custom.scripting.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import hr.fer.zemris.java.custom.scripting.nodes.DocumentNode;
+
+class SmartScriptTemplateCacheTest {
+
+	@Test
+	void testTextTemplates() {
+		SmartScriptTemplateCache cache = new SmartScriptTemplateCache(2);
+
+		DocumentNode first = cache.get("{$= 1 $}");
+		assertSame(first, cache.get("{$= 1 $}"));
+		cache.get("{$= 2 $}");
+		cache.get("{$= 3 $}");
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertNotSame(first, cache.get("{$= 1 $}"));
+
+		assertEquals(1, cache.getHits());
+		assertEquals(4, cache.getMisses());
+		assertEquals(0.2, cache.getHitRate());
+		assertTrue(cache.getParseNanos() > 0);
+	}
+
+	@Test
+	void testFileTemplates(@TempDir Path directory) throws IOException {
+		SmartScriptTemplateCache cache = new SmartScriptTemplateCache(10);
+		Path file = directory.resolve("template.txt");
+		Files.write(file, "{$FOR i 1 2 $}{$= i $}{$END$}".getBytes(StandardCharsets.UTF_8));
+
+		DocumentNode first = cache.get(file);
+		assertSame(first, cache.get(file));
+		assertSame(first, cache.get(directory.resolve(".").resolve("template.txt")));
+
+		Files.write(file, "changed".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+		assertEquals(1, cache.removeStale());
+
+		DocumentNode second = cache.get(file);
+		assertNotSame(first, second);
+		assertEquals(1, second.numberOfChildren());
+
+		cache.invalidate(file);
+		assertEquals(0, cache.size());
+		assertEquals(2, cache.getHits());
+	}
+}
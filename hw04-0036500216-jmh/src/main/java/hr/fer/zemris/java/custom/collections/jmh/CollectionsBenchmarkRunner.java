@@ -0,0 +1,39 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runner of {@link ListBenchmark} and {@link HashtableBenchmark} with the GC
+ * profiler, so every result comes with its allocation rate
+ * (<code>gc.alloc.rate.norm</code> is the number of bytes allocated per
+ * operation). A regex passed as the first argument selects the benchmarks
+ * instead.
+ *
+ * @author ilovrencic
+ *
+ */
+public class CollectionsBenchmarkRunner {
+
+	/**
+	 * Main method
+	 *
+	 * @param args - optional regex of the benchmarks
+	 * @throws RunnerException if the benchmarks fail
+	 */
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder builder = new OptionsBuilder();
+		if (args.length > 0) {
+			builder.include(args[0]);
+		} else {
+			builder.include(ListBenchmark.class.getSimpleName());
+			builder.include(HashtableBenchmark.class.getSimpleName());
+		}
+
+		Options options = builder.addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,195 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.custom.collections.Dictionary;
+import hr.fer.zemris.java.custom.collections.SimpleHashtable;
+
+/**
+ * Benchmark of {@link SimpleHashtable} and {@link Dictionary} against
+ * {@link HashMap}. Keys are boxed before the benchmark, so boxing isn't
+ * measured. Put benchmarks fill an empty table with all keys, get benchmarks
+ * look up random keys that are in the table and keys that aren't.
+ * {@link Dictionary} always uses the default load factor.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashtableBenchmark {
+
+	/**
+	 * Number of precomputed random lookups, it is a power of two
+	 */
+	private static final int LOOKUPS = 1 << 12;
+
+	/**
+	 * Number of keys in the table
+	 */
+	@Param({ "1000", "100000" })
+	public int size;
+
+	/**
+	 * Share of the table that can be filled before the table is doubled
+	 */
+	@Param({ "0.5", "0.75", "1.0" })
+	public double loadFactor;
+
+	/**
+	 * Distribution of the keys: consecutive integers, random integers, or
+	 * integers whose lower 12 bits are all zero
+	 */
+	@Param({ "sequential", "random", "strided" })
+	public String keyDistribution;
+
+	/**
+	 * Keys in the tables
+	 */
+	private Integer[] keys;
+
+	/**
+	 * Random keys that are in the tables
+	 */
+	private Integer[] hits;
+
+	/**
+	 * Keys that aren't in the tables
+	 */
+	private Integer[] misses;
+
+	/**
+	 * Position in the lookups
+	 */
+	private int cursor;
+
+	private SimpleHashtable<Integer, Integer> simpleHashtable;
+	private Dictionary<Integer, Integer> dictionary;
+	private HashMap<Integer, Integer> hashMap;
+
+	/**
+	 * Method that generates the keys and fills the tables.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		keys = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = key(i, random);
+		}
+
+		simpleHashtable = new SimpleHashtable<Integer, Integer>(16, loadFactor);
+		dictionary = new Dictionary<Integer, Integer>();
+		hashMap = new HashMap<Integer, Integer>(16, (float) loadFactor);
+		for (Integer key : keys) {
+			simpleHashtable.put(key, key);
+			dictionary.put(key, key);
+			hashMap.put(key, key);
+		}
+
+		hits = new Integer[LOOKUPS];
+		misses = new Integer[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			hits[i] = keys[random.nextInt(size)];
+			Integer miss;
+			do {
+				miss = key(size + random.nextInt(size), random);
+			} while (hashMap.containsKey(miss));
+			misses[i] = miss;
+		}
+	}
+
+	/**
+	 * Method that returns the key at the passed position of the distribution.
+	 *
+	 * @param position - position of the key
+	 * @param random   - generator of random keys
+	 * @return key
+	 */
+	private Integer key(int position, Random random) {
+		switch (keyDistribution) {
+		case "sequential":
+			return position;
+		case "random":
+			return random.nextInt();
+		case "strided":
+			return position << 12;
+		default:
+			throw new IllegalArgumentException("Unknown key distribution " + keyDistribution + "!");
+		}
+	}
+
+	/* ===== PUT ===== */
+
+	@Benchmark
+	public SimpleHashtable<Integer, Integer> putSimpleHashtable() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<Integer, Integer>(16, loadFactor);
+		for (Integer key : keys) {
+			table.put(key, key);
+		}
+		return table;
+	}
+
+	@Benchmark
+	public Dictionary<Integer, Integer> putDictionary() {
+		Dictionary<Integer, Integer> table = new Dictionary<Integer, Integer>();
+		for (Integer key : keys) {
+			table.put(key, key);
+		}
+		return table;
+	}
+
+	@Benchmark
+	public HashMap<Integer, Integer> putHashMap() {
+		HashMap<Integer, Integer> table = new HashMap<Integer, Integer>(16, (float) loadFactor);
+		for (Integer key : keys) {
+			table.put(key, key);
+		}
+		return table;
+	}
+
+	/* ===== GET ===== */
+
+	@Benchmark
+	public Integer getHitSimpleHashtable() {
+		return simpleHashtable.get(hits[cursor++ & (LOOKUPS - 1)]);
+	}
+
+	@Benchmark
+	public Integer getHitDictionary() {
+		return dictionary.get(hits[cursor++ & (LOOKUPS - 1)]);
+	}
+
+	@Benchmark
+	public Integer getHitHashMap() {
+		return hashMap.get(hits[cursor++ & (LOOKUPS - 1)]);
+	}
+
+	@Benchmark
+	public Integer getMissSimpleHashtable() {
+		return simpleHashtable.get(misses[cursor++ & (LOOKUPS - 1)]);
+	}
+
+	@Benchmark
+	public Integer getMissHashMap() {
+		return hashMap.get(misses[cursor++ & (LOOKUPS - 1)]);
+	}
+}
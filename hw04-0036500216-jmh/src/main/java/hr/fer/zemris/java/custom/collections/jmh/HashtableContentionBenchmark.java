@@ -0,0 +1,110 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.custom.collections.ConcurrentSimpleHashtable;
+import hr.fer.zemris.java.custom.collections.SimpleHashtable;
+
+/**
+ * Contention benchmark of {@link ConcurrentSimpleHashtable} against
+ * {@link SimpleHashtable} guarded by one global lock. Every thread does a mix
+ * of reads, puts and removes on a shared table of random integer keys. Number
+ * of threads is set with <code>-t</code>.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class HashtableContentionBenchmark {
+
+	/**
+	 * Number of distinct keys
+	 */
+	@Param({ "100000" })
+	public int keys;
+
+	/**
+	 * Percentage of operations that are reads, the rest are split between puts
+	 * and removes
+	 */
+	@Param({ "90", "50" })
+	public int readPercentage;
+
+	/**
+	 * Table guarded by the global lock
+	 */
+	private SimpleHashtable<Integer, Integer> locked;
+
+	/**
+	 * Concurrent table
+	 */
+	private ConcurrentSimpleHashtable<Integer, Integer> concurrent;
+
+	/**
+	 * Method that fills both tables with half of the keys.
+	 */
+	@Setup(Level.Iteration)
+	public void setup() {
+		locked = new SimpleHashtable<Integer, Integer>();
+		concurrent = new ConcurrentSimpleHashtable<Integer, Integer>();
+		for (int key = 0; key < keys; key += 2) {
+			locked.put(key, key);
+			concurrent.put(key, key);
+		}
+	}
+
+	@Benchmark
+	public Integer globalLock() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = random.nextInt(keys);
+		int operation = random.nextInt(100);
+
+		synchronized (locked) {
+			if (operation < readPercentage) {
+				return locked.get(key);
+			} else if ((operation & 1) == 0) {
+				locked.put(key, key);
+			} else {
+				locked.remove(key);
+			}
+		}
+		return key;
+	}
+
+	@Benchmark
+	public Integer concurrent() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = random.nextInt(keys);
+		int operation = random.nextInt(100);
+
+		if (operation < readPercentage) {
+			return concurrent.get(key);
+		} else if ((operation & 1) == 0) {
+			concurrent.put(key, key);
+		} else {
+			concurrent.remove(key);
+		}
+		return key;
+	}
+}
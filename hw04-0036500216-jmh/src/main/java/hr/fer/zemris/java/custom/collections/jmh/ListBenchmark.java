@@ -0,0 +1,261 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.custom.collections.ArrayIndexedCollection;
+import hr.fer.zemris.java.custom.collections.ElementsGetter;
+import hr.fer.zemris.java.custom.collections.LinkedListIndexedCollection;
+
+/**
+ * Benchmark of {@link ArrayIndexedCollection} and
+ * {@link LinkedListIndexedCollection} against {@link ArrayList} and
+ * {@link LinkedList}. Operations that add an element also remove one, so the
+ * size of the lists stays the same during an iteration. Allocation rate is
+ * measured when the benchmark is run with <code>-prof gc</code>, or through
+ * {@link CollectionsBenchmarkRunner}.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+	/**
+	 * Number of precomputed random indexes, it is a power of two
+	 */
+	private static final int INDEXES = 1 << 12;
+
+	/**
+	 * Number of elements in every list
+	 */
+	@Param({ "1000", "100000" })
+	public int size;
+
+	private ArrayIndexedCollection<Integer> array;
+	private LinkedListIndexedCollection<Integer> linked;
+	private ArrayList<Integer> arrayList;
+	private LinkedList<Integer> linkedList;
+
+	/**
+	 * Random indexes of the elements
+	 */
+	private int[] indexes;
+
+	/**
+	 * Position in the indexes
+	 */
+	private int cursor;
+
+	/**
+	 * Element that is added and removed
+	 */
+	private Integer element = -1;
+
+	/**
+	 * Element from the middle of the lists
+	 */
+	private Integer middle;
+
+	/**
+	 * Method that fills all lists with the same elements.
+	 */
+	@Setup(Level.Iteration)
+	public void setup() {
+		array = new ArrayIndexedCollection<Integer>();
+		linked = new LinkedListIndexedCollection<Integer>();
+		arrayList = new ArrayList<Integer>();
+		linkedList = new LinkedList<Integer>();
+		for (int i = 0; i < size; i++) {
+			Integer value = i;
+			array.add(value);
+			linked.add(value);
+			arrayList.add(value);
+			linkedList.add(value);
+		}
+
+		Random random = new Random(42);
+		indexes = new int[INDEXES];
+		for (int i = 0; i < INDEXES; i++) {
+			indexes[i] = random.nextInt(size);
+		}
+		middle = size / 2;
+	}
+
+	/**
+	 * Method that returns the next random index.
+	 *
+	 * @return index of an element
+	 */
+	private int nextIndex() {
+		return indexes[cursor++ & (INDEXES - 1)];
+	}
+
+	/* ===== ADD ===== */
+
+	@Benchmark
+	public int addArray() {
+		array.add(element);
+		array.remove(size);
+		return array.size();
+	}
+
+	@Benchmark
+	public int addLinked() {
+		linked.add(element);
+		linked.remove(size);
+		return linked.size();
+	}
+
+	@Benchmark
+	public int addArrayList() {
+		arrayList.add(element);
+		arrayList.remove(size);
+		return arrayList.size();
+	}
+
+	@Benchmark
+	public int addLinkedList() {
+		linkedList.add(element);
+		linkedList.removeLast();
+		return linkedList.size();
+	}
+
+	/* ===== GET ===== */
+
+	@Benchmark
+	public Integer getArray() {
+		return array.get(nextIndex());
+	}
+
+	@Benchmark
+	public Integer getLinked() {
+		return linked.get(nextIndex());
+	}
+
+	@Benchmark
+	public Integer getArrayList() {
+		return arrayList.get(nextIndex());
+	}
+
+	@Benchmark
+	public Integer getLinkedList() {
+		return linkedList.get(nextIndex());
+	}
+
+	/* ===== INSERT AND REMOVE IN THE MIDDLE ===== */
+
+	@Benchmark
+	public int insertRemoveMiddleArray() {
+		array.insert(element, size / 2);
+		array.remove(size / 2);
+		return array.size();
+	}
+
+	@Benchmark
+	public int insertRemoveMiddleLinked() {
+		linked.insert(element, size / 2);
+		linked.remove(size / 2);
+		return linked.size();
+	}
+
+	@Benchmark
+	public int insertRemoveMiddleArrayList() {
+		arrayList.add(size / 2, element);
+		arrayList.remove(size / 2);
+		return arrayList.size();
+	}
+
+	@Benchmark
+	public int insertRemoveMiddleLinkedList() {
+		linkedList.add(size / 2, element);
+		linkedList.remove(size / 2);
+		return linkedList.size();
+	}
+
+	/* ===== CONTAINS ===== */
+
+	@Benchmark
+	public boolean containsArray() {
+		return array.contains(middle);
+	}
+
+	@Benchmark
+	public boolean containsLinked() {
+		return linked.contains(middle);
+	}
+
+	@Benchmark
+	public boolean containsArrayList() {
+		return arrayList.contains(middle);
+	}
+
+	@Benchmark
+	public boolean containsLinkedList() {
+		return linkedList.contains(middle);
+	}
+
+	/* ===== ITERATION ===== */
+
+	@Benchmark
+	public long iterateArray() {
+		return sum(array.createElementsGetter());
+	}
+
+	@Benchmark
+	public long iterateLinked() {
+		return sum(linked.createElementsGetter());
+	}
+
+	@Benchmark
+	public long iterateArrayList() {
+		long sum = 0;
+		for (Integer value : arrayList) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long iterateLinkedList() {
+		long sum = 0;
+		for (Integer value : linkedList) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	/**
+	 * Method that sums all elements of the getter.
+	 *
+	 * @param getter - getter of the elements
+	 * @return sum of the elements
+	 */
+	private static long sum(ElementsGetter<Integer> getter) {
+		long sum = 0;
+		while (getter.hasNextElement()) {
+			sum += getter.getNextElement();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,196 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.custom.collections.DoubleObjectStack;
+import hr.fer.zemris.java.custom.collections.IntObjectStack;
+import hr.fer.zemris.java.custom.collections.ObjectStack;
+
+/**
+ * Single threaded benchmark of {@link IntObjectStack} and
+ * {@link DoubleObjectStack} against {@link ObjectStack}. Every benchmark
+ * evaluates the same random postfix expression, the way the postfix evaluator
+ * from the stack demo does, but with tokens that are already parsed.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackBenchmark {
+
+	/**
+	 * Token that marks addition
+	 */
+	private static final int ADD = -1;
+
+	/**
+	 * Token that marks subtraction
+	 */
+	private static final int SUBTRACT = -2;
+
+	/**
+	 * Token that marks multiplication
+	 */
+	private static final int MULTIPLY = -3;
+
+	/**
+	 * Number of operands in the expression
+	 */
+	@Param({ "1000", "100000" })
+	public int operands;
+
+	/**
+	 * Expression in postfix notation. Operands are non-negative, operators are
+	 * negative tokens.
+	 */
+	private int[] tokens;
+
+	/**
+	 * Method that generates the expression. Operator is added whenever there are
+	 * at least two operands on the stack and the coin says so, so the stack depth
+	 * changes during evaluation.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		tokens = new int[2 * operands - 1];
+
+		int length = 0;
+		int depth = 0;
+		int pushed = 0;
+		while (length < tokens.length) {
+			if (depth >= 2 && (pushed == operands || random.nextBoolean())) {
+				tokens[length++] = -1 - random.nextInt(3);
+				depth--;
+			} else {
+				tokens[length++] = random.nextInt(10);
+				depth++;
+				pushed++;
+			}
+		}
+	}
+
+	@Benchmark
+	public Integer objectStack() {
+		ObjectStack<Integer> stack = new ObjectStack<Integer>();
+		for (int token : tokens) {
+			if (token >= 0) {
+				stack.push(token);
+				continue;
+			}
+
+			Integer first = (Integer) stack.pop();
+			Integer second = (Integer) stack.pop();
+			stack.push(apply(token, first, second));
+		}
+		return (Integer) stack.pop();
+	}
+
+	@Benchmark
+	public int intObjectStack() {
+		IntObjectStack stack = new IntObjectStack();
+		for (int token : tokens) {
+			if (token >= 0) {
+				stack.push(token);
+				continue;
+			}
+
+			int first = stack.pop();
+			int second = stack.pop();
+			stack.push(apply(token, first, second));
+		}
+		return stack.pop();
+	}
+
+	@Benchmark
+	public Double doubleObjectStackBoxed() {
+		ObjectStack<Double> stack = new ObjectStack<Double>();
+		for (int token : tokens) {
+			if (token >= 0) {
+				stack.push((double) token);
+				continue;
+			}
+
+			Double first = (Double) stack.pop();
+			Double second = (Double) stack.pop();
+			stack.push(apply(token, first, second));
+		}
+		return (Double) stack.pop();
+	}
+
+	@Benchmark
+	public double doubleObjectStack() {
+		DoubleObjectStack stack = new DoubleObjectStack();
+		for (int token : tokens) {
+			if (token >= 0) {
+				stack.push(token);
+				continue;
+			}
+
+			double first = stack.pop();
+			double second = stack.pop();
+			stack.push(apply(token, first, second));
+		}
+		return stack.pop();
+	}
+
+	/**
+	 * Method that applies the operator to two int operands.
+	 *
+	 * @param operator - operator token
+	 * @param first    - operand from the top of the stack
+	 * @param second   - operand below it
+	 * @return result of the operation
+	 */
+	private static int apply(int operator, int first, int second) {
+		switch (operator) {
+		case ADD:
+			return second + first;
+		case SUBTRACT:
+			return second - first;
+		case MULTIPLY:
+			return second * first;
+		default:
+			throw new IllegalArgumentException("Unknown operator " + operator + "!");
+		}
+	}
+
+	/**
+	 * Method that applies the operator to two double operands.
+	 *
+	 * @param operator - operator token
+	 * @param first    - operand from the top of the stack
+	 * @param second   - operand below it
+	 * @return result of the operation
+	 */
+	private static double apply(int operator, double first, double second) {
+		switch (operator) {
+		case ADD:
+			return second + first;
+		case SUBTRACT:
+			return second - first;
+		case MULTIPLY:
+			return second * first;
+		default:
+			throw new IllegalArgumentException("Unknown operator " + operator + "!");
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package hr.fer.zemris.java.custom.collections.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.java.custom.collections.ConcurrentObjectStack;
+import hr.fer.zemris.java.custom.collections.ObjectStack;
+
+/**
+ * Producer/consumer benchmark of {@link ConcurrentObjectStack} against
+ * {@link ObjectStack} guarded by one global lock. In every group two threads
+ * push and two threads pop from a shared stack. Consumers that find the stack
+ * empty return null instead of waiting.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackContentionBenchmark {
+
+	/**
+	 * Value pushed by producers
+	 */
+	private static final Integer VALUE = 42;
+
+	/**
+	 * Stack guarded by the global lock
+	 */
+	private ObjectStack<Integer> locked;
+
+	/**
+	 * Lock-free stack
+	 */
+	private ConcurrentObjectStack<Integer> concurrent;
+
+	/**
+	 * Method that creates empty stacks.
+	 */
+	@Setup(Level.Iteration)
+	public void setup() {
+		locked = new ObjectStack<Integer>();
+		concurrent = new ConcurrentObjectStack<Integer>();
+	}
+
+	@Benchmark
+	@Group("globalLock")
+	@GroupThreads(2)
+	public void globalLockPush() {
+		synchronized (locked) {
+			locked.push(VALUE);
+		}
+	}
+
+	@Benchmark
+	@Group("globalLock")
+	@GroupThreads(2)
+	public Object globalLockPop() {
+		synchronized (locked) {
+			return locked.isEmpty() ? null : locked.pop();
+		}
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(2)
+	public void concurrentPush() {
+		concurrent.push(VALUE);
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(2)
+	public Integer concurrentPop() {
+		return concurrent.poll();
+	}
+}
@@ -73,6 +73,37 @@ public class ArrayIndexedCollection<T> implements List<T> {
 		this.addAll(collection);
 	}
 
+	/**
+	 * Method that adds all elements of the passed collection at once. Elements are
+	 * copied with {@link System#arraycopy(Object, int, Object, int, int)} and the
+	 * array is grown at most once.
+	 * 
+	 * @param other - collection whose elements we are adding
+	 */
+	@Override
+	public void addAll(Collection<T> other) {
+		if (other == null) {
+			throw new NullPointerException("Passed collection can't be null value!");
+		}
+
+		int count = other.size();
+		if (count == 0) {
+			return;
+		}
+
+		Object[] source;
+		if (other instanceof ArrayIndexedCollection) {
+			source = ((ArrayIndexedCollection<T>) other).elements;
+		} else {
+			source = other.toArray();
+		}
+
+		ensureCapacity(size + count);
+		System.arraycopy(source, 0, elements, size, count);
+		size += count;
+		modificationCount++;
+	}
+
 	/**
 	 * Method used for adding new value to Collection. If the value is null it
 	 * throws NullPointerException. If there is not enough space to add value,
@@ -87,7 +118,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
 			throw new NullPointerException("Passed object can't be null value!");
 		}
 
-		ensureCapacity();
+		ensureCapacity(size + 1);
 
 		elements[size] = value;
 		size++;
@@ -142,9 +173,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
 	 */
 	@Override
 	public void clear() {
-		for (int i = 0; i < this.size; i++) {
-			this.elements[i] = null;
-		}
+		Arrays.fill(this.elements, 0, this.size, null);
 		this.size = 0;
 		modificationCount++;
 	}
@@ -165,12 +194,9 @@ public class ArrayIndexedCollection<T> implements List<T> {
 			throw new IndexOutOfBoundsException();
 		}
 
-		ensureCapacity();
-
-		for (int i = size; i > index; i--) {
-			elements[i] = elements[i - 1];
-		}
+		ensureCapacity(size + 1);
 
+		System.arraycopy(elements, index, elements, index + 1, size - index);
 		elements[index] = value;
 		size++;
 		modificationCount++;
@@ -208,10 +234,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
 			throw new IndexOutOfBoundsException();
 		}
 
-		for (int i = index; i < size; i++) {
-			elements[i] = elements[i + 1];
-		}
-
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
 		elements[size - 1] = null;
 		size--;
 		modificationCount++;
@@ -247,12 +270,63 @@ public class ArrayIndexedCollection<T> implements List<T> {
 	}
 
 	/**
-	 * This method ensures that the capacity of elements is enough to accept new
-	 * element. It doubles the size of the array.
+	 * Method that creates {@link SplittableElementsGetter} that splits the array
+	 * itself, without copying it.
 	 */
-	private void ensureCapacity() {
-		if (this.size >= this.elements.length - 1) {
-			this.elements = Arrays.copyOf(this.elements, this.elements.length * 2);
+	@Override
+	public SplittableElementsGetter<T> createSplittableElementsGetter() {
+		return new ArrayElementsGetter<T>(this);
+	}
+
+	/**
+	 * Method that removes all elements that satisfy the passed {@link Tester}. The
+	 * remaining elements are moved together in one pass.
+	 * 
+	 * @param tester - tester of the elements we are removing
+	 * @return true if any element was removed, otherwise false
+	 */
+	public boolean removeIf(Tester<T> tester) {
+		if (tester == null) {
+			throw new NullPointerException("Passed tester can't be null value!");
+		}
+
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if (!tester.test(elements[i])) {
+				elements[kept++] = elements[i];
+			}
+		}
+
+		if (kept == size) {
+			return false;
+		}
+
+		Arrays.fill(elements, kept, size, null);
+		size = kept;
+		modificationCount++;
+		return true;
+	}
+
+	/**
+	 * This method ensures that the capacity of elements is at least the passed
+	 * capacity. If the array has to grow, its length is at least doubled.
+	 * 
+	 * @param minCapacity - capacity we need
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > this.elements.length) {
+			this.elements = Arrays.copyOf(this.elements, Math.max(minCapacity, this.elements.length * 2));
+		}
+	}
+
+	/**
+	 * Method that shrinks the capacity of the collection to its size, or to one if
+	 * the collection is empty.
+	 */
+	public void trimToSize() {
+		if (this.elements.length > Math.max(this.size, 1)) {
+			this.elements = Arrays.copyOf(this.elements, Math.max(this.size, 1));
+			modificationCount++;
 		}
 	}
 
@@ -263,9 +337,10 @@ public class ArrayIndexedCollection<T> implements List<T> {
 	 * @author ilovrencic
 	 *
 	 */
-	private static class ArrayElementsGetter<T> implements ElementsGetter<T> {
+	private static class ArrayElementsGetter<T> implements SplittableElementsGetter<T> {
 
 		private T[] elements;
+		private int size;
 		private ArrayIndexedCollection<T> collection;
 		private long savedModificationCount;
 		private int counter;
@@ -278,11 +353,26 @@ public class ArrayIndexedCollection<T> implements List<T> {
 		 */
 		public ArrayElementsGetter(ArrayIndexedCollection<T> collection) {
 			this.elements = collection.elements;
+			this.size = collection.size;
 			this.savedModificationCount = collection.modificationCount;
 			this.collection = collection;
 			this.counter = 0;
 		}
 
+		/**
+		 * Constructor for a getter of the first part of a split getter.
+		 * 
+		 * @param getter - getter we are splitting
+		 * @param end    - index after the last element of the first part
+		 */
+		private ArrayElementsGetter(ArrayElementsGetter<T> getter, int end) {
+			this.elements = getter.elements;
+			this.size = end;
+			this.savedModificationCount = getter.savedModificationCount;
+			this.collection = getter.collection;
+			this.counter = getter.counter;
+		}
+
 		/**
 		 * Checks whether there is next element in the list. Throws
 		 * {@link ConcurrentModificationException} if the collection has been in any way
@@ -293,10 +383,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
 			if (savedModificationCount != collection.modificationCount) {
 				throw new ConcurrentModificationException();
 			}
-			if (counter == elements.length - 1 || elements[counter] == null) {
-				return false;
-			}
-			return true;
+			return counter < size;
 		}
 
 		/**
@@ -317,5 +404,22 @@ public class ArrayIndexedCollection<T> implements List<T> {
 			counter++;
 			return object;
 		}
+
+		@Override
+		public SplittableElementsGetter<T> trySplit() {
+			int middle = (counter + size) >>> 1;
+			if (middle == counter) {
+				return null;
+			}
+
+			ArrayElementsGetter<T> prefix = new ArrayElementsGetter<T>(this, middle);
+			counter = middle;
+			return prefix;
+		}
+
+		@Override
+		public int remainingElements() {
+			return size - counter;
+		}
 	}
 }
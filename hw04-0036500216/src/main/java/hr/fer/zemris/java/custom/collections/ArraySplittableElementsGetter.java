@@ -0,0 +1,62 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Class that represents {@link SplittableElementsGetter} over a range of an
+ * array. It is used for collections that don't have their own splittable
+ * getter, over the array returned by {@link Collection#toArray()}.
+ * 
+ * @author ilovrencic
+ *
+ */
+class ArraySplittableElementsGetter<T> implements SplittableElementsGetter<T> {
+
+	private Object[] elements;
+	private int counter;
+	private int end;
+
+	/**
+	 * Default constructor
+	 * 
+	 * @param elements - array of elements
+	 * @param start    - index of the first element
+	 * @param end      - index after the last element
+	 */
+	ArraySplittableElementsGetter(Object[] elements, int start, int end) {
+		this.elements = elements;
+		this.counter = start;
+		this.end = end;
+	}
+
+	@Override
+	public boolean hasNextElement() {
+		return counter < end;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getNextElement() throws NoSuchElementException {
+		if (!hasNextElement()) {
+			throw new NoSuchElementException();
+		}
+		return (T) elements[counter++];
+	}
+
+	@Override
+	public SplittableElementsGetter<T> trySplit() {
+		int middle = (counter + end) >>> 1;
+		if (middle == counter) {
+			return null;
+		}
+
+		ArraySplittableElementsGetter<T> prefix = new ArraySplittableElementsGetter<T>(elements, counter, middle);
+		counter = middle;
+		return prefix;
+	}
+
+	@Override
+	public int remainingElements() {
+		return end - counter;
+	}
+}
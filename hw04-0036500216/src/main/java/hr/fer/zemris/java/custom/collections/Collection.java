@@ -117,6 +117,44 @@ public interface Collection<T> {
 	 */
 	ElementsGetter<T> createElementsGetter();
 
+	/**
+	 * Method that creates {@link SplittableElementsGetter} instance. Default
+	 * implementation splits a copy of the elements made by {@link #toArray()}.
+	 * 
+	 * @return splittable elements getter
+	 */
+	default SplittableElementsGetter<T> createSplittableElementsGetter() {
+		Object[] elements = this.toArray();
+		if (elements == null) {
+			elements = new Object[0];
+		}
+		return new ArraySplittableElementsGetter<T>(elements, 0, elements.length);
+	}
+
+	/**
+	 * Method that calls processor.process() for each element, in parallel on the
+	 * common fork-join pool. Elements aren't processed in order, so the processor
+	 * must be thread safe.
+	 * 
+	 * @param processor Processor class that process data
+	 */
+	default void parallelForEach(Processor<T> processor) {
+		ForkJoinProcessing.forEach(this.createSplittableElementsGetter(), processor);
+	}
+
+	/**
+	 * Method that returns all elements that pass the test, in the order of this
+	 * collection. Elements are tested in parallel on the common fork-join pool, so
+	 * the tester must be thread safe.
+	 * 
+	 * @param tester - tester with which we will check whether the objects pass the
+	 *               test
+	 * @return new collection with the elements that passed the test
+	 */
+	default List<T> parallelFilter(Tester<T> tester) {
+		return ForkJoinProcessing.filter(this.createSplittableElementsGetter(), tester);
+	}
+
 	/**
 	 * Method that adds all satisfying objects from other collection.
 	 * 
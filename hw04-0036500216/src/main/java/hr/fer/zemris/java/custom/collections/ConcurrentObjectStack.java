@@ -0,0 +1,145 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class that represents a thread safe version of {@link ObjectStack} without
+ * locks (Treiber stack). Stack is a linked list of immutable nodes, and the top
+ * of the stack is changed with compare-and-set, so threads that push and pop at
+ * the same time never block each other. It is meant for producer/consumer use,
+ * where {@link #poll()} is used instead of {@link #pop()}.
+ *
+ * @author ilovrencic
+ *
+ */
+public class ConcurrentObjectStack<T> {
+
+	/**
+	 * Node on the top of the stack, or null if the stack is empty
+	 */
+	private final AtomicReference<StackNode<T>> top = new AtomicReference<>();
+
+	/**
+	 * Constructor that initializes empty stack.
+	 */
+	public ConcurrentObjectStack() {
+	}
+
+	/**
+	 * Method that checks whether the stack is empty.
+	 *
+	 * @return true if stack is empty, otherwise false
+	 */
+	public boolean isEmpty() {
+		return top.get() == null;
+	}
+
+	/**
+	 * Returns the number of elements in stack. Elements are counted by walking the
+	 * stack, so the result is only an estimate while other threads use the stack.
+	 *
+	 * @return number of elements
+	 */
+	public int size() {
+		int size = 0;
+		for (StackNode<T> node = top.get(); node != null; node = node.next) {
+			size++;
+		}
+		return size;
+	}
+
+	/**
+	 * Method that adds value on the top of stack.
+	 *
+	 * @param value
+	 */
+	public void push(T value) {
+		if (value == null) {
+			throw new NullPointerException("Can't push null value!");
+		}
+
+		StackNode<T> node = new StackNode<>(value);
+		while (true) {
+			StackNode<T> current = top.get();
+			node.next = current;
+			if (top.compareAndSet(current, node)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Method that returns value at the top of the stack and also removes it from
+	 * the stack.
+	 *
+	 * @return value from the top or exception if the stack is empty
+	 */
+	public T pop() {
+		T value = poll();
+		if (value == null) {
+			throw new EmptyStackException();
+		}
+		return value;
+	}
+
+	/**
+	 * Method that returns value at the top of the stack and also removes it from
+	 * the stack, or null if the stack is empty.
+	 *
+	 * @return value from the top or null
+	 */
+	public T poll() {
+		while (true) {
+			StackNode<T> current = top.get();
+			if (current == null) {
+				return null;
+			}
+			if (top.compareAndSet(current, current.next)) {
+				return current.value;
+			}
+		}
+	}
+
+	/**
+	 * Method that returns value from the top of the stack but doesn't remove it.
+	 *
+	 * @return value from the top or exception if the stack is empty
+	 */
+	public T peek() {
+		StackNode<T> current = top.get();
+		if (current == null) {
+			throw new EmptyStackException();
+		}
+		return current.value;
+	}
+
+	/**
+	 * Method that clears the whole stack and removes all elements.
+	 */
+	public void clear() {
+		top.set(null);
+	}
+
+	/**
+	 * Class that represents a node of the stack. A new node is created for every
+	 * push and isn't changed after it is on the stack, so a node that is being
+	 * popped by one thread can't come back to the top through another thread.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class StackNode<T> {
+		final T value;
+		StackNode<T> next;
+
+		/**
+		 * Default constructor for StackNode class
+		 *
+		 * @param value
+		 */
+		StackNode(T value) {
+			this.value = value;
+		}
+	}
+}
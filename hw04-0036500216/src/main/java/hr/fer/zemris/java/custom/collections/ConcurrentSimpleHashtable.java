@@ -0,0 +1,650 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class that represents a thread safe version of {@link SimpleHashtable}. The
+ * table is split into segments, each with its own lock, chained table and
+ * resize threshold, so threads that write to different segments don't wait for
+ * each other and a resize only locks the segment that is being doubled.
+ * <p>
+ * Reading never locks: {@link #get(Object)} reads the table of the segment and
+ * its chains through volatile references. Writers never change the chain of an
+ * entry that a reader might be walking: new entries are added at the head of
+ * the chain, removed entries are unlinked and a resize copies entries into the
+ * new table instead of moving them.
+ * <p>
+ * Iterator is weakly consistent: it never throws
+ * {@link java.util.ConcurrentModificationException}, returns every entry that
+ * was in the table when it was created and wasn't removed, and may or may not
+ * return entries added afterwards.
+ *
+ * @author ilovrencic
+ *
+ * @param <K> - parameter of the key
+ * @param <V> - parameter of the value
+ */
+public class ConcurrentSimpleHashtable<K, V> implements Iterable<ConcurrentSimpleHashtable.TableEntry<K, V>> {
+
+	/**
+	 * Segments of the table
+	 */
+	private Segment<K, V>[] segments;
+
+	/**
+	 * Number of bits of the hash that select the segment
+	 */
+	private int segmentShift;
+
+	/**
+	 * Size of the default table
+	 */
+	private static final int DEFAULT_TABLE = 16;
+
+	/**
+	 * Default number of segments
+	 */
+	private static final int DEFAULT_CONCURRENCY = 16;
+
+	/**
+	 * Largest number of segments
+	 */
+	private static final int MAXIMUM_CONCURRENCY = 1 << 16;
+
+	/**
+	 * Largest size of the table of one segment
+	 */
+	private static final int MAXIMUM_SEGMENT_TABLE = 1 << 30;
+
+	/**
+	 * Share of the segment table that can be filled before it is doubled
+	 */
+	private static final double LOAD_FACTOR = 0.75;
+
+	/**
+	 * Default constructor that initializes the table with 16 available slots split
+	 * into 16 segments.
+	 */
+	public ConcurrentSimpleHashtable() {
+		this(DEFAULT_TABLE, DEFAULT_CONCURRENCY);
+	}
+
+	/**
+	 * Constructor that initializes the table with first equal or bigger power of 2
+	 * than the passed @param capacity, split into 16 segments.
+	 *
+	 * @param capacity - number of slots we want
+	 */
+	public ConcurrentSimpleHashtable(int capacity) {
+		this(capacity, DEFAULT_CONCURRENCY);
+	}
+
+	/**
+	 * Constructor that initializes the table with first equal or bigger power of 2
+	 * than the passed @param capacity, split into first equal or bigger power of 2
+	 * than the passed @param concurrency segments.
+	 *
+	 * @param capacity    - number of slots we want
+	 * @param concurrency - expected number of threads that write at the same time
+	 */
+	public ConcurrentSimpleHashtable(int capacity, int concurrency) {
+		if (capacity < 1 || concurrency < 1) {
+			throw new IllegalArgumentException("Capacity and concurrency can't be lower than one!");
+		}
+
+		int segmentCount = powerOfTwo(Math.min(concurrency, MAXIMUM_CONCURRENCY));
+		int segmentTable = powerOfTwo(Math.max(1, (capacity + segmentCount - 1) / segmentCount));
+
+		segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+		@SuppressWarnings("unchecked")
+		Segment<K, V>[] segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+		this.segments = segments;
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment<K, V>(segmentTable);
+		}
+	}
+
+	/**
+	 * Method that returns number of elements inside
+	 * {@link ConcurrentSimpleHashtable}. While other threads are writing, the
+	 * result is only an estimate.
+	 *
+	 * @return number of elements
+	 */
+	public int size() {
+		long size = 0;
+		for (Segment<K, V> segment : segments) {
+			size += segment.count;
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Method that puts a new {@link TableEntry} into
+	 * {@link ConcurrentSimpleHashtable}. If there is a {@link TableEntry} with the
+	 * same key, than the value is just replaced with the new passed value.
+	 *
+	 * @param key
+	 * @param value
+	 */
+	public void put(K key, V value) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null value!");
+		}
+
+		int hash = SimpleHashtable.spread(key);
+		segmentFor(hash).put(key, hash, value);
+	}
+
+	/**
+	 * Method that returns value that corresponds with the passed key. If there is
+	 * no key, the method return null. This method never locks.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public V get(Object key) {
+		if (key == null) {
+			throw new NullPointerException("Key shouldn't be null!");
+		}
+
+		int hash = SimpleHashtable.spread(key);
+		TableEntry<K, V> entry = segmentFor(hash).find(key, hash);
+		return entry == null ? null : entry.value;
+	}
+
+	/**
+	 * Method that checks whether the {@link ConcurrentSimpleHashtable} contains
+	 * passed key. This method never locks.
+	 *
+	 * @param key
+	 * @return true if there is such key, otherwise false
+	 */
+	public boolean containsKey(Object key) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null!");
+		}
+
+		int hash = SimpleHashtable.spread(key);
+		return segmentFor(hash).find(key, hash) != null;
+	}
+
+	/**
+	 * Method that checks whether the {@link ConcurrentSimpleHashtable} contains
+	 * passed value. This method never locks.
+	 *
+	 * @param value
+	 * @return true if there is such value, otherwise false
+	 */
+	public boolean containsValue(Object value) {
+		for (TableEntry<K, V> entry : this) {
+			if (Objects.equals(entry.value, value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Method that removes a passed object from the
+	 * {@link ConcurrentSimpleHashtable}.
+	 *
+	 * @param key - key of the object we want to erase
+	 */
+	public void remove(Object key) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null!");
+		}
+
+		int hash = SimpleHashtable.spread(key);
+		segmentFor(hash).remove(key, hash);
+	}
+
+	/**
+	 * Method that checks whether the {@link ConcurrentSimpleHashtable} is empty or
+	 * not.
+	 *
+	 * @return true if there is no elements, otherwise false.
+	 */
+	public boolean isEmpty() {
+		for (Segment<K, V> segment : segments) {
+			if (segment.count != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder output = new StringBuilder("[");
+		for (TableEntry<K, V> entry : this) {
+			output.append(' ').append(entry).append(' ');
+		}
+		return output.append(']').toString();
+	}
+
+	/**
+	 * Returns number of slots in the tables of all segments.
+	 *
+	 * @return - number of slots
+	 */
+	public int capacity() {
+		long capacity = 0;
+		for (Segment<K, V> segment : segments) {
+			capacity += segment.table.length();
+		}
+		return (int) Math.min(capacity, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Method that erases all elements from {@link ConcurrentSimpleHashtable}.
+	 * Segments are cleared one by one, so entries added by other threads in the
+	 * meantime may stay in the table.
+	 */
+	public void clear() {
+		for (Segment<K, V> segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Method that creates weakly consistent {@link Iterator} for
+	 * {@link ConcurrentSimpleHashtable}.
+	 */
+	@Override
+	public Iterator<TableEntry<K, V>> iterator() {
+		return new IteratorImpl();
+	}
+
+	/**
+	 * Method that returns the segment of the given hash. Segment is selected by the
+	 * higher bits of the mixed hash, while the slot inside the segment is selected
+	 * by its lower bits.
+	 *
+	 * @param hash - spread hash of the key
+	 * @return segment of the key
+	 */
+	private Segment<K, V> segmentFor(int hash) {
+		if (segments.length == 1) {
+			return segments[0];
+		}
+		return segments[(hash * 0x9E3779B9) >>> segmentShift];
+	}
+
+	/**
+	 * Function that returns first equal or bigger power of 2 value than the passed
+	 * {@link Integer}.
+	 *
+	 * @param capacity - capacity of the table we want
+	 * @return - capacity thats first equal or bigger power of 2 than the passed
+	 *         parameter
+	 */
+	private static int powerOfTwo(int capacity) {
+		int power = 1;
+		while (capacity > power && power < MAXIMUM_SEGMENT_TABLE) {
+			power *= 2;
+		}
+		return power;
+	}
+
+	/**
+	 * Static class that represent an entry inside {@link ConcurrentSimpleHashtable}.
+	 * Key and hash of an entry never change, value and reference to the next entry
+	 * are volatile, so readers see them without locking.
+	 *
+	 * @author ilovrencic
+	 *
+	 * @param <K> - parameter of the key
+	 * @param <V> - parameter of the value
+	 */
+	public static class TableEntry<K, V> {
+
+		/**
+		 * Represents the key in the entry
+		 */
+		private final K key;
+
+		/**
+		 * Spread hash of the key
+		 */
+		private final int hash;
+
+		/**
+		 * Represents the value in the entry
+		 */
+		private volatile V value;
+
+		/**
+		 * Represent a reference to the next {@link TableEntry}
+		 */
+		private volatile TableEntry<K, V> next;
+
+		/**
+		 * Default constructor for {@link TableEntry}
+		 *
+		 * @param key
+		 * @param hash
+		 * @param value
+		 * @param next
+		 */
+		private TableEntry(K key, int hash, V value, TableEntry<K, V> next) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+
+		/* ------- GETTERS --------- */
+
+		public K getKey() {
+			return key;
+		}
+
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	/**
+	 * Class that represents one segment of {@link ConcurrentSimpleHashtable}. It is
+	 * a chained hashtable whose writers hold its lock and whose readers don't.
+	 *
+	 * @author ilovrencic
+	 *
+	 * @param <K> - parameter of the key
+	 * @param <V> - parameter of the value
+	 */
+	private static class Segment<K, V> extends ReentrantLock {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Table of the segment, replaced by a doubled copy on resize
+		 */
+		private volatile AtomicReferenceArray<TableEntry<K, V>> table;
+
+		/**
+		 * Number of elements in the segment
+		 */
+		private volatile int count;
+
+		/**
+		 * Number of elements after which the table is doubled
+		 */
+		private int threshold;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param length - length of the table
+		 */
+		Segment(int length) {
+			setTable(new AtomicReferenceArray<TableEntry<K, V>>(length));
+		}
+
+		/**
+		 * Method that finds the entry with the given key without locking.
+		 *
+		 * @param key  - key we are looking for
+		 * @param hash - spread hash of the key
+		 * @return entry with the key or null
+		 */
+		TableEntry<K, V> find(Object key, int hash) {
+			AtomicReferenceArray<TableEntry<K, V>> table = this.table;
+			TableEntry<K, V> entry = table.get(hash & (table.length() - 1));
+			for (; entry != null; entry = entry.next) {
+				if (entry.hash == hash && entry.key.equals(key)) {
+					return entry;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Method that puts the entry into the segment.
+		 *
+		 * @param key   - key of the entry
+		 * @param hash  - spread hash of the key
+		 * @param value - value of the entry
+		 */
+		void put(K key, int hash, V value) {
+			lock();
+			try {
+				AtomicReferenceArray<TableEntry<K, V>> table = this.table;
+				int slot = hash & (table.length() - 1);
+				TableEntry<K, V> head = table.get(slot);
+
+				for (TableEntry<K, V> entry = head; entry != null; entry = entry.next) {
+					if (entry.hash == hash && entry.key.equals(key)) {
+						entry.value = value;
+						return;
+					}
+				}
+
+				table.set(slot, new TableEntry<K, V>(key, hash, value, head));
+				count++;
+				if (count > threshold) {
+					resize();
+				}
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * Method that removes the entry with the given key from the segment.
+		 *
+		 * @param key  - key of the entry
+		 * @param hash - spread hash of the key
+		 */
+		void remove(Object key, int hash) {
+			lock();
+			try {
+				AtomicReferenceArray<TableEntry<K, V>> table = this.table;
+				int slot = hash & (table.length() - 1);
+
+				TableEntry<K, V> previous = null;
+				for (TableEntry<K, V> entry = table.get(slot); entry != null; entry = entry.next) {
+					if (entry.hash == hash && entry.key.equals(key)) {
+						if (previous == null) {
+							table.set(slot, entry.next);
+						} else {
+							previous.next = entry.next;
+						}
+						count--;
+						return;
+					}
+					previous = entry;
+				}
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * Method that removes all entries from the segment.
+		 */
+		void clear() {
+			lock();
+			try {
+				setTable(new AtomicReferenceArray<TableEntry<K, V>>(table.length()));
+				count = 0;
+			} finally {
+				unlock();
+			}
+		}
+
+		/**
+		 * Method that doubles the table of the segment. Entries are copied into the
+		 * new table, except the longest tail of each chain whose entries all end up
+		 * in the same slot, which is reused as it is. Readers of the old table
+		 * therefore never see a changed chain.
+		 */
+		private void resize() {
+			AtomicReferenceArray<TableEntry<K, V>> oldTable = table;
+			int oldLength = oldTable.length();
+			if (oldLength >= MAXIMUM_SEGMENT_TABLE) {
+				threshold = Integer.MAX_VALUE;
+				return;
+			}
+
+			AtomicReferenceArray<TableEntry<K, V>> newTable = new AtomicReferenceArray<TableEntry<K, V>>(
+					oldLength * 2);
+			int mask = oldLength * 2 - 1;
+
+			for (int i = 0; i < oldLength; i++) {
+				TableEntry<K, V> head = oldTable.get(i);
+				if (head == null) {
+					continue;
+				}
+
+				TableEntry<K, V> lastRun = head;
+				int lastSlot = head.hash & mask;
+				for (TableEntry<K, V> entry = head.next; entry != null; entry = entry.next) {
+					int slot = entry.hash & mask;
+					if (slot != lastSlot) {
+						lastSlot = slot;
+						lastRun = entry;
+					}
+				}
+				newTable.set(lastSlot, lastRun);
+
+				for (TableEntry<K, V> entry = head; entry != lastRun; entry = entry.next) {
+					int slot = entry.hash & mask;
+					newTable.set(slot, new TableEntry<K, V>(entry.key, entry.hash, entry.value, newTable.get(slot)));
+				}
+			}
+
+			setTable(newTable);
+		}
+
+		/**
+		 * Method that publishes the table and computes its threshold.
+		 *
+		 * @param table - new table of the segment
+		 */
+		private void setTable(AtomicReferenceArray<TableEntry<K, V>> table) {
+			int length = table.length();
+			threshold = length >= MAXIMUM_SEGMENT_TABLE ? Integer.MAX_VALUE : (int) (length * LOAD_FACTOR);
+			this.table = table;
+		}
+	}
+
+	/**
+	 * Implementation of the weakly consistent {@link Iterator}. It walks the
+	 * segments one by one, and the table of each segment as it was when the
+	 * iterator reached it.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private class IteratorImpl implements Iterator<TableEntry<K, V>> {
+
+		/**
+		 * Index of the segment we are in
+		 */
+		private int segmentCursor = -1;
+
+		/**
+		 * Table of the segment we are in
+		 */
+		private AtomicReferenceArray<TableEntry<K, V>> table;
+
+		/**
+		 * Cursor that moves through the table of the segment
+		 */
+		private int slotCursor;
+
+		/**
+		 * Next entry that will be returned
+		 */
+		private TableEntry<K, V> nextEntry;
+
+		/**
+		 * Instance of the last returned element
+		 */
+		private TableEntry<K, V> lastReturned;
+
+		/**
+		 * Empty constructor
+		 */
+		IteratorImpl() {
+			advance();
+		}
+
+		/**
+		 * Method that checks whether we have next element.
+		 *
+		 * @return - method returns true if there is element, otherwise false
+		 */
+		@Override
+		public boolean hasNext() {
+			return nextEntry != null;
+		}
+
+		/**
+		 * Method that returns the next entry and finds the one after it.
+		 *
+		 * @return - next element in the {@link ConcurrentSimpleHashtable}
+		 */
+		@Override
+		public TableEntry<K, V> next() {
+			if (nextEntry == null) {
+				throw new NoSuchElementException("No more elements in table!");
+			}
+
+			lastReturned = nextEntry;
+			advance();
+			return lastReturned;
+		}
+
+		/**
+		 * Method that removes the last returned element from the
+		 * {@link ConcurrentSimpleHashtable}.
+		 */
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException("You can't remove more than once!");
+			}
+
+			ConcurrentSimpleHashtable.this.remove(lastReturned.key);
+			lastReturned = null;
+		}
+
+		/**
+		 * Method that moves to the next entry in the chain, or to the head of the
+		 * next non-empty slot.
+		 */
+		private void advance() {
+			if (nextEntry != null && (nextEntry = nextEntry.next) != null) {
+				return;
+			}
+
+			while (true) {
+				while (table != null && slotCursor < table.length()) {
+					if ((nextEntry = table.get(slotCursor++)) != null) {
+						return;
+					}
+				}
+
+				if (++segmentCursor >= segments.length) {
+					table = null;
+					return;
+				}
+				table = segments[segmentCursor].table;
+				slotCursor = 0;
+			}
+		}
+	}
+}
@@ -1,10 +1,12 @@
 package hr.fer.zemris.java.custom.collections;
 
-import java.util.Map;
-
 /**
- * Parameterized class that represents Dictionary
- * 
+ * Parameterized class that represents Dictionary. Entries are kept in a
+ * {@link SimpleHashtable}, so both {@link #put(Object, Object)} and
+ * {@link #get(Object)} take constant time. Values of {@link Character} keys
+ * from the ASCII range are kept in an array indexed by the character, because
+ * dictionaries of single symbols are looked up once per symbol of long strings.
+ *
  * @author ilovrencic
  *
  * @param <K> - parameterized value of key
@@ -13,129 +15,131 @@ import java.util.Map;
 public class Dictionary<K, V> {
 
 	/**
-	 * Parameterized {@link ArrayIndexedCollection} that serves as dictionary
+	 * Number of {@link Character} keys that are kept in the array
+	 */
+	private static final int CHARACTER_KEYS = 128;
+
+	/**
+	 * Parameterized {@link SimpleHashtable} that serves as dictionary
+	 */
+	private SimpleHashtable<K, V> dictionary;
+
+	/**
+	 * Values of {@link Character} keys from the ASCII range, indexed by the
+	 * character. It is created with the first such key.
 	 */
-	private ArrayIndexedCollection<Element<K, V>> dictionary;
+	private Object[] characterValues;
 
 	/**
-	 * Default constructor that initializes the {@link ArrayIndexedCollection}
+	 * Flags that tell which {@link Character} keys from the ASCII range are present
+	 */
+	private boolean[] characterKeys;
+
+	/**
+	 * Number of {@link Character} keys kept in the array
+	 */
+	private int characterCount;
+
+	/**
+	 * Default constructor that initializes the {@link SimpleHashtable}
 	 */
 	public Dictionary() {
-		this.dictionary = new ArrayIndexedCollection<>();
+		this.dictionary = new SimpleHashtable<>();
 	}
 
 	/**
 	 * Method that checks whether the {@link Dictionary} is empty.
-	 * 
+	 *
 	 * @return true - if there is no elements
 	 */
 	public boolean isEmpty() {
-		return dictionary.isEmpty();
+		return size() == 0;
 	}
 
 	/**
 	 * Method that returns number of elements inside {@link Dictionary}
-	 * 
+	 *
 	 * @return - number of elements inside {@link Dictionary}
 	 */
 	public int size() {
-		return dictionary.size();
+		return dictionary.size() + characterCount;
 	}
 
 	/**
-	 * Method that removes all the elements from the {@link Dictionary}. In this
-	 * case this method is just called on {@link ArrayIndexedCollection}.
+	 * Method that removes all the elements from the {@link Dictionary}.
 	 */
 	public void clear() {
 		dictionary.clear();
+		characterValues = null;
+		characterKeys = null;
+		characterCount = 0;
 	}
 
 	/**
-	 * Method that puts {@link Element} value inside {@link ArrayIndexedCollection}.
-	 * If there is already a {@link Element} with the same key value, the value will
-	 * be overwritten.
-	 * 
+	 * Method that puts the key-value pair inside {@link Dictionary}. If there is
+	 * already a pair with the same key, the value will be overwritten.
+	 *
 	 * @param key
 	 * @param value
 	 */
 	public void put(K key, V value) {
-		if(key == null) {
+		if (key == null) {
 			throw new NullPointerException("Key can't be null!");
 		}
-		Element<K, V> element = new Element<>(key, value);
-		if (dictionary.contains(element)) {
-			dictionary.remove(element);
+
+		int character = characterIndex(key);
+		if (character < 0) {
+			dictionary.put(key, value);
+			return;
+		}
+
+		if (characterValues == null) {
+			characterValues = new Object[CHARACTER_KEYS];
+			characterKeys = new boolean[CHARACTER_KEYS];
 		}
 
-		dictionary.add(element);
+		if (!characterKeys[character]) {
+			characterKeys[character] = true;
+			characterCount++;
+		}
+		characterValues[character] = value;
 	}
 
 	/**
 	 * Method that returns value for a given {@link Object} key. If there is no such
 	 * key inside {@link Dictionary} the method will return <code>null</code>.
-	 * 
+	 *
 	 * @param key - key for which we are looking a value
 	 * @return - value that corresponds to the given key
 	 */
 	@SuppressWarnings("unchecked")
 	public V get(Object key) {
-		if(key == null) {
+		if (key == null) {
 			throw new NullPointerException("Key can't be null!");
 		}
-		Element<K, V> element = new Element<K, V>((K) key, null);
-		if (dictionary.contains(element)) {
-			return dictionary.get(dictionary.indexOf(element)).getValue();
+
+		int character = characterIndex(key);
+		if (character < 0) {
+			return dictionary.get(key);
 		}
-		return null;
+
+		return characterValues == null ? null : (V) characterValues[character];
 	}
 
 	/**
-	 * Class that represents a single element inside {@link Dictionary}. It consists
-	 * of key-value pair that should resemble to the {@link Map} implementation.
-	 * 
-	 * @author ilovrencic
+	 * Method that returns the index of the key in the array of {@link Character}
+	 * keys, or -1 if the key isn't kept there.
 	 *
-	 * @param <K> - key type
-	 * @param <V> - value type
+	 * @param key - key we are looking for
+	 * @return - index of the key or -1
 	 */
-	private static class Element<K, V> {
-
-		private K key;
-		private V value;
-
-		/**
-		 * Default constructor for {@link Element}
-		 * 
-		 * @param key
-		 * @param value
-		 */
-		public Element(K key, V value) {
-			this.key = key;
-			this.value = value;
-		}
-
-		/**
-		 * Getter for value
-		 * 
-		 * @return
-		 */
-		public V getValue() {
-			return value;
-		}
-
-		@Override
-		public int hashCode() {
-			return key.hashCode() + value.hashCode();
-		}
-
-		@Override
-		@SuppressWarnings("unchecked")
-		public boolean equals(Object obj) {
-			if (obj instanceof Element) {
-				Element<K, V> element = (Element<K, V>) obj;
-				return element.key.equals(key);
+	private static int characterIndex(Object key) {
+		if (key instanceof Character) {
+			char character = (Character) key;
+			if (character < CHARACTER_KEYS) {
+				return character;
 			}
-			return false;
 		}
+		return -1;
 	}
 }
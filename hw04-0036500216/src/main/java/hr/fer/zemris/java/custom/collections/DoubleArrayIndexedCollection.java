@@ -0,0 +1,272 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+
+/**
+ * Class that represents a version of {@link ArrayIndexedCollection} that stores
+ * double values in a double array, so values are never boxed. Methods that take or
+ * return elements work with double values, and processing is done with
+ * {@link DoubleConsumer} and {@link DoublePredicate} instead of {@link Processor} and
+ * {@link Tester}.
+ *
+ * @author ilovrencic
+ *
+ */
+public class DoubleArrayIndexedCollection {
+
+	private double[] elements;
+	private int size = 0;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Default constructor that initializes array to default capacity
+	 */
+	public DoubleArrayIndexedCollection() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that initializes array to set value of @value initalCapcity If
+	 * the @value initalCapacity is lower than 1, the method will throw
+	 * IllegalArgumentException
+	 *
+	 * @param initalCapacity initial value of collection capacity
+	 */
+	public DoubleArrayIndexedCollection(int initalCapacity) {
+		if (initalCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.elements = new double[initalCapacity];
+	}
+
+	/**
+	 * Method used for adding new value to Collection.
+	 *
+	 * @param value - Value we want to add into Collection.
+	 */
+	public void add(double value) {
+		ensureCapacity(size + 1);
+		elements[size++] = value;
+	}
+
+	/**
+	 * Method that adds all passed values at once.
+	 *
+	 * @param values - values we are adding
+	 */
+	public void addAll(double... values) {
+		if (values == null) {
+			throw new NullPointerException("Passed values can't be null value!");
+		}
+
+		ensureCapacity(size + values.length);
+		System.arraycopy(values, 0, elements, size, values.length);
+		size += values.length;
+	}
+
+	/**
+	 * Method that adds all elements of the passed collection at once.
+	 *
+	 * @param other - collection whose elements we are adding
+	 */
+	public void addAll(DoubleArrayIndexedCollection other) {
+		if (other == null) {
+			throw new NullPointerException("Passed collection can't be null value!");
+		}
+
+		int count = other.size;
+		ensureCapacity(size + count);
+		System.arraycopy(other.elements, 0, elements, size, count);
+		size += count;
+	}
+
+	/**
+	 * Method that returns an element on index position.
+	 *
+	 * @param index of the value we want to retrieve
+	 * @return value at that index
+	 */
+	public double get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return elements[index];
+	}
+
+	/**
+	 * Method that inserts element to certain position in collection.
+	 *
+	 * @param value we want to insert
+	 * @param index where we want to insert value
+	 */
+	public void insert(double value, int index) {
+		if (index < 0 || index > size - 1) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+	}
+
+	/**
+	 * Method that returns the index of the value in collection, or -1 if it can't
+	 * be found. Values are compared like {@link Double#equals(Object)} compares
+	 * them, so NaN can be found.
+	 *
+	 * @param value
+	 * @return
+	 */
+	public int indexOf(double value) {
+		for (int i = 0; i < size; i++) {
+			if (Double.compare(elements[i], value) == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Method that check whether the collection contains @param value.
+	 *
+	 * @param value - The value for what we want to check if it is in collection.
+	 * @return true if it contains the value, otherwise false
+	 */
+	public boolean contains(double value) {
+		return indexOf(value) != -1;
+	}
+
+	/**
+	 * Method removes a value at the given index.
+	 *
+	 * @param index of the value we want to remove
+	 */
+	public void remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+	}
+
+	/**
+	 * Method that removes the first occurrence of the value from the collection.
+	 *
+	 * @param value we want to remove
+	 * @return true if the value was removed, otherwise false
+	 */
+	public boolean removeValue(double value) {
+		int index = indexOf(value);
+		if (index == -1) {
+			return false;
+		}
+
+		remove(index);
+		return true;
+	}
+
+	/**
+	 * Method that removes all values that satisfy the passed predicate. The
+	 * remaining values are moved together in one pass.
+	 *
+	 * @param tester - predicate of the values we are removing
+	 * @return true if any value was removed, otherwise false
+	 */
+	public boolean removeIf(DoublePredicate tester) {
+		if (tester == null) {
+			throw new NullPointerException("Passed tester can't be null value!");
+		}
+
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if (!tester.test(elements[i])) {
+				elements[kept++] = elements[i];
+			}
+		}
+
+		boolean removed = kept != size;
+		size = kept;
+		return removed;
+	}
+
+	/**
+	 * Method that calls the passed consumer on every value in order.
+	 *
+	 * @param processor - consumer of the values
+	 */
+	public void forEach(DoubleConsumer processor) {
+		for (int i = 0; i < size; i++) {
+			processor.accept(elements[i]);
+		}
+	}
+
+	/**
+	 * Method that returns the number of elements inside the collection.
+	 *
+	 * @return number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method that checks whether the collection is empty.
+	 *
+	 * @return true if there are no elements, otherwise false
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Method that returns the length of the elements array
+	 *
+	 * @return length of elements array
+	 */
+	public int capacity() {
+		return elements.length;
+	}
+
+	/**
+	 * Method that removes all the elements from the collection.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Method returns an array of all elements in the collection.
+	 *
+	 * @return array of elements
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * This method ensures that the capacity of elements is at least the passed
+	 * capacity. If the array has to grow, its length is at least doubled.
+	 *
+	 * @param minCapacity - capacity we need
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > elements.length) {
+			elements = Arrays.copyOf(elements, Math.max(minCapacity, elements.length * 2));
+		}
+	}
+
+	/**
+	 * Method that shrinks the capacity of the collection to its size, or to one if
+	 * the collection is empty.
+	 */
+	public void trimToSize() {
+		if (elements.length > Math.max(size, 1)) {
+			elements = Arrays.copyOf(elements, Math.max(size, 1));
+		}
+	}
+}
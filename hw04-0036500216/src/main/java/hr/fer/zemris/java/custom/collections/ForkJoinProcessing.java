@@ -0,0 +1,145 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Class with helper methods that process elements of a
+ * {@link SplittableElementsGetter} on the common {@link ForkJoinPool}. Getter is
+ * split until its parts are small enough, and every part is processed
+ * sequentially by one thread.
+ * 
+ * @author ilovrencic
+ *
+ */
+final class ForkJoinProcessing {
+
+	/**
+	 * Number of elements below which getters aren't split anymore
+	 */
+	static final int SPLIT_THRESHOLD = 1024;
+
+	/**
+	 * Empty constructor
+	 */
+	private ForkJoinProcessing() {
+	}
+
+	/**
+	 * Method that calls the processor on every element of the getter. Elements
+	 * are processed in parallel, so the processor must be thread safe.
+	 * 
+	 * @param getter    - getter of the elements
+	 * @param processor - processor of the elements
+	 */
+	static <T> void forEach(SplittableElementsGetter<T> getter, Processor<T> processor) {
+		if (processor == null) {
+			throw new NullPointerException("Processor can't be null!");
+		}
+
+		ForkJoinPool.commonPool().invoke(new ForEachTask<T>(getter, processor));
+	}
+
+	/**
+	 * Method that returns all elements of the getter that pass the tester, in the
+	 * order the getter returns them. Elements are tested in parallel, so the
+	 * tester must be thread safe.
+	 * 
+	 * @param getter - getter of the elements
+	 * @param tester - tester of the elements
+	 * @return elements that passed the test
+	 */
+	static <T> ArrayIndexedCollection<T> filter(SplittableElementsGetter<T> getter, Tester<T> tester) {
+		if (tester == null) {
+			throw new NullPointerException("Tester can't be null!");
+		}
+
+		return ForkJoinPool.commonPool().invoke(new FilterTask<T>(getter, tester));
+	}
+
+	/**
+	 * Task that processes the elements of one getter.
+	 * 
+	 * @author ilovrencic
+	 *
+	 */
+	private static class ForEachTask<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private SplittableElementsGetter<T> getter;
+		private Processor<T> processor;
+
+		/**
+		 * Default constructor
+		 * 
+		 * @param getter    - getter of the elements
+		 * @param processor - processor of the elements
+		 */
+		ForEachTask(SplittableElementsGetter<T> getter, Processor<T> processor) {
+			this.getter = getter;
+			this.processor = processor;
+		}
+
+		@Override
+		protected void compute() {
+			SplittableElementsGetter<T> prefix = getter.remainingElements() > SPLIT_THRESHOLD ? getter.trySplit()
+					: null;
+			if (prefix == null) {
+				getter.processRemaining(processor);
+				return;
+			}
+
+			invokeAll(new ForEachTask<T>(prefix, processor), new ForEachTask<T>(getter, processor));
+		}
+	}
+
+	/**
+	 * Task that collects the elements of one getter that pass the tester.
+	 * 
+	 * @author ilovrencic
+	 *
+	 */
+	private static class FilterTask<T> extends RecursiveTask<ArrayIndexedCollection<T>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private SplittableElementsGetter<T> getter;
+		private Tester<T> tester;
+
+		/**
+		 * Default constructor
+		 * 
+		 * @param getter - getter of the elements
+		 * @param tester - tester of the elements
+		 */
+		FilterTask(SplittableElementsGetter<T> getter, Tester<T> tester) {
+			this.getter = getter;
+			this.tester = tester;
+		}
+
+		@Override
+		protected ArrayIndexedCollection<T> compute() {
+			SplittableElementsGetter<T> prefix = getter.remainingElements() > SPLIT_THRESHOLD ? getter.trySplit()
+					: null;
+			if (prefix == null) {
+				ArrayIndexedCollection<T> passed = new ArrayIndexedCollection<T>();
+				while (getter.hasNextElement()) {
+					T element = getter.getNextElement();
+					if (tester.test(element)) {
+						passed.add(element);
+					}
+				}
+				return passed;
+			}
+
+			FilterTask<T> first = new FilterTask<T>(prefix, tester);
+			first.fork();
+			ArrayIndexedCollection<T> rest = new FilterTask<T>(getter, tester).compute();
+			ArrayIndexedCollection<T> passed = first.join();
+			passed.addAll(rest);
+			return passed;
+		}
+	}
+}
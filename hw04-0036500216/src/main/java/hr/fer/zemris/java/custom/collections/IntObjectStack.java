@@ -0,0 +1,100 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Class that represents a version of {@link ObjectStack} that stores int values
+ * directly in an int array, so pushed and popped values are never boxed.
+ *
+ * @author ilovrencic
+ *
+ */
+public class IntObjectStack {
+
+	private int[] elements;
+	private int size = 0;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Constructor that initializes empty stack.
+	 */
+	public IntObjectStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that initializes empty stack with the given capacity. If the
+	 * capacity is lower than 1, the method will throw IllegalArgumentException
+	 *
+	 * @param initalCapacity initial capacity of the stack
+	 */
+	public IntObjectStack(int initalCapacity) {
+		if (initalCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.elements = new int[initalCapacity];
+	}
+
+	/**
+	 * Method that checks whether the stack is empty.
+	 *
+	 * @return true if stack is empty, otherwise false
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of elements in stack.
+	 *
+	 * @return number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method that adds value on the top of stack.
+	 *
+	 * @param value
+	 */
+	public void push(int value) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, elements.length * 2);
+		}
+		elements[size++] = value;
+	}
+
+	/**
+	 * Method that returns value at the top of the stack and also removes it from
+	 * the stack.
+	 *
+	 * @return value from the top or exception if the stack is empty
+	 */
+	public int pop() {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		return elements[--size];
+	}
+
+	/**
+	 * Method that returns value from the top of the stack but doesn't remove it.
+	 *
+	 * @return value from the top or exception if the stack is empty
+	 */
+	public int peek() {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		return elements[size - 1];
+	}
+
+	/**
+	 * Method that clears the whole stack and removes all elements.
+	 */
+	public void clear() {
+		size = 0;
+	}
+}
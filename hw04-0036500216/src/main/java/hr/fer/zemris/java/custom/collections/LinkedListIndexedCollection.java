@@ -1,21 +1,42 @@
 package hr.fer.zemris.java.custom.collections;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 
 /**
- * Class that represents implementation of Linked List collection.
- * 
+ * Class that represents implementation of Linked List collection. The list is
+ * unrolled: every node holds a chunk of up to {@value #CHUNK_SIZE} elements, so
+ * there is one node per chunk instead of one node per element. The node that
+ * was accessed last is cached together with the index of its first element, so
+ * indexed access close to the previous one, like an indexed for loop, doesn't
+ * walk the list from its ends.
+ *
  * @author ilovrencic
  *
  */
 public class LinkedListIndexedCollection<T> implements List<T> {
 
+	/**
+	 * Maximum number of elements in one node
+	 */
+	private static final int CHUNK_SIZE = 64;
+
 	private ListNode<T> first;
 	private ListNode<T> last;
 	private long modificationCount = 0;
 	private int size = 0;
 
+	/**
+	 * Node that was accessed last
+	 */
+	private ListNode<T> cursor;
+
+	/**
+	 * Index of the first element in the cursor node
+	 */
+	private int cursorStart;
+
 	/**
 	 * Default constructor that initializes first and last to null.
 	 */
@@ -25,7 +46,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 
 	/**
 	 * Default constructor that copies merges passed collection with this one.
-	 * 
+	 *
 	 * @param collection
 	 */
 	public LinkedListIndexedCollection(Collection<T> collection) {
@@ -45,53 +66,37 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 			throw new NullPointerException("Passed value can't be null!");
 		}
 
-		ListNode<T> newValue = new ListNode<>(value);
-
-		if (this.isEmpty()) {
-			first = last = newValue;
-		} else {
-			last.next = newValue;
-			newValue.previous = last;
-			last = newValue;
+		if (last == null || last.count == CHUNK_SIZE) {
+			ListNode<T> node = new ListNode<>();
+			if (last == null) {
+				first = last = node;
+			} else {
+				last.next = node;
+				node.previous = last;
+				last = node;
+			}
 		}
+
+		last.values[last.count++] = value;
 		size++;
 		modificationCount++;
 	}
 
 	/**
 	 * Method that returns a object at given index.
-	 * 
+	 *
 	 * @param index - position in collection from where we want an object
 	 * @return object at position index
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public T get(int index) {
 		if (index < 0 || index > size - 1) {
 			throw new IndexOutOfBoundsException();
 		}
 
-		int currentIndex = 0;
-		ListNode<T> iterator;
-
-		// if index is in the second half then use last,
-		// and if it is in the first half the use first.
-		if (index > (size / 2 + 1)) {
-			iterator = last;
-
-			while (currentIndex != index) {
-				iterator = iterator.previous;
-				currentIndex++;
-			}
-		} else {
-			iterator = first;
-
-			while (currentIndex != index) {
-				iterator = iterator.next;
-				currentIndex++;
-			}
-		}
-
-		return iterator.value;
+		locate(index);
+		return (T) cursor.values[index - cursorStart];
 	}
 
 	/**
@@ -104,20 +109,22 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 
 		ListNode<T> iterator = first;
 		ListNode<T> nextElement;
-		for (int i = 0; i < size; i++) {
+		while (iterator != null) {
 			iterator.previous = null;
 			nextElement = iterator.next;
 			iterator.next = null;
 			iterator = nextElement;
 		}
 
-		first = last = null;
+		first = last = cursor = null;
+		cursorStart = 0;
 		size = 0;
 		modificationCount++;
 	}
 
 	/**
-	 * Method that inserts Object value at @param index.
+	 * Method that inserts Object value at @param index. If the node that holds
+	 * that position is full, it is split in two halves first.
 	 *
 	 * @param value we want to insert into collection
 	 * @param index at which we want to insert index into collection.
@@ -132,28 +139,22 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 			throw new IndexOutOfBoundsException();
 		}
 
-		ListNode<T> newValue = new ListNode<>(value);
+		locate(index);
+		ListNode<T> node = cursor;
+		int offset = index - cursorStart;
 
-		if (index == 0) {
-			newValue.next = first;
-			first = newValue;
-		} else if (index == size - 1) {
-			newValue.previous = last;
-			last = newValue;
-		} else {
-			ListNode<T> iterator = first;
-			int currentIndex = 0;
-
-			while (currentIndex != index) {
-				iterator = iterator.next;
-				currentIndex++;
+		if (node.count == CHUNK_SIZE) {
+			ListNode<T> second = split(node);
+			if (offset > node.count) {
+				offset -= node.count;
+				cursorStart += node.count;
+				node = cursor = second;
 			}
-
-			newValue.next = iterator;
-			newValue.previous = iterator.previous;
-			iterator.previous.next = newValue;
-			iterator.previous = newValue;
 		}
+
+		System.arraycopy(node.values, offset, node.values, offset + 1, node.count - offset);
+		node.values[offset] = value;
+		node.count++;
 		size++;
 		modificationCount++;
 	}
@@ -161,7 +162,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 	/**
 	 * Method that returns index of the passed value. If there is no passed value
 	 * inside collection, method return -1
-	 * 
+	 *
 	 * @param value - of the element we are trying to find inside collection
 	 * @return index of the value inside collection
 	 */
@@ -171,22 +172,22 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 			return -1;
 		}
 
-		ListNode<T> iterator = first;
-
-		for (int i = 0; i < size; i++) {
-			if (iterator.value != null) {
-				if (iterator.value.equals(value)) {
-					return i;
+		int start = 0;
+		for (ListNode<T> node = first; node != null; node = node.next) {
+			for (int i = 0; i < node.count; i++) {
+				if (value.equals(node.values[i])) {
+					return start + i;
 				}
 			}
-			iterator = iterator.next;
+			start += node.count;
 		}
 		return -1;
 	}
 
 	/**
-	 * Method that removes a value that is
-	 * 
+	 * Method that removes a value that is at the given index. If the node becomes
+	 * small enough, the next node is merged into it.
+	 *
 	 * @param index
 	 */
 	@Override
@@ -195,26 +196,24 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 			throw new IndexOutOfBoundsException();
 		}
 
-		if (index == 0) {
-			first = first.next;
-
-			if (size == 1) {
-				last = null;
-			}
-		} else if (index == size - 1) {
-			last = last.previous;
-			last.next = null;
-		} else {
-			ListNode<T> iterator = first;
-			int currentIndex = 0;
-			while (currentIndex != index) {
-				iterator = iterator.next;
-				currentIndex++;
-			}
-
-			iterator.previous.next = iterator.next;
-			iterator.next.previous = iterator.previous;
+		locate(index);
+		ListNode<T> node = cursor;
+		int offset = index - cursorStart;
+
+		System.arraycopy(node.values, offset + 1, node.values, offset, node.count - offset - 1);
+		node.values[--node.count] = null;
+
+		if (node.count == 0) {
+			ListNode<T> next = node.next;
+			unlink(node);
+			cursor = next;
+		} else if (node.next != null && node.count + node.next.count <= CHUNK_SIZE / 2) {
+			ListNode<T> next = node.next;
+			System.arraycopy(next.values, 0, node.values, node.count, next.count);
+			node.count += next.count;
+			unlink(next);
 		}
+
 		size--;
 		modificationCount++;
 	}
@@ -259,13 +258,11 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 			return null;
 		}
 
-		@SuppressWarnings("unchecked")
-		T[] elements = (T[]) new Object[size];
-		ListNode<T> iterator = first;
-
-		for (int i = 0; i < size; i++) {
-			elements[i] = iterator.value;
-			iterator = iterator.next;
+		Object[] elements = new Object[size];
+		int start = 0;
+		for (ListNode<T> node = first; node != null; node = node.next) {
+			System.arraycopy(node.values, 0, elements, start, node.count);
+			start += node.count;
 		}
 		return elements;
 	}
@@ -275,31 +272,138 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 		return new LinkedElementsGetter<T>(this);
 	}
 
+	/**
+	 * Method that creates {@link SplittableElementsGetter} that splits the list by
+	 * walking its nodes, without copying the elements.
+	 */
+	@Override
+	public SplittableElementsGetter<T> createSplittableElementsGetter() {
+		return new LinkedElementsGetter<T>(this);
+	}
+
+	/**
+	 * Method that moves the cursor to the node that holds the given index. It
+	 * walks from the cursor, or from the end of the list that is closer to the
+	 * index, one node at a time.
+	 *
+	 * @param index - valid index in the collection
+	 */
+	private void locate(int index) {
+		if (cursor == null) {
+			if (index < size / 2) {
+				cursor = first;
+				cursorStart = 0;
+			} else {
+				cursor = last;
+				cursorStart = size - last.count;
+			}
+		} else if (index < cursorStart && index < cursorStart - index) {
+			cursor = first;
+			cursorStart = 0;
+		} else if (index >= cursorStart + cursor.count && size - index < index - cursorStart) {
+			cursor = last;
+			cursorStart = size - last.count;
+		}
+
+		while (index < cursorStart) {
+			cursor = cursor.previous;
+			cursorStart -= cursor.count;
+		}
+		while (index >= cursorStart + cursor.count) {
+			cursorStart += cursor.count;
+			cursor = cursor.next;
+		}
+	}
+
+	/**
+	 * Method that moves the second half of a full node into a new node after it.
+	 *
+	 * @param node - full node we are splitting
+	 * @return - new node
+	 */
+	private ListNode<T> split(ListNode<T> node) {
+		ListNode<T> second = new ListNode<>();
+		int half = node.count / 2;
+
+		System.arraycopy(node.values, half, second.values, 0, node.count - half);
+		Arrays.fill(node.values, half, node.count, null);
+		second.count = node.count - half;
+		node.count = half;
+
+		second.previous = node;
+		second.next = node.next;
+		if (node.next == null) {
+			last = second;
+		} else {
+			node.next.previous = second;
+		}
+		node.next = second;
+		return second;
+	}
+
+	/**
+	 * Method that removes the node from the list.
+	 *
+	 * @param node - node we are removing
+	 */
+	private void unlink(ListNode<T> node) {
+		if (node.previous == null) {
+			first = node.next;
+		} else {
+			node.previous.next = node.next;
+		}
+
+		if (node.next == null) {
+			last = node.previous;
+		} else {
+			node.next.previous = node.previous;
+		}
+
+		node.next = node.previous = null;
+	}
+
 	/**
 	 * Concrete class that implements ElementsGetter, but specifically for
 	 * LinkedListIndexedCollection
-	 * 
+	 *
 	 * @author ilovrencic
 	 *
 	 */
-	private static class LinkedElementsGetter<T> implements ElementsGetter<T> {
+	private static class LinkedElementsGetter<T> implements SplittableElementsGetter<T> {
 
 		private ListNode<T> head;
+		private int offset;
+		private int remaining;
 		private LinkedListIndexedCollection<T> collection;
 		private long savedModificationCount;
 
 		/**
 		 * Default constructor for LinkedElementsGetter. We are passing collection
 		 * reference, but we are only using it to get new data for modificationCount.
-		 * 
+		 *
 		 * @param collection reference
 		 */
 		public LinkedElementsGetter(LinkedListIndexedCollection<T> collection) {
 			this.head = collection.first;
+			this.remaining = collection.size;
 			this.collection = collection;
 			this.savedModificationCount = collection.modificationCount;
 		}
 
+		/**
+		 * Constructor for a getter of the first part of a split getter.
+		 *
+		 * @param getter    - getter we are splitting
+		 * @param remaining - number of elements in the first part
+		 */
+		private LinkedElementsGetter(LinkedElementsGetter<T> getter, int remaining) {
+			this.head = getter.head;
+			this.offset = getter.offset;
+			this.remaining = remaining;
+			this.collection = getter.collection;
+			this.savedModificationCount = getter.savedModificationCount;
+		}
+
 		/**
 		 * Checks whether there is next element in the list. Throws
 		 * {@link ConcurrentModificationException} if the collection has been in any way
@@ -310,7 +414,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 			if (savedModificationCount != collection.modificationCount) {
 				throw new ConcurrentModificationException();
 			}
-			return head != null;
+			return remaining > 0;
 		}
 
 		/**
@@ -318,35 +422,72 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 		 * {@link NoSuchElementException}
 		 */
 		@Override
+		@SuppressWarnings("unchecked")
 		public T getNextElement() throws NoSuchElementException {
 			if (!hasNextElement()) {
 				throw new NoSuchElementException();
 			}
 
-			T element = head.value;
-			head = head.next;
+			T element = (T) head.values[offset++];
+			remaining--;
+			if (offset == head.count) {
+				head = head.next;
+				offset = 0;
+			}
 			return element;
 		}
+
+		/**
+		 * Splits off the first half of the remaining elements. This getter skips
+		 * over them node by node.
+		 */
+		@Override
+		public SplittableElementsGetter<T> trySplit() {
+			if (savedModificationCount != collection.modificationCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			int half = remaining / 2;
+			if (half == 0) {
+				return null;
+			}
+
+			LinkedElementsGetter<T> prefix = new LinkedElementsGetter<T>(this, half);
+			int skip = half;
+			while (offset + skip >= head.count) {
+				skip -= head.count - offset;
+				head = head.next;
+				offset = 0;
+			}
+			offset += skip;
+			remaining -= half;
+			return prefix;
+		}
+
+		@Override
+		public int remainingElements() {
+			return remaining;
+		}
 	}
 
 	/**
-	 * Class that represents a node inside Linked List
-	 * 
+	 * Class that represents a node inside Linked List. It holds a chunk of
+	 * consecutive elements.
+	 *
 	 * @author ilovrencic
 	 *
 	 */
 	private static class ListNode<T> {
 		ListNode<T> next;
 		ListNode<T> previous;
-		T value;
+		Object[] values;
+		int count;
 
 		/**
 		 * Default constructor for ListNode class
-		 * 
-		 * @param value
 		 */
-		public ListNode(T value) {
-			this.value = value;
+		public ListNode() {
+			this.values = new Object[CHUNK_SIZE];
 			this.next = this.previous = null;
 		}
 	}
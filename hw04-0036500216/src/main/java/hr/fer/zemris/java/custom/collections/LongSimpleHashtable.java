@@ -0,0 +1,215 @@
+package hr.fer.zemris.java.custom.collections;
+
+/**
+ * Class that represents a hashtable with primitive long keys. Unlike
+ * {@link SimpleHashtable}, it doesn't box keys and doesn't allocate an entry per
+ * mapping: keys and values are kept in parallel arrays and collisions are
+ * resolved with linear probing. Probing, deletion and iteration are shared
+ * with other primitive tables through {@link PrimitiveHashtable}.
+ * <p>
+ * Iterator returns the same {@link TableEntry} on every call of next, so the
+ * entry shouldn't be kept after the iterator moves on.
+ *
+ * @author ilovrencic
+ *
+ * @param <V> - type of values
+ */
+public class LongSimpleHashtable<V> extends PrimitiveHashtable<long[], V, LongSimpleHashtable<V>.TableEntry> {
+
+	/**
+	 * Default constructor that initializes the table with 16 available slots.
+	 */
+	public LongSimpleHashtable() {
+		super();
+	}
+
+	/**
+	 * Default constructor that initializes the table with first equal or bigger
+	 * power of 2 than the passed @param capacity.
+	 *
+	 * @param capacity - number of slots we want
+	 */
+	public LongSimpleHashtable(int capacity) {
+		super(capacity);
+	}
+
+	/**
+	 * Method that puts a new entry into {@link LongSimpleHashtable}. If there is an
+	 * entry with the same key, than the value is just replaced with the new passed
+	 * value.
+	 *
+	 * @param key
+	 * @param value
+	 */
+	public void put(long key, V value) {
+		int mask = used.length - 1;
+		int slot = hash(key) & mask;
+
+		while (used[slot]) {
+			if (keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		occupy(slot, value);
+	}
+
+	/**
+	 * Method that returns value that corresponds with the passed key. If there is
+	 * no key, the method return null.
+	 *
+	 * @param key
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int slot = find(key);
+		return slot < 0 ? null : (V) values[slot];
+	}
+
+	/**
+	 * Method that checks whether the {@link LongSimpleHashtable} contains passed
+	 * key.
+	 *
+	 * @param key
+	 * @return true if there is such key, otherwise false
+	 */
+	public boolean containsKey(long key) {
+		return find(key) >= 0;
+	}
+
+	/**
+	 * Method that removes an entry with the passed key from the
+	 * {@link LongSimpleHashtable}.
+	 *
+	 * @param key - key of the entry we want to erase
+	 */
+	public void remove(long key) {
+		int slot = find(key);
+		if (slot >= 0) {
+			removeSlot(slot, null);
+		}
+	}
+
+	@Override
+	protected long[] newKeys(int length) {
+		return new long[length];
+	}
+
+	@Override
+	protected int hash(long[] keys, int index) {
+		return hash(keys[index]);
+	}
+
+	@Override
+	protected void copyKey(long[] source, int from, long[] destination, int to) {
+		destination[to] = source[from];
+	}
+
+	@Override
+	protected void removeKey(long[] keys, int index) {
+		remove(keys[index]);
+	}
+
+	@Override
+	protected TableEntry newEntry() {
+		return new TableEntry();
+	}
+
+	@Override
+	protected void load(TableEntry entry, long[] keys, int index, V value, int slot) {
+		entry.key = keys[index];
+		entry.value = value;
+		entry.slot = slot;
+	}
+
+	/**
+	 * Helper method that returns the slot of the passed key, or -1 if there is no
+	 * such key.
+	 *
+	 * @param key
+	 * @return
+	 */
+	private int find(long key) {
+		int mask = used.length - 1;
+		for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Method that mixes the bits of the key, so that keys which differ only in
+	 * higher bits don't end up in the same run of slots.
+	 *
+	 * @param key - key we are hashing
+	 * @return - hash of the key
+	 */
+	private static int hash(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Class that represents an entry returned by the iterator of
+	 * {@link LongSimpleHashtable}. Setting its value writes through to the table while
+	 * the key is still in it.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	public class TableEntry {
+
+		/**
+		 * Represents the key in the entry
+		 */
+		private long key;
+
+		/**
+		 * Represents the value in the entry
+		 */
+		private V value;
+
+		/**
+		 * Slot of the entry, or -1 if it was handed to the iterator on removal
+		 */
+		private int slot;
+
+		/**
+		 * Empty constructor
+		 */
+		private TableEntry() {
+		}
+
+		/* ------- GETTERS --------- */
+
+		public long getKey() {
+			return key;
+		}
+
+		public V getValue() {
+			return value;
+		}
+
+		/* -------- SETTERS ---------- */
+
+		public void setValue(V value) {
+			this.value = value;
+			if (slot >= 0 && used[slot] && keys[slot] == key) {
+				values[slot] = value;
+			} else if (containsKey(key)) {
+				put(key, value);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+}
@@ -0,0 +1,486 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Class that keeps the common part of hashtables with primitive keys. Keys and
+ * values are kept in parallel arrays and collisions are resolved with linear
+ * probing. Removed entries don't leave tombstones, entries after them are
+ * shifted back instead.
+ * <p>
+ * Array of keys is kept as a generic array type, so this class handles
+ * probing, deletion, resizing and iteration, while subclasses only compare,
+ * hash and copy their keys. Lookups by key are done in subclasses, so keys are
+ * never boxed.
+ *
+ * @author ilovrencic
+ *
+ * @param <A> - type of the array of keys
+ * @param <V> - type of values
+ * @param <E> - type of entries returned by the iterator
+ */
+abstract class PrimitiveHashtable<A, V, E> implements Iterable<E> {
+
+	/**
+	 * Represent the number of elements in the table
+	 */
+	protected int size;
+
+	/**
+	 * Variable that counts how many times has instance been structurally modified.
+	 */
+	protected int modificationCount = 0;
+
+	/**
+	 * Keys of the entries
+	 */
+	protected A keys;
+
+	/**
+	 * Values of the entries
+	 */
+	protected Object[] values;
+
+	/**
+	 * Flags that tell which slots are used
+	 */
+	protected boolean[] used;
+
+	/**
+	 * Number of elements after which the table is doubled
+	 */
+	private int threshold;
+
+	/**
+	 * Size of the default table
+	 */
+	private static final int DEFAULT_TABLE = 16;
+
+	/**
+	 * Largest size of the table, table isn't doubled after it reaches this size
+	 */
+	private static final int MAXIMUM_TABLE = 1 << 30;
+
+	/**
+	 * Share of the table that can be filled before the table is doubled
+	 */
+	private static final double LOAD_FACTOR = 0.75;
+
+	/**
+	 * Default constructor that initializes the table with 16 available slots.
+	 */
+	protected PrimitiveHashtable() {
+		allocate(DEFAULT_TABLE);
+	}
+
+	/**
+	 * Default constructor that initializes the table with first equal or bigger
+	 * power of 2 than the passed @param capacity.
+	 *
+	 * @param capacity - number of slots we want
+	 */
+	protected PrimitiveHashtable(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity can't be lower than one!");
+		}
+
+		allocate(powerOfTwo(capacity));
+	}
+
+	/**
+	 * Method that returns number of elements inside the table
+	 *
+	 * @return number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method that checks whether the table contains passed value.
+	 *
+	 * @param value
+	 * @return true if there is such value, otherwise false
+	 */
+	public boolean containsValue(Object value) {
+		for (int slot = 0; slot < used.length; slot++) {
+			if (used[slot] && Objects.equals(values[slot], value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Method that checks whether the table is empty or not.
+	 *
+	 * @return true if there is no elements, otherwise false.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public String toString() {
+		StringBuilder output = new StringBuilder("[");
+		E entry = newEntry();
+		for (int slot = 0; slot < used.length; slot++) {
+			if (used[slot]) {
+				load(entry, keys, slot, (V) values[slot], slot);
+				output.append(' ').append(entry).append(' ');
+			}
+		}
+		return output.append(']').toString();
+	}
+
+	/**
+	 * Returns number of slots in the table.
+	 *
+	 * @return - number of slots
+	 */
+	public int capacity() {
+		return used.length;
+	}
+
+	/**
+	 * Method that erases all elements from the table
+	 */
+	public void clear() {
+		Arrays.fill(used, false);
+		Arrays.fill(values, null);
+		size = 0;
+		modificationCount++;
+	}
+
+	/**
+	 * Method that creates {@link Iterator} for the table.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new IteratorImpl();
+	}
+
+	/**
+	 * Method that creates an empty array of keys.
+	 *
+	 * @param length - length of the array
+	 * @return array of keys
+	 */
+	protected abstract A newKeys(int length);
+
+	/**
+	 * Method that returns the hash of the key on the given index.
+	 *
+	 * @param keys  - array of keys
+	 * @param index - index of the key
+	 * @return hash of the key
+	 */
+	protected abstract int hash(A keys, int index);
+
+	/**
+	 * Method that copies one key between arrays of keys.
+	 *
+	 * @param source      - array we are copying from
+	 * @param from        - index of the key in the source
+	 * @param destination - array we are copying to
+	 * @param to          - index of the key in the destination
+	 */
+	protected abstract void copyKey(A source, int from, A destination, int to);
+
+	/**
+	 * Method that removes the entry with the key on the given index.
+	 *
+	 * @param keys  - array of keys
+	 * @param index - index of the key
+	 */
+	protected abstract void removeKey(A keys, int index);
+
+	/**
+	 * Method that creates an entry the iterator will reuse.
+	 *
+	 * @return new entry
+	 */
+	protected abstract E newEntry();
+
+	/**
+	 * Method that fills the entry with the key on the given index and its value.
+	 *
+	 * @param entry - entry we are filling
+	 * @param keys  - array of keys
+	 * @param index - index of the key
+	 * @param value - value of the entry
+	 * @param slot  - slot of the entry, or -1 if it isn't in its slot anymore
+	 */
+	protected abstract void load(E entry, A keys, int index, V value, int slot);
+
+	/**
+	 * Method that puts a new entry into the empty slot whose key was already
+	 * written by the subclass.
+	 *
+	 * @param slot  - slot of the entry
+	 * @param value - value of the entry
+	 */
+	protected void occupy(int slot, V value) {
+		used[slot] = true;
+		values[slot] = value;
+		size++;
+		modificationCount++;
+		if (size > threshold) {
+			resize();
+		}
+	}
+
+	/**
+	 * Method that removes the entry in the passed slot and shifts back entries
+	 * after it, so that no entry ends up behind an empty slot on its probe path.
+	 * When an entry wraps around the end of the table, from a slot the iterator
+	 * hasn't visited into a slot it already visited, it is handed to the iterator.
+	 *
+	 * @param slot     - slot we are emptying
+	 * @param iterator - iterator that removes the entry, or null
+	 */
+	protected void removeSlot(int slot, IteratorImpl iterator) {
+		int mask = used.length - 1;
+		int free = slot;
+		int next = (free + 1) & mask;
+
+		while (used[next]) {
+			int ideal = hash(keys, next) & mask;
+			if (((next - ideal) & mask) >= ((next - free) & mask)) {
+				if (iterator != null && next < free) {
+					iterator.wrapped(next);
+				}
+				copyKey(keys, next, keys, free);
+				values[free] = values[next];
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+
+		used[free] = false;
+		values[free] = null;
+		size--;
+		modificationCount++;
+	}
+
+	/**
+	 * Method that doubles the table and puts every entry into its slot in the new
+	 * table.
+	 */
+	private void resize() {
+		if (used.length >= MAXIMUM_TABLE) {
+			threshold = Integer.MAX_VALUE;
+			return;
+		}
+
+		A oldKeys = keys;
+		Object[] oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(oldUsed.length * 2);
+
+		int mask = used.length - 1;
+		for (int i = 0; i < oldUsed.length; i++) {
+			if (oldUsed[i]) {
+				int slot = hash(oldKeys, i) & mask;
+				while (used[slot]) {
+					slot = (slot + 1) & mask;
+				}
+				used[slot] = true;
+				copyKey(oldKeys, i, keys, slot);
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Method that allocates empty arrays of the given length.
+	 *
+	 * @param length - length of the table
+	 */
+	private void allocate(int length) {
+		keys = newKeys(length);
+		values = new Object[length];
+		used = new boolean[length];
+		threshold = length >= MAXIMUM_TABLE ? Integer.MAX_VALUE : (int) (length * LOAD_FACTOR);
+	}
+
+	/**
+	 * Function that returns first equal or bigger power of 2 value than the passed
+	 * {@link Integer}.
+	 *
+	 * @param capacity - capacity of the table we want
+	 * @return - capacity thats first equal or bigger power of 2 than the passed
+	 *         parameter
+	 */
+	private static int powerOfTwo(int capacity) {
+		int power = 1;
+		while (capacity > power && power < MAXIMUM_TABLE) {
+			power *= 2;
+		}
+		return power;
+	}
+
+	/**
+	 * Implementation of the {@link Iterator} interface. It goes through the table
+	 * from the last slot to the first one, so that entries shifted back on removal
+	 * stay on the side of the table that wasn't visited, except those that wrap
+	 * around the end of the table. Those are remembered and returned at the end.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	protected class IteratorImpl implements Iterator<E> {
+
+		/**
+		 * Cursor that moves through the table from the last slot
+		 */
+		private int slotCursor = used.length;
+
+		/**
+		 * Variable that counts number of elements we have visited
+		 */
+		private int numberOfElements;
+
+		/**
+		 * Variable that shows how many times it is expected for the instance to be
+		 * structurally modified.
+		 */
+		private int expectedModificationCount = modificationCount;
+
+		/**
+		 * Entry that is returned on every call of next
+		 */
+		private E entry = newEntry();
+
+		/**
+		 * Slot of the current entry, or -1 if it is a wrapped entry
+		 */
+		private int slot;
+
+		/**
+		 * Flag that tells whether the entry can be removed
+		 */
+		private boolean canRemove;
+
+		/**
+		 * Keys of entries that wrapped around the table on removal
+		 */
+		private A wrappedKeys;
+
+		/**
+		 * Values of entries that wrapped around the table on removal
+		 */
+		private Object[] wrappedValues;
+
+		/**
+		 * Number of wrapped entries that weren't returned yet
+		 */
+		private int wrappedCount;
+
+		/**
+		 * Empty constructor
+		 */
+		IteratorImpl() {
+		}
+
+		/**
+		 * Method that checks whether we have next element.
+		 *
+		 * @return - method returns true if there is element, otherwise false
+		 */
+		@Override
+		public boolean hasNext() {
+			checkForModification();
+			return numberOfElements < size;
+		}
+
+		/**
+		 * Method that returns the next entry in the table, or a wrapped entry once
+		 * the whole table is visited.
+		 *
+		 * @return - next element in the table
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (!hasNext())
+				throw new NoSuchElementException("No more elements in table!");
+
+			numberOfElements++;
+			canRemove = true;
+
+			while (--slotCursor >= 0) {
+				if (used[slotCursor]) {
+					slot = slotCursor;
+					load(entry, keys, slot, (V) values[slot], slot);
+					return entry;
+				}
+			}
+
+			if (wrappedCount == 0) {
+				throw new NoSuchElementException();
+			}
+
+			wrappedCount--;
+			slot = -1;
+			load(entry, wrappedKeys, wrappedCount, (V) wrappedValues[wrappedCount], slot);
+			return entry;
+		}
+
+		/**
+		 * Method that removes only the current element from the table. This method
+		 * does it in a safe way, so that the {@link Iterator} doesn't throw
+		 * {@link ConcurrentModificationException}.
+		 */
+		@Override
+		public void remove() {
+			if (!canRemove) {
+				throw new IllegalStateException("You can't remove more than once!");
+			}
+
+			checkForModification();
+
+			if (slot >= 0) {
+				removeSlot(slot, this);
+			} else {
+				removeKey(wrappedKeys, wrappedCount);
+			}
+
+			canRemove = false;
+			numberOfElements--;
+			expectedModificationCount = modificationCount;
+		}
+
+		/**
+		 * Method that remembers an entry that wrapped around the table on removal.
+		 *
+		 * @param from - slot of the entry before it is shifted back
+		 */
+		private void wrapped(int from) {
+			if (wrappedKeys == null) {
+				wrappedKeys = newKeys(2);
+				wrappedValues = new Object[2];
+			} else if (wrappedCount == wrappedValues.length) {
+				A grownKeys = newKeys(wrappedCount * 2);
+				System.arraycopy(wrappedKeys, 0, grownKeys, 0, wrappedCount);
+				wrappedKeys = grownKeys;
+				wrappedValues = Arrays.copyOf(wrappedValues, wrappedCount * 2);
+			}
+
+			copyKey(keys, from, wrappedKeys, wrappedCount);
+			wrappedValues[wrappedCount] = values[from];
+			wrappedCount++;
+		}
+
+		private void checkForModification() {
+			if (expectedModificationCount != modificationCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
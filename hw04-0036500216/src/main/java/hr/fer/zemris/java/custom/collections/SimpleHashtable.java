@@ -1,11 +1,17 @@
 package hr.fer.zemris.java.custom.collections;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
- * Class that represents a simple implementation of hashtable.
+ * Class that represents a simple implementation of hashtable. Table length is
+ * always a power of two, so the slot of a key is its spread hash masked with
+ * the table length. When the number of elements exceeds the load factor share
+ * of the table length (75 percent by default), the table is doubled and every
+ * chained entry is moved to its slot in the new table.
  * 
  * @author ilovrencic
  *
@@ -27,18 +33,36 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 */
 	private TableEntry<K, V>[] table;
 
+	/**
+	 * Number of elements after which the table is doubled
+	 */
+	private int threshold;
+
 	/**
 	 * Size of the default table
 	 */
 	private static final int DEFAULT_TABLE = 16;
 
+	/**
+	 * Largest size of the table, table isn't doubled after it reaches this size
+	 */
+	private static final int MAXIMUM_TABLE = 1 << 30;
+
+	/**
+	 * Default share of the table that can be filled before the table is doubled
+	 */
+	private static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+	/**
+	 * Share of the table that can be filled before the table is doubled
+	 */
+	private final double loadFactor;
+
 	/**
 	 * Default constructor that initializes the table with 16 available slots.
 	 */
-	@SuppressWarnings("unchecked")
 	public SimpleHashtable() {
-		table = new TableEntry[DEFAULT_TABLE];
-		size = 0;
+		this(DEFAULT_TABLE, DEFAULT_LOAD_FACTOR);
 	}
 
 	/**
@@ -47,14 +71,31 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * 
 	 * @param capacity - number of slots we want
 	 */
-	@SuppressWarnings("unchecked")
 	public SimpleHashtable(int capacity) {
+		this(capacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * Constructor that initializes the table with first equal or bigger power of 2
+	 * than the passed @param capacity. The table is doubled when the number of
+	 * elements exceeds the passed share of the table.
+	 * 
+	 * @param capacity   - number of slots we want
+	 * @param loadFactor - share of the table that can be filled
+	 */
+	@SuppressWarnings("unchecked")
+	public SimpleHashtable(int capacity, double loadFactor) {
 		if (capacity < 1) {
 			throw new IllegalArgumentException("Capacity can't be lower than one!");
 		}
+		if (!(loadFactor > 0)) {
+			throw new IllegalArgumentException("Load factor must be positive!");
+		}
 
+		this.loadFactor = loadFactor;
 		capacity = powerOfTwo(capacity);
 		table = new TableEntry[capacity];
+		threshold = thresholdOf(capacity);
 		size = 0;
 	}
 
@@ -80,36 +121,33 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 			throw new NullPointerException("Key can't be null value!");
 		}
 
-		ensureCapacity();
-
-		TableEntry<K, V> entry = new TableEntry<>(key, value);
-		int slot = Math.abs(key.hashCode()) % table.length;
+		int hash = spread(key);
+		int slot = hash & (table.length - 1);
 
-		if (table[slot] == null) { // checking whether the slot is empty
-			table[slot] = entry;
-			size++;
-			modificationCount++;
-			return;
-		}
+		TableEntry<K, V> entry = table[slot];
+		if (entry == null) { // checking whether the slot is empty
+			table[slot] = new TableEntry<>(key, value, hash);
+		} else {
+			while (true) { // the slot wasn't empty so we have to walk through the list
+				if (entry.hash == hash && entry.key.equals(key)) { // there was an element with the same key so we
+																	// are not adding, only replacing value.
+					entry.setValue(value);
+					return;
+				}
 
-		TableEntry<K, V> head = table[slot];
-		while (head.next != null) { // the slot wasn't empty so we have to make a linked list
-			if (head.key.equals(key)) {
-				head.setValue(value);
-				return;
+				if (entry.next == null) {
+					break;
+				}
+				entry = entry.next;
 			}
-			head = head.next;
-		}
-
-		if (head.key.equals(key)) { // there was an element with the same key so we are not adding, only replacing
-									// value.
-			head.setValue(value);
-			return;
+			entry.next = new TableEntry<>(key, value, hash);
 		}
 
-		head.next = entry;
 		size++;
 		modificationCount++;
+		if (size > threshold) {
+			resize();
+		}
 	}
 
 	/**
@@ -153,20 +191,11 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @return true if there is such value, otherwise false
 	 */
 	public boolean containsValue(Object value) {
-		for (TableEntry<K, V> entry : table) {
-			if (entry == null) {
-				continue;
-			}
-
-			if (entry.getValue().equals(value)) {
-				return true;
-			}
-
-			while (entry.next != null) {
-				if (entry.getValue().equals(value)) {
+		for (TableEntry<K, V> head : table) {
+			for (TableEntry<K, V> entry = head; entry != null; entry = entry.next) {
+				if (Objects.equals(entry.getValue(), value)) {
 					return true;
 				}
-				entry = entry.next;
 			}
 		}
 		return false;
@@ -182,14 +211,15 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 			throw new NullPointerException("Key can't be null!");
 		}
 
-		int slot = Math.abs(key.hashCode()) % table.length;
+		int hash = spread(key);
+		int slot = hash & (table.length - 1);
 
 		if (table[slot] == null) {
 			return;
 		}
 
 		TableEntry<K, V> entry = table[slot];
-		if (entry.key.equals(key)) {
+		if (entry.hash == hash && entry.key.equals(key)) {
 			table[slot] = entry.next;
 			size--;
 			modificationCount++;
@@ -197,7 +227,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		}
 
 		while (entry.next != null) {
-			if (entry.next.key.equals(key)) {
+			if (entry.next.hash == hash && entry.next.key.equals(key)) {
 				break;
 			}
 			entry = entry.next;
@@ -248,9 +278,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * Method that erases all elements from {@link SimpleHashtable}
 	 */
 	public void clear() {
-		for (int i = 0; i < table.length; i++) {
-			table[i] = null;
-		}
+		Arrays.fill(table, null);
 		size = 0;
 		modificationCount++;
 	}
@@ -263,6 +291,27 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		return new IteratorImpl();
 	}
 
+	/**
+	 * Method that creates {@link SplittableElementsGetter} for
+	 * {@link SimpleHashtable}. Getter is split by ranges of table slots.
+	 * 
+	 * @return splittable getter of the entries
+	 */
+	public SplittableElementsGetter<TableEntry<K, V>> createSplittableElementsGetter() {
+		return new TableElementsGetter(0, table.length);
+	}
+
+	/**
+	 * Method that calls processor.process() for each entry, in parallel on the
+	 * common fork-join pool. Entries aren't processed in order, so the processor
+	 * must be thread safe.
+	 * 
+	 * @param processor - processor of the entries
+	 */
+	public void parallelForEach(Processor<TableEntry<K, V>> processor) {
+		ForkJoinProcessing.forEach(createSplittableElementsGetter(), processor);
+	}
+
 	/**
 	 * Helper method that helps to find {@link TableEntry} that corresponds with
 	 * passed key.
@@ -271,60 +320,90 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 * @return
 	 */
 	private TableEntry<K, V> find(Object key) {
-		int slot = Math.abs(key.hashCode()) % table.length;
+		int hash = spread(key);
 
-		if (table[slot] == null) {
-			return null;
-		}
-
-		TableEntry<K, V> entry = table[slot];
-		while (entry.next != null) {
-			if (entry.key.equals(key))
+		for (TableEntry<K, V> entry = table[hash & (table.length - 1)]; entry != null; entry = entry.next) {
+			if (entry.hash == hash && entry.key.equals(key)) {
 				return entry;
-			entry = entry.next;
-		}
-
-		if (entry.key.equals(key)) {
-			return entry;
+			}
 		}
 
 		return null;
 	}
 
 	/**
-	 * Method that checks whether the table is occupied more than 75 percent. If
-	 * that's the case then this method expands the table length by 2.
+	 * Method that doubles the table. Because the table length is a power of two,
+	 * every entry from slot i ends up either in slot i or in slot i + old length,
+	 * so each list is split in two lists that keep the order of entries.
 	 */
 	@SuppressWarnings("unchecked")
-	private void ensureCapacity() {
-		if (percentageOfSlots() < 0.75) {
+	private void resize() {
+		if (table.length >= MAXIMUM_TABLE) {
+			threshold = Integer.MAX_VALUE;
 			return;
 		}
 
-		TableEntry<K, V>[] expendedTable = new TableEntry[table.length * 2];
+		int oldLength = table.length;
+		TableEntry<K, V>[] expandedTable = new TableEntry[oldLength * 2];
+
+		for (int slot = 0; slot < oldLength; slot++) {
+			TableEntry<K, V> lowHead = null, lowTail = null;
+			TableEntry<K, V> highHead = null, highTail = null;
 
-		for (TableEntry<K, V> entry : table) {
-			if (entry != null) {
-				int slot = Math.abs(entry.key.hashCode()) % expendedTable.length;
-				expendedTable[slot] = entry;
+			TableEntry<K, V> entry = table[slot];
+			while (entry != null) {
+				TableEntry<K, V> next = entry.next;
+				entry.next = null;
+
+				if ((entry.hash & oldLength) == 0) {
+					if (lowTail == null) {
+						lowHead = entry;
+					} else {
+						lowTail.next = entry;
+					}
+					lowTail = entry;
+				} else {
+					if (highTail == null) {
+						highHead = entry;
+					} else {
+						highTail.next = entry;
+					}
+					highTail = entry;
+				}
+
+				entry = next;
 			}
+
+			expandedTable[slot] = lowHead;
+			expandedTable[slot + oldLength] = highHead;
 		}
 
-		table = expendedTable;
+		table = expandedTable;
+		threshold = thresholdOf(expandedTable.length);
 	}
 
 	/**
-	 * Method that calculates the percentage of table occupation.
+	 * Method that returns the number of elements after which the table of the
+	 * given length is doubled.
 	 * 
-	 * @return - percentage of how much of the table is occupied.
+	 * @param length - length of the table
+	 * @return - number of elements
 	 */
-	private double percentageOfSlots() {
-		int number = 0;
-		for (TableEntry<K, V> entry : table) {
-			if (entry != null)
-				number++;
-		}
-		return (double) number / table.length;
+	private int thresholdOf(int length) {
+		return length >= MAXIMUM_TABLE ? Integer.MAX_VALUE : (int) Math.min(length * loadFactor, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Method that spreads higher bits of the hash code of the key to lower bits,
+	 * because only lower bits are used when the hash is masked with the table
+	 * length.
+	 * 
+	 * @param key - key we are hashing
+	 * @return - spread hash of the key
+	 */
+	static int spread(Object key) {
+		int hash = key.hashCode();
+		return hash ^ (hash >>> 16);
 	}
 
 	/**
@@ -337,7 +416,7 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 	 */
 	private int powerOfTwo(int capacity) {
 		int power = 1;
-		while (capacity > power) {
+		while (capacity > power && power < MAXIMUM_TABLE) {
 			power *= 2;
 		}
 		return power;
@@ -368,6 +447,12 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 */
 		private TableEntry<K, V> next;
 
+		/**
+		 * Spread hash of the key, so it isn't computed again on every lookup and
+		 * resize
+		 */
+		private int hash;
+
 		/**
 		 * Default constructor for {@link TableEntry}
 		 * 
@@ -375,8 +460,20 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		 * @param value
 		 */
 		public TableEntry(K key, V value) {
+			this(key, value, key == null ? 0 : spread(key));
+		}
+
+		/**
+		 * Constructor for {@link TableEntry} whose spread hash is already computed
+		 * 
+		 * @param key
+		 * @param value
+		 * @param hash  - spread hash of the key
+		 */
+		private TableEntry(K key, V value, int hash) {
 			this.key = key;
 			this.value = value;
+			this.hash = hash;
 		}
 
 		/* ------- GETTERS --------- */
@@ -427,6 +524,96 @@ public class SimpleHashtable<K, V> implements Iterable<SimpleHashtable.TableEntr
 		}
 	}
 
+	/**
+	 * Implementation of the {@link SplittableElementsGetter} interface that goes
+	 * through a range of table slots.
+	 * 
+	 * @author ilovrencic
+	 *
+	 */
+	private class TableElementsGetter implements SplittableElementsGetter<TableEntry<K, V>> {
+
+		/**
+		 * Table we are going through
+		 */
+		private TableEntry<K, V>[] slots = table;
+
+		/**
+		 * Slot of the next entry
+		 */
+		private int slot;
+
+		/**
+		 * Slot after the last slot in range
+		 */
+		private int endSlot;
+
+		/**
+		 * Next entry, or null if we have to look for it from the slot
+		 */
+		private TableEntry<K, V> head;
+
+		/**
+		 * Variable that shows how many times it is expected for the instance to be
+		 * structurally modified.
+		 */
+		private int expectedModificationCount = modificationCount;
+
+		/**
+		 * Default constructor
+		 * 
+		 * @param slot    - first slot in range
+		 * @param endSlot - slot after the last slot in range
+		 */
+		TableElementsGetter(int slot, int endSlot) {
+			this.slot = slot;
+			this.endSlot = endSlot;
+		}
+
+		@Override
+		public boolean hasNextElement() {
+			if (expectedModificationCount != modificationCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			while (head == null && slot < endSlot) {
+				head = slots[slot++];
+			}
+			return head != null;
+		}
+
+		@Override
+		public TableEntry<K, V> getNextElement() throws NoSuchElementException {
+			if (!hasNextElement()) {
+				throw new NoSuchElementException("No more elements in table!");
+			}
+
+			TableEntry<K, V> entry = head;
+			head = entry.next;
+			return entry;
+		}
+
+		@Override
+		public SplittableElementsGetter<TableEntry<K, V>> trySplit() {
+			int middle = (slot + endSlot) >>> 1;
+			if (head != null || middle == slot) {
+				return null;
+			}
+
+			TableElementsGetter prefix = new TableElementsGetter(slot, middle);
+			slot = middle;
+			return prefix;
+		}
+
+		/**
+		 * Estimates remaining entries from the share of the table in range.
+		 */
+		@Override
+		public int remainingElements() {
+			return (int) ((long) size * (endSlot - slot) / slots.length);
+		}
+	}
+
 	/**
 	 * Implementation of the {@link Iterator} interface.
 	 * 
@@ -0,0 +1,954 @@
+package hr.fer.zemris.java.custom.collections;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Class that represents a table whose entries are sorted by key. It is a B+
+ * tree: every node holds up to {@value #MAXIMUM_KEYS} keys in an array, so a
+ * lookup does a binary search over a few contiguous arrays instead of following
+ * one reference per key. All entries are stored in leaves, and leaves are
+ * linked in key order, so a range of k entries is found in O(log n + k).
+ *
+ * @author ilovrencic
+ *
+ */
+public class SimpleSortedTable<K, V> implements Iterable<SimpleSortedTable<K, V>.TableEntry> {
+
+	/**
+	 * Maximum number of keys in one node
+	 */
+	private static final int MAXIMUM_KEYS = 64;
+
+	/**
+	 * Minimum number of keys in a node that isn't the root
+	 */
+	private static final int MINIMUM_KEYS = MAXIMUM_KEYS / 2;
+
+	/**
+	 * Represent the number of elements in the table
+	 */
+	private int size;
+
+	/**
+	 * Variable that counts how many times has instance been structurally modified.
+	 */
+	private int modificationCount = 0;
+
+	/**
+	 * Root of the tree
+	 */
+	private Node root;
+
+	/**
+	 * Comparator of the keys, or null if keys are compared by natural ordering
+	 */
+	private Comparator<? super K> comparator;
+
+	/**
+	 * First key of the node that was split last, it is moved to the parent
+	 */
+	private Object promotedKey;
+
+	/**
+	 * Default constructor that creates an empty table whose keys are compared by
+	 * their natural ordering.
+	 */
+	public SimpleSortedTable() {
+		this.root = new LeafNode();
+	}
+
+	/**
+	 * Constructor that creates an empty table whose keys are compared by the
+	 * passed comparator.
+	 *
+	 * @param comparator - comparator of the keys
+	 */
+	public SimpleSortedTable(Comparator<? super K> comparator) {
+		this();
+		if (comparator == null) {
+			throw new NullPointerException("Comparator can't be null!");
+		}
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Method that returns number of elements inside {@link SimpleSortedTable}
+	 *
+	 * @return number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Method that checks whether the {@link SimpleSortedTable} is empty or not.
+	 *
+	 * @return true if there is no elements, otherwise false.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Method that puts a new entry into {@link SimpleSortedTable}. If there is an
+	 * entry with the same key, than the value is just replaced with the new passed
+	 * value.
+	 *
+	 * @param key
+	 * @param value
+	 */
+	public void put(K key, V value) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null value!");
+		}
+
+		Node sibling = insert(root, key, value);
+		if (sibling != null) {
+			InnerNode newRoot = new InnerNode();
+			newRoot.keys[0] = promotedKey;
+			newRoot.children[0] = root;
+			newRoot.children[1] = sibling;
+			newRoot.count = 1;
+			root = newRoot;
+		}
+		promotedKey = null;
+	}
+
+	/**
+	 * Method that returns value that corresponds with the passed key. If there is
+	 * no key, the method return null.
+	 *
+	 * @param key
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (key == null) {
+			throw new NullPointerException("Key shouldn't be null!");
+		}
+
+		LeafNode leaf = findLeaf(key);
+		int index = search(leaf, key);
+		return index >= 0 ? (V) leaf.values[index] : null;
+	}
+
+	/**
+	 * Method that checks whether the {@link SimpleSortedTable} contains passed key.
+	 *
+	 * @param key
+	 * @return true if there is such key, otherwise false
+	 */
+	public boolean containsKey(Object key) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null!");
+		}
+
+		return search(findLeaf(key), key) >= 0;
+	}
+
+	/**
+	 * Method that checks whether the {@link SimpleSortedTable} contains passed
+	 * value.
+	 *
+	 * @param value
+	 * @return true if there is such value, otherwise false
+	 */
+	public boolean containsValue(Object value) {
+		for (LeafNode leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+			for (int i = 0; i < leaf.count; i++) {
+				if (Objects.equals(leaf.values[i], value)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Method that removes a passed object from the {@link SimpleSortedTable}.
+	 *
+	 * @param key - key of the object we want to erase
+	 */
+	public void remove(Object key) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null!");
+		}
+
+		if (!delete(root, key)) {
+			return;
+		}
+
+		if (root instanceof InnerNode && root.count == 0) {
+			root = ((InnerNode) root).children[0];
+		}
+	}
+
+	/**
+	 * Method that erases all elements from {@link SimpleSortedTable}
+	 */
+	public void clear() {
+		root = new LeafNode();
+		size = 0;
+		modificationCount++;
+	}
+
+	/**
+	 * Method that returns the entry with the smallest key, or null if the table is
+	 * empty.
+	 *
+	 * @return first entry
+	 */
+	public TableEntry firstEntry() {
+		LeafNode leaf = firstLeaf();
+		return leaf.count == 0 ? null : new TableEntry(leaf, 0);
+	}
+
+	/**
+	 * Method that returns the entry with the largest key, or null if the table is
+	 * empty.
+	 *
+	 * @return last entry
+	 */
+	public TableEntry lastEntry() {
+		LeafNode leaf = lastLeaf(root);
+		return leaf.count == 0 ? null : new TableEntry(leaf, leaf.count - 1);
+	}
+
+	/**
+	 * Method that returns the entry with the largest key that is smaller than or
+	 * equal to the passed key, or null if there is no such entry.
+	 *
+	 * @param key
+	 * @return floor entry
+	 */
+	public TableEntry floorEntry(K key) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null!");
+		}
+
+		// subtree right before the path to the leaf, it holds the keys that are
+		// right before the keys in the leaf
+		Node before = null;
+		Node node = root;
+		while (node instanceof InnerNode) {
+			InnerNode inner = (InnerNode) node;
+			int child = childIndex(inner, key);
+			if (child > 0) {
+				before = inner.children[child - 1];
+			}
+			node = inner.children[child];
+		}
+
+		LeafNode leaf = (LeafNode) node;
+		int index = search(leaf, key);
+		if (index >= 0) {
+			return new TableEntry(leaf, index);
+		}
+
+		index = -index - 1;
+		if (index > 0) {
+			return new TableEntry(leaf, index - 1);
+		}
+		if (before == null) {
+			return null;
+		}
+
+		leaf = lastLeaf(before);
+		return new TableEntry(leaf, leaf.count - 1);
+	}
+
+	/**
+	 * Method that returns the entry with the smallest key that is larger than or
+	 * equal to the passed key, or null if there is no such entry.
+	 *
+	 * @param key
+	 * @return ceiling entry
+	 */
+	public TableEntry ceilingEntry(K key) {
+		if (key == null) {
+			throw new NullPointerException("Key can't be null!");
+		}
+
+		LeafNode leaf = findLeaf(key);
+		int index = search(leaf, key);
+		if (index < 0) {
+			index = -index - 1;
+		}
+
+		if (index < leaf.count) {
+			return new TableEntry(leaf, index);
+		}
+		return leaf.next == null ? null : new TableEntry(leaf.next, 0);
+	}
+
+	/**
+	 * Method that returns entries whose keys are larger than or equal to fromKey
+	 * and smaller than toKey, in key order.
+	 *
+	 * @param fromKey - smallest key in range
+	 * @param toKey   - key after the range
+	 * @return entries in range
+	 */
+	public Iterable<TableEntry> range(K fromKey, K toKey) {
+		if (fromKey == null || toKey == null) {
+			throw new NullPointerException("Keys can't be null!");
+		}
+
+		return () -> {
+			TableEntry first = ceilingEntry(fromKey);
+			if (first == null) {
+				return new IteratorImpl(null, 0, toKey);
+			}
+			return new IteratorImpl(first.leaf, first.index, toKey);
+		};
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder output = new StringBuilder("[");
+		for (LeafNode leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+			for (int i = 0; i < leaf.count; i++) {
+				output.append(' ').append(leaf.keys[i]).append('=').append(leaf.values[i]).append(' ');
+			}
+		}
+		return output.append(']').toString();
+	}
+
+	/**
+	 * Method that creates {@link Iterator} that returns entries in key order.
+	 */
+	@Override
+	public Iterator<TableEntry> iterator() {
+		return new IteratorImpl(firstLeaf(), 0, null);
+	}
+
+	/**
+	 * Method that inserts the entry into the subtree of the passed node. If the
+	 * node overflows, it is split and the new right node is returned, while its
+	 * first key is stored in {@link #promotedKey}.
+	 *
+	 * @param node  - root of the subtree
+	 * @param key
+	 * @param value
+	 * @return new right node, or null if the node wasn't split
+	 */
+	private Node insert(Node node, K key, V value) {
+		if (node instanceof LeafNode) {
+			LeafNode leaf = (LeafNode) node;
+			int index = search(leaf, key);
+			if (index >= 0) {
+				leaf.values[index] = value;
+				return null;
+			}
+
+			index = -index - 1;
+			System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+			System.arraycopy(leaf.values, index, leaf.values, index + 1, leaf.count - index);
+			leaf.keys[index] = key;
+			leaf.values[index] = value;
+			leaf.count++;
+			size++;
+			modificationCount++;
+
+			return leaf.count > MAXIMUM_KEYS ? splitLeaf(leaf) : null;
+		}
+
+		InnerNode inner = (InnerNode) node;
+		int child = childIndex(inner, key);
+		Node sibling = insert(inner.children[child], key, value);
+		if (sibling == null) {
+			return null;
+		}
+
+		System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.count - child);
+		System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.count - child);
+		inner.keys[child] = promotedKey;
+		inner.children[child + 1] = sibling;
+		inner.count++;
+
+		return inner.count > MAXIMUM_KEYS ? splitInner(inner) : null;
+	}
+
+	/**
+	 * Method that moves the second half of the leaf into a new leaf after it.
+	 *
+	 * @param leaf - leaf we are splitting
+	 * @return new leaf
+	 */
+	private LeafNode splitLeaf(LeafNode leaf) {
+		LeafNode right = new LeafNode();
+		int half = leaf.count / 2;
+		int moved = leaf.count - half;
+
+		System.arraycopy(leaf.keys, half, right.keys, 0, moved);
+		System.arraycopy(leaf.values, half, right.values, 0, moved);
+		clear(leaf.keys, half, leaf.count);
+		clear(leaf.values, half, leaf.count);
+		right.count = moved;
+		leaf.count = half;
+
+		right.next = leaf.next;
+		leaf.next = right;
+		promotedKey = right.keys[0];
+		return right;
+	}
+
+	/**
+	 * Method that moves the second half of the inner node into a new node after
+	 * it. The middle key is moved to the parent.
+	 *
+	 * @param inner - node we are splitting
+	 * @return new node
+	 */
+	private InnerNode splitInner(InnerNode inner) {
+		InnerNode right = new InnerNode();
+		int middle = inner.count / 2;
+		int moved = inner.count - middle - 1;
+
+		promotedKey = inner.keys[middle];
+		System.arraycopy(inner.keys, middle + 1, right.keys, 0, moved);
+		System.arraycopy(inner.children, middle + 1, right.children, 0, moved + 1);
+		clear(inner.keys, middle, inner.count);
+		clear(inner.children, middle + 1, inner.count + 1);
+		right.count = moved;
+		inner.count = middle;
+		return right;
+	}
+
+	/**
+	 * Method that deletes the key from the subtree of the passed node. Children
+	 * that have too few keys after the deletion borrow a key from a sibling or
+	 * are merged with it.
+	 *
+	 * @param node - root of the subtree
+	 * @param key
+	 * @return true if the key was deleted, otherwise false
+	 */
+	private boolean delete(Node node, Object key) {
+		if (node instanceof LeafNode) {
+			LeafNode leaf = (LeafNode) node;
+			int index = search(leaf, key);
+			if (index < 0) {
+				return false;
+			}
+
+			System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.count - index - 1);
+			System.arraycopy(leaf.values, index + 1, leaf.values, index, leaf.count - index - 1);
+			leaf.count--;
+			leaf.keys[leaf.count] = null;
+			leaf.values[leaf.count] = null;
+			size--;
+			modificationCount++;
+			return true;
+		}
+
+		InnerNode inner = (InnerNode) node;
+		int child = childIndex(inner, key);
+		if (!delete(inner.children[child], key)) {
+			return false;
+		}
+
+		if (inner.children[child].count < MINIMUM_KEYS) {
+			rebalance(inner, child);
+		}
+		return true;
+	}
+
+	/**
+	 * Method that fixes the child that has too few keys, by borrowing a key from
+	 * a sibling that has enough keys, or by merging it with a sibling.
+	 *
+	 * @param parent - parent of the child
+	 * @param child  - index of the child
+	 */
+	private void rebalance(InnerNode parent, int child) {
+		Node node = parent.children[child];
+		Node left = child > 0 ? parent.children[child - 1] : null;
+		Node right = child < parent.count ? parent.children[child + 1] : null;
+
+		if (left != null && left.count > MINIMUM_KEYS) {
+			borrowFromLeft(parent, child, left, node);
+		} else if (right != null && right.count > MINIMUM_KEYS) {
+			borrowFromRight(parent, child, node, right);
+		} else if (left != null) {
+			merge(parent, child - 1);
+		} else {
+			merge(parent, child);
+		}
+	}
+
+	/**
+	 * Method that moves the last key of the left sibling to the child.
+	 *
+	 * @param parent - parent of both nodes
+	 * @param child  - index of the child
+	 * @param left   - left sibling
+	 * @param node   - child
+	 */
+	private void borrowFromLeft(InnerNode parent, int child, Node left, Node node) {
+		System.arraycopy(node.keys, 0, node.keys, 1, node.count);
+
+		if (node instanceof LeafNode) {
+			LeafNode leaf = (LeafNode) node;
+			LeafNode leftLeaf = (LeafNode) left;
+			System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.count);
+			leaf.keys[0] = leftLeaf.keys[leftLeaf.count - 1];
+			leaf.values[0] = leftLeaf.values[leftLeaf.count - 1];
+			leftLeaf.values[leftLeaf.count - 1] = null;
+			parent.keys[child - 1] = leaf.keys[0];
+		} else {
+			InnerNode inner = (InnerNode) node;
+			InnerNode leftInner = (InnerNode) left;
+			System.arraycopy(inner.children, 0, inner.children, 1, inner.count + 1);
+			inner.keys[0] = parent.keys[child - 1];
+			inner.children[0] = leftInner.children[leftInner.count];
+			leftInner.children[leftInner.count] = null;
+			parent.keys[child - 1] = leftInner.keys[leftInner.count - 1];
+		}
+
+		left.keys[left.count - 1] = null;
+		left.count--;
+		node.count++;
+	}
+
+	/**
+	 * Method that moves the first key of the right sibling to the child.
+	 *
+	 * @param parent - parent of both nodes
+	 * @param child  - index of the child
+	 * @param node   - child
+	 * @param right  - right sibling
+	 */
+	private void borrowFromRight(InnerNode parent, int child, Node node, Node right) {
+		if (node instanceof LeafNode) {
+			LeafNode leaf = (LeafNode) node;
+			LeafNode rightLeaf = (LeafNode) right;
+			leaf.keys[leaf.count] = rightLeaf.keys[0];
+			leaf.values[leaf.count] = rightLeaf.values[0];
+			System.arraycopy(rightLeaf.values, 1, rightLeaf.values, 0, rightLeaf.count - 1);
+			rightLeaf.values[rightLeaf.count - 1] = null;
+			System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+			parent.keys[child] = right.keys[0];
+		} else {
+			InnerNode inner = (InnerNode) node;
+			InnerNode rightInner = (InnerNode) right;
+			inner.keys[inner.count] = parent.keys[child];
+			inner.children[inner.count + 1] = rightInner.children[0];
+			parent.keys[child] = right.keys[0];
+			System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+			System.arraycopy(rightInner.children, 1, rightInner.children, 0, rightInner.count);
+			rightInner.children[rightInner.count] = null;
+		}
+
+		right.keys[right.count - 1] = null;
+		right.count--;
+		node.count++;
+	}
+
+	/**
+	 * Method that merges the child at the passed index with its right sibling
+	 * and removes the key between them from the parent.
+	 *
+	 * @param parent - parent of both nodes
+	 * @param child  - index of the left node
+	 */
+	private void merge(InnerNode parent, int child) {
+		Node left = parent.children[child];
+		Node right = parent.children[child + 1];
+
+		if (left instanceof LeafNode) {
+			LeafNode leftLeaf = (LeafNode) left;
+			LeafNode rightLeaf = (LeafNode) right;
+			System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+			System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.count, rightLeaf.count);
+			leftLeaf.count += rightLeaf.count;
+			leftLeaf.next = rightLeaf.next;
+		} else {
+			InnerNode leftInner = (InnerNode) left;
+			InnerNode rightInner = (InnerNode) right;
+			leftInner.keys[leftInner.count] = parent.keys[child];
+			System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.count + 1, rightInner.count);
+			System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.count + 1, rightInner.count + 1);
+			leftInner.count += rightInner.count + 1;
+		}
+
+		System.arraycopy(parent.keys, child + 1, parent.keys, child, parent.count - child - 1);
+		System.arraycopy(parent.children, child + 2, parent.children, child + 1, parent.count - child - 1);
+		parent.count--;
+		parent.keys[parent.count] = null;
+		parent.children[parent.count + 1] = null;
+	}
+
+	/**
+	 * Method that returns the leaf in which the passed key is, or should be.
+	 *
+	 * @param key
+	 * @return leaf of the key
+	 */
+	private LeafNode findLeaf(Object key) {
+		Node node = root;
+		while (node instanceof InnerNode) {
+			InnerNode inner = (InnerNode) node;
+			node = inner.children[childIndex(inner, key)];
+		}
+		return (LeafNode) node;
+	}
+
+	/**
+	 * Method that returns the leftmost leaf of the tree.
+	 *
+	 * @return first leaf
+	 */
+	private LeafNode firstLeaf() {
+		Node node = root;
+		while (node instanceof InnerNode) {
+			node = ((InnerNode) node).children[0];
+		}
+		return (LeafNode) node;
+	}
+
+	/**
+	 * Method that returns the rightmost leaf of the subtree.
+	 *
+	 * @param node - root of the subtree
+	 * @return last leaf
+	 */
+	private static LeafNode lastLeaf(Node node) {
+		while (node instanceof InnerNode) {
+			node = ((InnerNode) node).children[node.count];
+		}
+		return (LeafNode) node;
+	}
+
+	/**
+	 * Method that searches for the key in the keys of the node.
+	 *
+	 * @param node - node we are searching
+	 * @param key
+	 * @return index of the key if it is found, otherwise (-(insertion index) - 1)
+	 */
+	private int search(Node node, Object key) {
+		int low = 0;
+		int high = node.count - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compare(node.keys[middle], key);
+			if (comparison < 0) {
+				low = middle + 1;
+			} else if (comparison > 0) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * Method that returns index of the child whose subtree holds the passed key.
+	 * Keys of the node are the first keys of its children after the first one, so
+	 * it is the number of keys that are smaller than or equal to the passed key.
+	 *
+	 * @param inner - inner node
+	 * @param key
+	 * @return index of the child
+	 */
+	private int childIndex(InnerNode inner, Object key) {
+		int low = 0;
+		int high = inner.count;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compare(key, inner.keys[middle]) < 0) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Method that compares two keys with the comparator, or by their natural
+	 * ordering if there is no comparator.
+	 *
+	 * @param first
+	 * @param second
+	 * @return negative number, zero or positive number if the first key is smaller,
+	 *         equal or larger than the second
+	 */
+	@SuppressWarnings("unchecked")
+	private int compare(Object first, Object second) {
+		if (comparator == null) {
+			return ((Comparable<Object>) first).compareTo(second);
+		}
+		return comparator.compare((K) first, (K) second);
+	}
+
+	/**
+	 * Method that sets elements of the array in the range to null.
+	 *
+	 * @param array
+	 * @param from  - first index
+	 * @param to    - index after the last one
+	 */
+	private static void clear(Object[] array, int from, int to) {
+		for (int i = from; i < to; i++) {
+			array[i] = null;
+		}
+	}
+
+	/**
+	 * Class that represents a node of the tree. Keys are sorted in the array.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class Node {
+
+		/**
+		 * Keys of the node, there is room for one key more than the maximum, so the
+		 * node can be split after the insertion
+		 */
+		Object[] keys = new Object[MAXIMUM_KEYS + 1];
+
+		/**
+		 * Number of keys in the node
+		 */
+		int count;
+	}
+
+	/**
+	 * Class that represents a leaf, it holds the entries.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class LeafNode extends Node {
+
+		/**
+		 * Values of the keys at the same index
+		 */
+		Object[] values = new Object[MAXIMUM_KEYS + 1];
+
+		/**
+		 * Leaf with the next keys
+		 */
+		LeafNode next;
+	}
+
+	/**
+	 * Class that represents an inner node. Key at index i is the smallest key in
+	 * the subtree of the child at index i + 1.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class InnerNode extends Node {
+
+		/**
+		 * Children of the node, there is one child more than there are keys
+		 */
+		Node[] children = new Node[MAXIMUM_KEYS + 2];
+	}
+
+	/**
+	 * Class that represents an entry of {@link SimpleSortedTable}. Setting its
+	 * value writes through to the table while the key is still in it. Once the key
+	 * is removed, only the entry itself is changed.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	public class TableEntry {
+
+		/**
+		 * Represents the key in the entry
+		 */
+		private K key;
+
+		/**
+		 * Represents the value in the entry
+		 */
+		private V value;
+
+		/**
+		 * Leaf of the entry
+		 */
+		private LeafNode leaf;
+
+		/**
+		 * Index of the entry in the leaf
+		 */
+		private int index;
+
+		/**
+		 * Modification count of the table when the entry was created, after it
+		 * changes the leaf and index aren't valid anymore
+		 */
+		private int savedModificationCount = modificationCount;
+
+		/**
+		 * Default constructor for {@link TableEntry}
+		 *
+		 * @param leaf  - leaf of the entry
+		 * @param index - index of the entry in the leaf
+		 */
+		@SuppressWarnings("unchecked")
+		private TableEntry(LeafNode leaf, int index) {
+			this.key = (K) leaf.keys[index];
+			this.value = (V) leaf.values[index];
+			this.leaf = leaf;
+			this.index = index;
+		}
+
+		/* ------- GETTERS --------- */
+
+		public K getKey() {
+			return key;
+		}
+
+		public V getValue() {
+			return value;
+		}
+
+		/* -------- SETTERS ---------- */
+
+		public void setValue(V value) {
+			this.value = value;
+			if (savedModificationCount == modificationCount) {
+				leaf.values[index] = value;
+			} else if (containsKey(key)) {
+				put(key, value);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	/**
+	 * Implementation of the {@link Iterator} interface. It goes through the linked
+	 * leaves, from the passed position until the end of the table or until the
+	 * key that isn't in range.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private class IteratorImpl implements Iterator<TableEntry> {
+
+		/**
+		 * Leaf of the next entry, or null if there are no more entries
+		 */
+		private LeafNode leaf;
+
+		/**
+		 * Index of the next entry in the leaf
+		 */
+		private int index;
+
+		/**
+		 * Key after the range, or null if the range goes to the end of the table
+		 */
+		private K toKey;
+
+		/**
+		 * Variable that shows how many times it is expected for the instance to be
+		 * structurally modified.
+		 */
+		private int expectedModificationCount = modificationCount;
+
+		/**
+		 * Instance of the last returned element
+		 */
+		private TableEntry lastReturned;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param leaf  - leaf of the first entry
+		 * @param index - index of the first entry in the leaf
+		 * @param toKey - key after the range, or null
+		 */
+		IteratorImpl(LeafNode leaf, int index, K toKey) {
+			this.leaf = leaf;
+			this.index = index;
+			this.toKey = toKey;
+			skipEmptyLeaf();
+		}
+
+		/**
+		 * Method that checks whether we have next element.
+		 *
+		 * @return - method returns true if there is element, otherwise false
+		 */
+		@Override
+		public boolean hasNext() {
+			checkForModification();
+			return leaf != null && (toKey == null || compare(leaf.keys[index], toKey) < 0);
+		}
+
+		/**
+		 * Method that returns the next entry in key order.
+		 *
+		 * @return - next element in the {@link SimpleSortedTable}
+		 */
+		@Override
+		public TableEntry next() {
+			if (!hasNext())
+				throw new NoSuchElementException("No more elements in table!");
+
+			lastReturned = new TableEntry(leaf, index);
+			index++;
+			skipEmptyLeaf();
+			return lastReturned;
+		}
+
+		/**
+		 * Method that removes only the current element from the
+		 * {@link SimpleSortedTable}. Leaves can be merged after the removal, so the
+		 * next entry is found again from the root.
+		 */
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException("You can't remove more than once!");
+			}
+
+			checkForModification();
+
+			SimpleSortedTable.this.remove(lastReturned.key);
+			TableEntry next = ceilingEntry(lastReturned.key);
+			if (next == null) {
+				leaf = null;
+			} else {
+				leaf = next.leaf;
+				index = next.index;
+			}
+
+			lastReturned = null;
+			expectedModificationCount = modificationCount;
+		}
+
+		/**
+		 * Method that moves to the next leaf if the current one has no more entries.
+		 */
+		private void skipEmptyLeaf() {
+			if (leaf != null && index >= leaf.count) {
+				leaf = leaf.next;
+				index = 0;
+			}
+		}
+
+		private void checkForModification() {
+			if (expectedModificationCount != modificationCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
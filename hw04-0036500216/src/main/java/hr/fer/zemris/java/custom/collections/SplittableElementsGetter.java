@@ -0,0 +1,28 @@
+package hr.fer.zemris.java.custom.collections;
+
+/**
+ * Interface of {@link ElementsGetter} instances whose remaining elements can be
+ * split in two parts, so that each part can be processed by a different thread.
+ * 
+ * @author ilovrencic
+ *
+ */
+public interface SplittableElementsGetter<T> extends ElementsGetter<T> {
+
+	/**
+	 * Method that splits remaining elements. Returned getter takes the first part
+	 * of the remaining elements and this getter keeps the rest. If the remaining
+	 * elements can't be split, the method returns null.
+	 * 
+	 * @return getter of the first part, or null
+	 */
+	SplittableElementsGetter<T> trySplit();
+
+	/**
+	 * Method that returns an estimate of the number of remaining elements.
+	 * 
+	 * @return number of remaining elements
+	 */
+	int remainingElements();
+
+}
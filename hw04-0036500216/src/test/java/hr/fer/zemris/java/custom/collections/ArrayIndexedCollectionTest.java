@@ -0,0 +1,107 @@
+package hr.fer.zemris.java.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ArrayIndexedCollectionTest {
+
+	@Test
+	void testBulkOperations() {
+		ArrayIndexedCollection<String> array = new ArrayIndexedCollection<String>(2);
+		array.add("Ivan");
+		array.add("Petar");
+
+		LinkedListIndexedCollection<String> list = new LinkedListIndexedCollection<String>();
+		list.add("Ratko");
+		list.add("Šime");
+
+		array.addAll(list);
+		array.addAll(array);
+		assertEquals(8, array.size());
+		assertArrayEquals(new Object[] { "Ivan", "Petar", "Ratko", "Šime", "Ivan", "Petar", "Ratko", "Šime" },
+				array.toArray());
+
+		array.insert("Ana", 1);
+		array.remove(0);
+		assertEquals("Ana", array.get(0));
+		assertEquals("Šime", array.get(7));
+
+		assertTrue(array.removeIf(value -> value.startsWith("P")));
+		assertFalse(array.removeIf(value -> value.startsWith("P")));
+		assertArrayEquals(new Object[] { "Ana", "Ratko", "Šime", "Ivan", "Ratko", "Šime" }, array.toArray());
+
+		array.trimToSize();
+		assertEquals(6, array.capacity());
+
+		// getter must reach the last element of a trimmed array
+		ElementsGetter<String> getter = array.createElementsGetter();
+		int counted = 0;
+		while (getter.hasNextElement()) {
+			getter.getNextElement();
+			counted++;
+		}
+		assertEquals(6, counted);
+
+		array.ensureCapacity(100);
+		assertEquals(100, array.capacity());
+		assertEquals(6, array.size());
+	}
+
+	@Test
+	void testPrimitiveCollections() {
+		IntArrayIndexedCollection ints = new IntArrayIndexedCollection(1);
+		ints.addAll(5, 1, 4, 2, 3);
+		ints.add(6);
+		ints.insert(0, 0);
+
+		assertEquals(7, ints.size());
+		assertEquals(0, ints.get(0));
+		assertEquals(3, ints.indexOf(4));
+		assertTrue(ints.removeIf(value -> value % 2 == 0));
+		assertArrayEquals(new int[] { 5, 1, 3 }, ints.toArray());
+		assertTrue(ints.removeValue(1));
+		assertFalse(ints.contains(1));
+
+		int[] sum = new int[1];
+		ints.forEach(value -> sum[0] += value);
+		assertEquals(8, sum[0]);
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ints.get(2));
+
+		DoubleArrayIndexedCollection doubles = new DoubleArrayIndexedCollection();
+		doubles.addAll(1.5, Double.NaN, -0.5);
+		assertEquals(1, doubles.indexOf(Double.NaN));
+		doubles.remove(1);
+		assertArrayEquals(new double[] { 1.5, -0.5 }, doubles.toArray());
+		doubles.trimToSize();
+		assertEquals(2, doubles.capacity());
+	}
+
+	@Test
+	void testParallelProcessing() {
+		ArrayIndexedCollection<Integer> array = new ArrayIndexedCollection<Integer>();
+		for (int i = 0; i < 100_000; i++) {
+			array.add(i);
+		}
+
+		AtomicLong sum = new AtomicLong();
+		array.parallelForEach(value -> sum.addAndGet(value));
+		assertEquals(99_999L * 100_000 / 2, sum.get());
+
+		List<Integer> even = array.parallelFilter(value -> value % 2 == 0);
+		assertEquals(50_000, even.size());
+		for (int i = 0; i < even.size(); i++) {
+			assertEquals(2 * i, even.get(i));
+		}
+
+		SplittableElementsGetter<Integer> getter = array.createSplittableElementsGetter();
+		SplittableElementsGetter<Integer> prefix = getter.trySplit();
+		assertEquals(50_000, prefix.remainingElements());
+		assertEquals(0, prefix.getNextElement());
+		assertEquals(50_000, getter.getNextElement());
+	}
+}
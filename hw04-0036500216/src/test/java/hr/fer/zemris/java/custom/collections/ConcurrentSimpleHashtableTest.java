@@ -0,0 +1,129 @@
+package hr.fer.zemris.java.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import hr.fer.zemris.java.custom.collections.ConcurrentSimpleHashtable.TableEntry;
+
+class ConcurrentSimpleHashtableTest {
+
+	@Test
+	void testGetPutAndRemove() {
+		ConcurrentSimpleHashtable<String, Integer> table = new ConcurrentSimpleHashtable<String, Integer>(4, 2);
+
+		assertEquals(4, table.capacity());
+		assertTrue(table.isEmpty());
+
+		table.put("Ivan", 10);
+		table.put("Petar", 2);
+		table.put("Ratko", 3210);
+		table.put("Šime", 22);
+		table.put("Ivan", 420);
+
+		assertEquals(4, table.size());
+		assertEquals(420, table.get("Ivan"));
+		assertTrue(table.containsKey("Ratko"));
+		assertFalse(table.containsKey("Luka"));
+		assertTrue(table.containsValue(22));
+		assertFalse(table.containsValue(10));
+
+		table.remove("Ratko");
+		table.remove("Luka");
+		assertEquals(3, table.size());
+		assertNull(table.get("Ratko"));
+
+		Assertions.assertThrows(NullPointerException.class, () -> table.put(null, 1));
+		Assertions.assertThrows(NullPointerException.class, () -> table.get(null));
+
+		table.clear();
+		assertTrue(table.isEmpty());
+	}
+
+	@Test
+	void testIteratorIsWeaklyConsistent() {
+		ConcurrentSimpleHashtable<Integer, Integer> table = new ConcurrentSimpleHashtable<Integer, Integer>(2, 1);
+		for (int i = 0; i < 100; i++) {
+			table.put(i, i);
+		}
+
+		int counted = 0;
+		Iterator<TableEntry<Integer, Integer>> iterator = table.iterator();
+		while (iterator.hasNext()) {
+			TableEntry<Integer, Integer> entry = iterator.next();
+			if (entry.getKey() < 100 && entry.getKey() % 2 == 0) {
+				iterator.remove();
+			}
+			// modifications during iteration don't throw
+			table.put(1000 + counted, 0);
+			counted++;
+		}
+
+		assertTrue(counted >= 100);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i % 2 == 1, table.containsKey(i));
+		}
+
+		Iterator<TableEntry<Integer, Integer>> iter2 = table.iterator();
+		iter2.next();
+		Assertions.assertThrows(IllegalStateException.class, () -> {
+			iter2.remove();
+			iter2.remove();
+		});
+	}
+
+	@Test
+	void testConcurrentPutAndRemove() throws InterruptedException, ExecutionException {
+		ConcurrentSimpleHashtable<Integer, Integer> table = new ConcurrentSimpleHashtable<Integer, Integer>();
+		int threads = 4;
+		int keys = 50_000;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> writers = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				int offset = t;
+				writers.add(executor.submit(() -> {
+					for (int i = offset; i < keys; i += threads) {
+						table.put(i, i);
+						assertEquals(i, table.get(i));
+					}
+					for (int i = offset; i < keys; i += 2 * threads) {
+						table.remove(i);
+					}
+				}));
+			}
+
+			// get rethrows assertion errors of the writers
+			for (Future<?> writer : writers) {
+				writer.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		int expected = 0;
+		for (int i = 0; i < keys; i++) {
+			boolean kept = i % (2 * threads) >= threads;
+			assertEquals(kept ? Integer.valueOf(i) : null, table.get(i));
+			expected += kept ? 1 : 0;
+		}
+		assertEquals(expected, table.size());
+
+		int counted = 0;
+		for (@SuppressWarnings("unused")
+		TableEntry<Integer, Integer> entry : table) {
+			counted++;
+		}
+		assertEquals(expected, counted);
+	}
+}
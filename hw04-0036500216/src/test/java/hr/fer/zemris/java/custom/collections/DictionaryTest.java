@@ -51,4 +51,25 @@ class DictionaryTest {
 		Assertions.assertThrows(NullPointerException.class, () -> map.put(null, null));
 		Assertions.assertThrows(NullPointerException.class, () -> map.get(null));
 	}
+
+	@Test
+	void testCharacterKeys() {
+		Dictionary<Character, String> map = new Dictionary<Character, String>();
+		map.put('F', "F+F--F+F");
+		map.put('+', null);
+		map.put('č', "č");
+		map.put('F', "F-F");
+
+		assertEquals(3, map.size());
+		assertEquals("F-F", map.get('F'));
+		assertEquals("č", map.get('č'));
+		assertNull(map.get('+'));
+		assertNull(map.get('G'));
+		assertNull(map.get("F"));
+
+		map.clear();
+
+		assertTrue(map.isEmpty());
+		assertNull(map.get('F'));
+	}
 }
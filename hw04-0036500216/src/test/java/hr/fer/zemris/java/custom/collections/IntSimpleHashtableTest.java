@@ -0,0 +1,112 @@
+package hr.fer.zemris.java.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IntSimpleHashtableTest {
+
+	@Test
+	void testGetPutAndRemove() {
+		IntSimpleHashtable<String> table = new IntSimpleHashtable<String>(4);
+
+		assertEquals(4, table.capacity());
+		assertTrue(table.isEmpty());
+
+		table.put(1, "Ivan");
+		table.put(-7, "Petar");
+		table.put(0, null);
+		table.put(1 << 20, "Ratko");
+
+		assertEquals(4, table.size());
+		assertEquals(8, table.capacity());
+		assertEquals("Ivan", table.get(1));
+		assertNull(table.get(0));
+		assertTrue(table.containsKey(0));
+		assertFalse(table.containsKey(2));
+		assertTrue(table.containsValue(null));
+		assertTrue(table.containsValue("Ratko"));
+
+		table.put(1, "Šime");
+		assertEquals(4, table.size());
+		assertEquals("Šime", table.get(1));
+
+		table.remove(-7);
+		table.remove(2);
+		assertEquals(3, table.size());
+		assertNull(table.get(-7));
+
+		table.clear();
+		assertTrue(table.isEmpty());
+		assertFalse(table.containsKey(1));
+	}
+
+	@Test
+	void testManyKeys() {
+		IntSimpleHashtable<Integer> table = new IntSimpleHashtable<Integer>();
+
+		for (int i = 0; i < 100_000; i++) {
+			table.put(i << 12, i);
+		}
+		for (int i = 0; i < 100_000; i += 2) {
+			table.remove(i << 12);
+		}
+
+		assertEquals(50_000, table.size());
+		for (int i = 0; i < 100_000; i++) {
+			assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), table.get(i << 12));
+		}
+	}
+
+	@Test
+	void testIteratorRemove() {
+		IntSimpleHashtable<Integer> table = new IntSimpleHashtable<Integer>(16);
+		Random random = new Random(42);
+		Set<Integer> keys = new HashSet<Integer>();
+		while (keys.size() < 10_000) {
+			int key = random.nextInt(1 << 16);
+			keys.add(key);
+			table.put(key, key);
+		}
+
+		// every key is visited exactly once, even when removal shifts entries around
+		Set<Integer> visited = new HashSet<Integer>();
+		Iterator<IntSimpleHashtable<Integer>.TableEntry> iterator = table.iterator();
+		while (iterator.hasNext()) {
+			IntSimpleHashtable<Integer>.TableEntry entry = iterator.next();
+			assertTrue(visited.add(entry.getKey()));
+			assertEquals(entry.getKey(), entry.getValue());
+			if (entry.getKey() % 3 != 0) {
+				iterator.remove();
+			}
+		}
+
+		assertEquals(keys, visited);
+		for (int key : keys) {
+			assertEquals(key % 3 == 0, table.containsKey(key));
+		}
+
+		Iterator<IntSimpleHashtable<Integer>.TableEntry> iter2 = table.iterator();
+		iter2.next();
+		Assertions.assertThrows(IllegalStateException.class, () -> {
+			iter2.remove();
+			iter2.remove();
+		});
+
+		Iterator<IntSimpleHashtable<Integer>.TableEntry> iter3 = table.iterator();
+		iter3.next();
+		table.put(-1, -1);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> iter3.next());
+
+		Iterator<IntSimpleHashtable<Integer>.TableEntry> iter4 = new IntSimpleHashtable<Integer>().iterator();
+		Assertions.assertThrows(NoSuchElementException.class, () -> iter4.next());
+	}
+}
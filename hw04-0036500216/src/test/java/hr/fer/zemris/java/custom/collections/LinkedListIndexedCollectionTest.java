@@ -0,0 +1,116 @@
+package hr.fer.zemris.java.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LinkedListIndexedCollectionTest {
+
+	@Test
+	void testAddGetAndInsert() {
+		LinkedListIndexedCollection<String> list = new LinkedListIndexedCollection<String>();
+		list.add("Ivan");
+		list.add("Petar");
+		list.add("Ratko");
+
+		list.insert("Šime", 0);
+		list.insert("Ana", 2);
+
+		assertEquals(5, list.size());
+		assertEquals("Šime", list.get(0));
+		assertEquals("Ivan", list.get(1));
+		assertEquals("Ana", list.get(2));
+		assertEquals("Petar", list.get(3));
+		assertEquals("Ratko", list.get(4));
+		assertEquals(3, list.indexOf("Petar"));
+		assertEquals(-1, list.indexOf(null));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(5));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.insert("Luka", 5));
+		Assertions.assertThrows(NullPointerException.class, () -> list.add(null));
+
+		assertTrue(list.remove("Ana"));
+		assertFalse(list.remove("Ana"));
+		assertArrayEquals(new Object[] { "Šime", "Ivan", "Petar", "Ratko" }, list.toArray());
+
+		list.clear();
+		assertTrue(list.isEmpty());
+		assertNull(list.toArray());
+	}
+
+	@Test
+	void testMatchesArrayList() {
+		LinkedListIndexedCollection<Integer> list = new LinkedListIndexedCollection<Integer>();
+		ArrayList<Integer> expected = new ArrayList<Integer>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 20_000; i++) {
+			int operation = random.nextInt(10);
+			if (expected.isEmpty() || operation < 4) {
+				list.add(i);
+				expected.add(i);
+			} else if (operation < 7) {
+				int index = random.nextInt(expected.size());
+				list.insert(i, index);
+				expected.add(index, i);
+			} else if (operation < 9) {
+				int index = random.nextInt(expected.size());
+				list.remove(index);
+				expected.remove(index);
+			} else {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.get(index), list.get(index));
+			}
+		}
+
+		assertEquals(expected.size(), list.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), list.get(i));
+		}
+		for (int i = expected.size() - 1; i >= 0; i--) {
+			assertEquals(expected.get(i), list.get(i));
+		}
+		assertArrayEquals(expected.toArray(), list.toArray());
+
+		ElementsGetter<Integer> getter = list.createElementsGetter();
+		for (Integer value : expected) {
+			assertEquals(value, getter.getNextElement());
+		}
+		assertFalse(getter.hasNextElement());
+
+		ElementsGetter<Integer> modified = list.createElementsGetter();
+		list.remove(0);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> modified.getNextElement());
+	}
+
+	@Test
+	void testParallelProcessing() {
+		LinkedListIndexedCollection<Integer> list = new LinkedListIndexedCollection<Integer>();
+		for (int i = 0; i < 100_000; i++) {
+			list.add(i);
+		}
+		list.insert(-1, 1000);
+
+		List<Integer> filtered = list.parallelFilter(value -> value % 3 == 0);
+		ArrayIndexedCollection<Integer> expected = new ArrayIndexedCollection<Integer>();
+		expected.addAllSatisfying(list, value -> value % 3 == 0);
+		assertArrayEquals(expected.toArray(), filtered.toArray());
+
+		SplittableElementsGetter<Integer> getter = list.createSplittableElementsGetter();
+		SplittableElementsGetter<Integer> prefix = getter.trySplit();
+		assertEquals(50_000, prefix.remainingElements());
+		assertEquals(50_001, getter.remainingElements());
+		assertEquals(list.get(50_000), getter.getNextElement());
+
+		int counted = 0;
+		while (prefix.hasNextElement()) {
+			assertEquals(list.get(counted++), prefix.getNextElement());
+		}
+		assertEquals(50_000, counted);
+	}
+}
@@ -0,0 +1,169 @@
+package hr.fer.zemris.java.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LongSimpleHashtableTest {
+
+	/**
+	 * Same mixing as in {@link LongSimpleHashtable}, used to pick keys that land
+	 * in the chosen slots.
+	 */
+	private static int slot(long key, int capacity) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+	}
+
+	/**
+	 * Returns keys above the int range whose ideal slot is the given one.
+	 */
+	private static List<Long> keysInSlot(int slot, int capacity, int count) {
+		List<Long> keys = new ArrayList<Long>();
+		for (long key = 1L << 40; keys.size() < count; key++) {
+			if (slot(key, capacity) == slot) {
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+
+	@Test
+	void testGetPutAndRemove() {
+		LongSimpleHashtable<String> table = new LongSimpleHashtable<String>();
+
+		table.put(1L << 40, "Ivan");
+		table.put(1L << 41, "Petar");
+		table.put(-1L, "Ratko");
+		table.put(Long.MIN_VALUE, "Šime");
+		table.put(1L << 32, null);
+
+		assertEquals(5, table.size());
+		assertEquals("Petar", table.get(1L << 41));
+		assertEquals("Šime", table.get(Long.MIN_VALUE));
+		assertNull(table.get(0L));
+		assertFalse(table.containsKey(0L));
+		assertTrue(table.containsKey(1L << 32));
+		assertTrue(table.containsValue(null));
+
+		// keys that differ only above the int range are different keys
+		table.put((1L << 40) + 1, "Marko");
+		table.put((2L << 40) + 1, "Luka");
+		assertEquals("Marko", table.get((1L << 40) + 1));
+		assertEquals("Luka", table.get((2L << 40) + 1));
+		assertNull(table.get(1L));
+
+		for (LongSimpleHashtable<String>.TableEntry entry : table) {
+			if (entry.getValue() != null) {
+				entry.setValue(entry.getValue().toUpperCase());
+			}
+		}
+		assertEquals("IVAN", table.get(1L << 40));
+
+		table.remove(1L << 40);
+		table.remove(7L);
+		assertFalse(table.containsKey(1L << 40));
+		assertEquals(6, table.size());
+
+		table.clear();
+		assertTrue(table.isEmpty());
+	}
+
+	@Test
+	void testRemoveAcrossWrapAround() {
+		List<Long> last = keysInSlot(15, 16, 3);
+		List<Long> first = keysInSlot(0, 16, 1);
+
+		// last three keys fill slots 15, 0 and 1, and the fourth one is pushed to 2
+		LongSimpleHashtable<Long> table = new LongSimpleHashtable<Long>(16);
+		for (long key : last) {
+			table.put(key, key);
+		}
+		table.put(first.get(0), first.get(0));
+
+		table.remove(last.get(0));
+		assertEquals(3, table.size());
+		assertEquals(last.get(1), table.get(last.get(1)));
+		assertEquals(last.get(2), table.get(last.get(2)));
+		assertEquals(first.get(0), table.get(first.get(0)));
+
+		table.remove(last.get(1));
+		assertEquals(last.get(2), table.get(last.get(2)));
+		assertEquals(first.get(0), table.get(first.get(0)));
+		assertEquals(16, table.capacity());
+	}
+
+	@Test
+	void testIteratorRemoveAcrossWrapAround() {
+		List<Long> last = keysInSlot(15, 16, 3);
+		List<Long> first = keysInSlot(0, 16, 1);
+
+		LongSimpleHashtable<Long> table = new LongSimpleHashtable<Long>(16);
+		for (long key : last) {
+			table.put(key, key);
+		}
+		table.put(first.get(0), first.get(0));
+
+		// removing the entry in slot 15 shifts an entry from slot 0 behind the
+		// cursor, and it still has to be visited
+		Set<Long> visited = new HashSet<Long>();
+		Iterator<LongSimpleHashtable<Long>.TableEntry> iterator = table.iterator();
+		while (iterator.hasNext()) {
+			LongSimpleHashtable<Long>.TableEntry entry = iterator.next();
+			assertTrue(visited.add(entry.getKey()));
+			assertEquals(entry.getKey(), entry.getValue().longValue());
+			if (entry.getKey() == last.get(0) || entry.getKey() == last.get(1)) {
+				iterator.remove();
+			}
+		}
+
+		assertEquals(4, visited.size());
+		assertEquals(2, table.size());
+		assertFalse(table.containsKey(last.get(0)));
+		assertFalse(table.containsKey(last.get(1)));
+		assertTrue(table.containsKey(last.get(2)));
+		assertTrue(table.containsKey(first.get(0)));
+	}
+
+	@Test
+	void testRandomOperations() {
+		Random random = new Random(42);
+		LongSimpleHashtable<Long> table = new LongSimpleHashtable<Long>(4);
+		Map<Long, Long> expected = new HashMap<Long, Long>();
+
+		for (int i = 0; i < 50_000; i++) {
+			long key = (random.nextInt(512) - 256L) << 33;
+			if (random.nextBoolean()) {
+				table.put(key, (long) i);
+				expected.put(key, (long) i);
+			} else {
+				table.remove(key);
+				expected.remove(key);
+			}
+		}
+
+		assertEquals(expected.size(), table.size());
+		for (long key = -256; key < 256; key++) {
+			assertEquals(expected.get(key << 33), table.get(key << 33));
+		}
+
+		Iterator<LongSimpleHashtable<Long>.TableEntry> iterator = table.iterator();
+		while (iterator.hasNext()) {
+			LongSimpleHashtable<Long>.TableEntry entry = iterator.next();
+			assertEquals(expected.remove(entry.getKey()), entry.getValue());
+			if (entry.getKey() % 3 != 0) {
+				iterator.remove();
+			}
+		}
+		assertTrue(expected.isEmpty());
+	}
+}
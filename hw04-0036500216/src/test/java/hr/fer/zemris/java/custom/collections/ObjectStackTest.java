@@ -0,0 +1,78 @@
+package hr.fer.zemris.java.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ObjectStackTest {
+
+	@Test
+	void testPrimitiveStacks() {
+		IntObjectStack ints = new IntObjectStack(1);
+		for (int i = 0; i < 100; i++) {
+			ints.push(i);
+		}
+		assertEquals(100, ints.size());
+		assertEquals(99, ints.peek());
+		for (int i = 99; i >= 0; i--) {
+			assertEquals(i, ints.pop());
+		}
+		assertTrue(ints.isEmpty());
+		Assertions.assertThrows(EmptyStackException.class, () -> ints.pop());
+
+		DoubleObjectStack doubles = new DoubleObjectStack();
+		doubles.push(1.5);
+		doubles.push(-2.5);
+		assertEquals(-2.5, doubles.pop());
+		assertEquals(1.5, doubles.peek());
+		doubles.clear();
+		Assertions.assertThrows(EmptyStackException.class, () -> doubles.peek());
+	}
+
+	@Test
+	void testConcurrentStack() throws InterruptedException {
+		ConcurrentObjectStack<Integer> stack = new ConcurrentObjectStack<Integer>();
+		stack.push(1);
+		stack.push(2);
+		assertEquals(2, stack.size());
+		assertEquals(2, stack.pop());
+		assertEquals(1, stack.peek());
+		assertEquals(1, stack.poll());
+		assertNull(stack.poll());
+		Assertions.assertThrows(EmptyStackException.class, () -> stack.pop());
+		Assertions.assertThrows(NullPointerException.class, () -> stack.push(null));
+
+		int threads = 4;
+		int perThread = 50_000;
+		AtomicLong popped = new AtomicLong();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			int base = t * perThread;
+			workers[t] = new Thread(() -> {
+				for (int i = 1; i <= perThread; i++) {
+					stack.push(base + i);
+					if (i % 2 == 0) {
+						popped.addAndGet(stack.pop());
+					}
+				}
+			});
+			workers[t].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		long remaining = 0;
+		Integer value;
+		while ((value = stack.poll()) != null) {
+			remaining += value;
+		}
+
+		long total = (long) threads * perThread;
+		assertEquals(total * (total + 1) / 2, popped.get() + remaining);
+	}
+}
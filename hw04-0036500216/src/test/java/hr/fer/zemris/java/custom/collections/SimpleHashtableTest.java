@@ -6,6 +6,9 @@ import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -165,7 +168,8 @@ class SimpleHashtableTest {
 		table.put("Ratimir", 3210);
 		table.put("Šimun", 22);
 
-		assertEquals(table.capacity(), 8);
+		// table is doubled as soon as it holds more than 6 elements
+		assertEquals(table.capacity(), 16);
 		assertEquals(table.size(), 8);
 
 		table.put("Ivo", 10);
@@ -260,4 +264,61 @@ class SimpleHashtableTest {
 		Assertions.assertThrows(IllegalStateException.class, () -> iter4.remove());
 
 	}
+
+	@Test
+	void testResizeKeepsChainedEntries() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<Integer, Integer>(2);
+
+		// keys that differ only in higher bits end up in the same chain
+		for (int i = 0; i < 100_000; i++) {
+			table.put(i << 12, i);
+		}
+
+		assertEquals(100_000, table.size());
+		assertEquals(1 << 18, table.capacity());
+		for (int i = 0; i < 100_000; i++) {
+			assertEquals(i, table.get(i << 12));
+		}
+
+		int counted = 0;
+		for (TableEntry<Integer, Integer> entry : table) {
+			assertEquals(entry.getKey() >> 12, entry.getValue());
+			counted++;
+		}
+		assertEquals(100_000, counted);
+		assertTrue(table.containsValue(99_999));
+	}
+
+	@Test
+	void testParallelForEach() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<Integer, Integer>();
+		for (int i = 0; i < 100_000; i++) {
+			table.put(i, i);
+		}
+
+		AtomicLong sum = new AtomicLong();
+		AtomicInteger counted = new AtomicInteger();
+		table.parallelForEach(entry -> {
+			sum.addAndGet(entry.getValue());
+			counted.incrementAndGet();
+		});
+		assertEquals(100_000, counted.get());
+		assertEquals(99_999L * 100_000 / 2, sum.get());
+	}
+
+	@Test
+	void testLoadFactor() {
+		SimpleHashtable<Integer, Integer> table = new SimpleHashtable<Integer, Integer>(4, 2.0);
+		for (int i = 0; i < 8; i++) {
+			table.put(i, i);
+		}
+		assertEquals(4, table.capacity());
+
+		table.put(8, 8);
+		assertEquals(8, table.capacity());
+		assertEquals(9, table.size());
+		assertEquals(8, table.get(8));
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new SimpleHashtable<Integer, Integer>(4, 0));
+	}
 }
@@ -0,0 +1,145 @@
+package hr.fer.zemris.java.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SimpleSortedTableTest {
+
+	@Test
+	void testSimpleSortedTable() {
+		SimpleSortedTable<String, Integer> table = new SimpleSortedTable<String, Integer>();
+		assertTrue(table.isEmpty());
+		assertNull(table.firstEntry());
+		assertNull(table.floorEntry("Ivana"));
+		assertFalse(table.iterator().hasNext());
+
+		table.put("Ivana", 2);
+		table.put("Ante", 2);
+		table.put("Jasna", 2);
+		table.put("Kristina", 5);
+		table.put("Ivana", 5);
+
+		assertEquals(4, table.size());
+		assertEquals(5, table.get("Ivana"));
+		assertNull(table.get("Marko"));
+		assertTrue(table.containsKey("Jasna"));
+		assertTrue(table.containsValue(5));
+		assertEquals("[ Ante=2  Ivana=5  Jasna=2  Kristina=5 ]", table.toString());
+
+		assertEquals("Ante", table.firstEntry().getKey());
+		assertEquals("Kristina", table.lastEntry().getKey());
+		assertEquals("Ivana", table.floorEntry("Ivo").getKey());
+		assertEquals("Jasna", table.ceilingEntry("Ivo").getKey());
+		assertNull(table.floorEntry("A"));
+		assertNull(table.ceilingEntry("L"));
+
+		table.floorEntry("Jasna").setValue(4);
+		assertEquals(4, table.get("Jasna"));
+
+		Assertions.assertThrows(NullPointerException.class, () -> table.put(null, 1));
+		Assertions.assertThrows(NullPointerException.class, () -> table.get(null));
+		Assertions.assertThrows(NullPointerException.class,
+				() -> new SimpleSortedTable<String, Integer>(null));
+
+		SimpleSortedTable<String, Integer>.TableEntry ivana = table.floorEntry("Ivana");
+		SimpleSortedTable<String, Integer>.TableEntry kristina = table.lastEntry();
+		table.remove("Ivana");
+		table.remove("Marko");
+		assertEquals(3, table.size());
+		assertFalse(table.containsKey("Ivana"));
+
+		// stale entry of a removed key doesn't put it back
+		ivana.setValue(1);
+		assertEquals(1, ivana.getValue());
+		assertFalse(table.containsKey("Ivana"));
+		assertEquals(3, table.size());
+
+		// stale entry of a kept key still writes through
+		kristina.setValue(1);
+		assertEquals(1, table.get("Kristina"));
+
+		table.clear();
+		assertTrue(table.isEmpty());
+	}
+
+	@Test
+	void testMatchesTreeMap() {
+		SimpleSortedTable<Integer, Integer> table = new SimpleSortedTable<Integer, Integer>();
+		TreeMap<Integer, Integer> expected = new TreeMap<Integer, Integer>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 50_000; i++) {
+			int key = random.nextInt(10_000);
+			if (random.nextInt(3) == 0) {
+				table.remove(key);
+				expected.remove(key);
+			} else {
+				table.put(key, i);
+				expected.put(key, i);
+			}
+
+			if (i % 100 == 0) {
+				int probe = random.nextInt(10_100) - 50;
+				Map.Entry<Integer, Integer> floor = expected.floorEntry(probe);
+				Map.Entry<Integer, Integer> ceiling = expected.ceilingEntry(probe);
+				assertEquals(floor == null ? null : floor.getKey(),
+						table.floorEntry(probe) == null ? null : table.floorEntry(probe).getKey());
+				assertEquals(ceiling == null ? null : ceiling.getKey(),
+						table.ceilingEntry(probe) == null ? null : table.ceilingEntry(probe).getKey());
+			}
+		}
+
+		assertEquals(expected.size(), table.size());
+		Iterator<Map.Entry<Integer, Integer>> entries = expected.entrySet().iterator();
+		for (SimpleSortedTable<Integer, Integer>.TableEntry entry : table) {
+			Map.Entry<Integer, Integer> next = entries.next();
+			assertEquals(next.getKey(), entry.getKey());
+			assertEquals(next.getValue(), entry.getValue());
+		}
+		assertFalse(entries.hasNext());
+
+		entries = expected.subMap(2_000, 3_000).entrySet().iterator();
+		for (SimpleSortedTable<Integer, Integer>.TableEntry entry : table.range(2_000, 3_000)) {
+			assertEquals(entries.next().getKey(), entry.getKey());
+		}
+		assertFalse(entries.hasNext());
+
+		Iterator<SimpleSortedTable<Integer, Integer>.TableEntry> iterator = table.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().getKey() % 2 == 0) {
+				iterator.remove();
+			}
+		}
+		expected.keySet().removeIf(key -> key % 2 == 0);
+		assertEquals(expected.size(), table.size());
+		assertEquals(expected.firstKey(), table.firstEntry().getKey());
+		assertEquals(expected.lastKey(), table.lastEntry().getKey());
+
+		Iterator<SimpleSortedTable<Integer, Integer>.TableEntry> modified = table.iterator();
+		table.put(-1, -1);
+		Assertions.assertThrows(ConcurrentModificationException.class, () -> modified.next());
+	}
+
+	@Test
+	void testComparator() {
+		SimpleSortedTable<String, Integer> table = new SimpleSortedTable<String, Integer>(
+				String.CASE_INSENSITIVE_ORDER.reversed());
+		table.put("a", 1);
+		table.put("B", 2);
+		table.put("c", 3);
+		table.put("A", 4);
+
+		assertEquals(3, table.size());
+		assertEquals(4, table.get("a"));
+		assertEquals("c", table.firstEntry().getKey());
+		assertEquals("B", table.floorEntry("b").getKey());
+	}
+}
@@ -0,0 +1,128 @@
+package hr.fer.zemris.hw05.db.jmh;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.zemris.hw05.db.ComparisonOperator;
+import hr.fer.zemris.hw05.db.ConditionalExpression;
+import hr.fer.zemris.hw05.db.Lexer;
+import hr.fer.zemris.hw05.db.Parser;
+import hr.fer.zemris.hw05.db.QueryFilter;
+import hr.fer.zemris.hw05.db.QueryParser;
+import hr.fer.zemris.hw05.db.StudentRecord;
+import hr.fer.zemris.hw05.db.Token;
+import hr.fer.zemris.hw05.db.TokenType;
+
+/**
+ * Benchmarks of the query engine parts that don't depend on database size:
+ * {@link Lexer}, {@link Parser}, {@link QueryFilter#accepts(StudentRecord)} and
+ * {@link ComparisonOperator#LIKE}.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryEngineBenchmark {
+
+	/* ============= CONSTANTS ============= */
+	private static final String SIMPLE_QUERY = "query jmbag = \"0000000003\"";
+	private static final String MULTI_CLAUSE_QUERY = "query firstName>\"A\" and lastName LIKE \"B*ć\" and jmbag<\"0000000050\" and finalGrade >= 3";
+	private static final String LIKE_PATTERN = "B*ov?ć";
+	private static final int RECORDS = 1024;
+	/* ===================================== */
+
+	/**
+	 * Records the filter is evaluated on
+	 */
+	private StudentRecord[] records;
+
+	/**
+	 * Last names the LIKE operator is evaluated on
+	 */
+	private String[] lastNames;
+
+	/**
+	 * Filter of the multi-clause query
+	 */
+	private QueryFilter filter;
+
+	/**
+	 * Method that generates records and parses the filter.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(RosterGenerator.DEFAULT_SEED);
+		records = new StudentRecord[RECORDS];
+		lastNames = new String[RECORDS];
+		for (int i = 0; i < RECORDS; i++) {
+			String lastName = i % 3 == 0 ? "Bakamović" : i % 3 == 1 ? "Brezovac" : "Horvat";
+			lastNames[i] = lastName;
+			records[i] = new StudentRecord(RosterGenerator.jmbag(i),
+					RosterGenerator.FIRST_NAMES[random.nextInt(RosterGenerator.FIRST_NAMES.length)], lastName,
+					1 + random.nextInt(5));
+		}
+
+		filter = new QueryFilter(new QueryParser(MULTI_CLAUSE_QUERY).getQuery());
+	}
+
+	@Benchmark
+	public void lexMultiClause(Blackhole blackhole) {
+		Lexer lexer = new Lexer(MULTI_CLAUSE_QUERY);
+		Token token;
+		do {
+			token = lexer.getNextToken();
+			blackhole.consume(token);
+		} while (token.getType() != TokenType.EOF);
+	}
+
+	@Benchmark
+	public List<ConditionalExpression> parseSimple() {
+		return new Parser(SIMPLE_QUERY).getExpressions();
+	}
+
+	@Benchmark
+	public List<ConditionalExpression> parseMultiClause() {
+		return new Parser(MULTI_CLAUSE_QUERY).getExpressions();
+	}
+
+	@Benchmark
+	public int filterAccepts() {
+		int accepted = 0;
+		for (StudentRecord record : records) {
+			if (filter.accepts(record)) {
+				accepted++;
+			}
+		}
+		return accepted;
+	}
+
+	@Benchmark
+	public int likeSatisfied() {
+		int satisfied = 0;
+		for (String lastName : lastNames) {
+			if (ComparisonOperator.LIKE.satisfied(lastName, LIKE_PATTERN)) {
+				satisfied++;
+			}
+		}
+		return satisfied;
+	}
+}
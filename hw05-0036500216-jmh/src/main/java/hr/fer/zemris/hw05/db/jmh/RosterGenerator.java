@@ -0,0 +1,135 @@
+package hr.fer.zemris.hw05.db.jmh;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import hr.fer.zemris.hw05.db.StudentDatabaseLoader;
+
+/**
+ * Class that generates synthetic student rosters in the format of
+ * database.txt, so that {@link StudentDatabaseLoader} can load databases of any
+ * size. Row i gets jmbag i + 1 padded to ten digits, names are drawn from fixed
+ * pools and grades are uniform between 1 and 5. Same seed always generates the
+ * same roster.
+ * <p>
+ * It can also be started from the command line to write a database for
+ * StudentDB: <code>RosterGenerator database.txt 1000000</code>.
+ *
+ * @author ilovrencic
+ *
+ */
+public class RosterGenerator {
+
+	/* ============= CONSTANTS ============= */
+	public static final long DEFAULT_SEED = 42;
+	private static final int JMBAG_LENGTH = 10;
+	/* ===================================== */
+
+	/**
+	 * Pool of first names
+	 */
+	public static final String[] FIRST_NAMES = { "Marin", "Petra", "Andrea", "Jusufadis", "Ivan", "Luka", "Ana",
+			"Marko", "Iva", "Josip", "Maja", "Tomislav", "Katarina", "Filip", "Lucija", "Matej", "Sara", "Domagoj",
+			"Nika", "Karlo", "Ema", "Dino", "Lana", "Bruno", "Mia", "Tin", "Klara", "Ante", "Dora", "Fran", "Lea",
+			"Stjepan", "Tena", "Vedran", "Zrinka", "Hrvoje", "Paula", "Krešimir", "Nina", "Željko" };
+
+	/**
+	 * Roots of last names, every root is combined with every suffix
+	 */
+	private static final String[] LAST_NAME_ROOTS = { "Akšam", "Bakam", "Bosn", "Bož", "Brez", "Cvetk", "Dean",
+			"Dokl", "Glav", "Gul", "Hibner", "Horvat", "Jakob", "Jurin", "Kalvar", "Kovač", "Lozan", "Marić", "Novak",
+			"Perkov", "Rajh", "Šimun", "Tomić", "Vukov", "Zadr" };
+
+	/**
+	 * Suffixes of last names
+	 */
+	private static final String[] LAST_NAME_SUFFIXES = { "ić", "ović", "ec", "ar", "ski", "" };
+
+	/**
+	 * Default constructor
+	 */
+	private RosterGenerator() {
+	}
+
+	/**
+	 * Main method. First argument is the path of the generated file, second is the
+	 * number of rows and the optional third is the seed.
+	 *
+	 * @param args - program arguments
+	 * @throws IOException if the file can't be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: RosterGenerator <file> <rows> [seed]");
+			return;
+		}
+
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+		write(Paths.get(args[0]), Integer.parseInt(args[1]), seed);
+	}
+
+	/**
+	 * Method that writes a roster of the given size to the given file.
+	 *
+	 * @param path - file we are writing to
+	 * @param rows - number of rows
+	 * @param seed - seed of the random generator
+	 * @throws IOException if the file can't be written
+	 */
+	public static void write(Path path, int rows, long seed) throws IOException {
+		if (rows < 0) {
+			throw new IllegalArgumentException("Number of rows can't be negative!");
+		}
+
+		Random random = new Random(seed);
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			for (int row = 0; row < rows; row++) {
+				writer.write(jmbag(row));
+				writer.write('\t');
+				writer.write(LAST_NAME_ROOTS[random.nextInt(LAST_NAME_ROOTS.length)]);
+				writer.write(LAST_NAME_SUFFIXES[random.nextInt(LAST_NAME_SUFFIXES.length)]);
+				writer.write('\t');
+				writer.write(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+				writer.write('\t');
+				writer.write('1' + random.nextInt(5));
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Method that writes a roster of the given size to a temporary file.
+	 *
+	 * @param rows - number of rows
+	 * @param seed - seed of the random generator
+	 * @return path of the temporary file
+	 * @throws IOException if the file can't be written
+	 */
+	public static Path writeTemporary(int rows, long seed) throws IOException {
+		Path path = Files.createTempFile("roster-" + rows + "-", ".txt");
+		path.toFile().deleteOnExit();
+		write(path, rows, seed);
+		return path;
+	}
+
+	/**
+	 * Method that returns the jmbag of the given row.
+	 *
+	 * @param row - row of the record
+	 * @return jmbag of that row
+	 */
+	public static String jmbag(int row) {
+		char[] jmbag = new char[JMBAG_LENGTH];
+		int value = row + 1;
+		for (int i = JMBAG_LENGTH - 1; i >= 0; i--) {
+			jmbag[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return new String(jmbag);
+	}
+}
@@ -0,0 +1,156 @@
+package hr.fer.zemris.hw05.db.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.hw05.db.ColumnarStudentStore;
+import hr.fer.zemris.hw05.db.IFilter;
+import hr.fer.zemris.hw05.db.QueryFilter;
+import hr.fer.zemris.hw05.db.QueryParser;
+import hr.fer.zemris.hw05.db.QueryPlan;
+import hr.fer.zemris.hw05.db.QueryPlanner;
+import hr.fer.zemris.hw05.db.RowStudentStore;
+import hr.fer.zemris.hw05.db.StudentDatabase;
+import hr.fer.zemris.hw05.db.StudentDatabaseLoader;
+import hr.fer.zemris.hw05.db.StudentRecord;
+
+/**
+ * Benchmarks of {@link StudentDatabase} queries over a roster generated by
+ * {@link RosterGenerator}: point lookups, full scans, LIKE scans and
+ * multi-clause queries. Rosters of 10M rows need a bigger heap, for example
+ * <code>-p rows=10000000 -jvmArgs -Xmx8g</code>.
+ *
+ * @author ilovrencic
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentDatabaseBenchmark {
+
+	/* ============= CONSTANTS ============= */
+	private static final String FULL_SCAN_QUERY = "query finalGrade = 5";
+	private static final String LIKE_SCAN_QUERY = "query lastName LIKE \"*ović\"";
+	private static final String PREFIX_LIKE_QUERY = "query lastName LIKE \"Ba*\"";
+	private static final String MULTI_CLAUSE_QUERY = "query firstName = \"Marin\" and lastName LIKE \"B*\" and finalGrade > 3";
+	private static final int LOOKUPS = 1024;
+	/* ===================================== */
+
+	/**
+	 * Number of rows in the roster
+	 */
+	@Param({ "10000", "100000", "1000000" })
+	public int rows;
+
+	/**
+	 * Backing store of the database: row or columnar
+	 */
+	@Param({ "row", "columnar" })
+	public String store;
+
+	/**
+	 * Database we are querying
+	 */
+	private StudentDatabase database;
+
+	/**
+	 * Jmbags used for point lookups, half of them aren't in the database
+	 */
+	private String[] jmbags;
+
+	/**
+	 * Index of the next point lookup
+	 */
+	private int next;
+
+	/* ============= FILTERS ============= */
+	private IFilter fullScanFilter;
+	private IFilter likeScanFilter;
+	private QueryPlan prefixLikePlan;
+	private QueryPlan multiClausePlan;
+	private QueryParser multiClauseQuery;
+	/* =================================== */
+
+	/**
+	 * Method that generates the roster, loads it and prepares the queries.
+	 *
+	 * @throws IOException if the roster can't be written or read
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		Path roster = RosterGenerator.writeTemporary(rows, RosterGenerator.DEFAULT_SEED);
+		try {
+			database = StudentDatabaseLoader.load(roster,
+					store.equals("columnar") ? new ColumnarStudentStore() : new RowStudentStore());
+		} finally {
+			Files.deleteIfExists(roster);
+		}
+
+		jmbags = new String[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			jmbags[i] = RosterGenerator.jmbag(i % 2 == 0 ? (int) ((long) i * rows / LOOKUPS) : rows + i);
+		}
+
+		fullScanFilter = new QueryFilter(new QueryParser(FULL_SCAN_QUERY).getQuery());
+		likeScanFilter = new QueryFilter(new QueryParser(LIKE_SCAN_QUERY).getQuery());
+		prefixLikePlan = new QueryPlanner(database).plan(new QueryParser(PREFIX_LIKE_QUERY).getQuery());
+		multiClauseQuery = new QueryParser(MULTI_CLAUSE_QUERY);
+		multiClausePlan = new QueryPlanner(database).plan(multiClauseQuery.getQuery());
+	}
+
+	@Benchmark
+	public StudentRecord pointLookup() {
+		next = (next + 1) & (LOOKUPS - 1);
+		return database.forJMBAG(jmbags[next]);
+	}
+
+	@Benchmark
+	public List<StudentRecord> fullScan() {
+		return database.filter(fullScanFilter);
+	}
+
+	@Benchmark
+	public List<StudentRecord> likeScan() {
+		return database.filter(likeScanFilter);
+	}
+
+	@Benchmark
+	public List<StudentRecord> prefixLikeIndexed() {
+		return database.execute(prefixLikePlan);
+	}
+
+	@Benchmark
+	public List<StudentRecord> multiClausePlanned() {
+		return database.execute(multiClausePlan);
+	}
+
+	@Benchmark
+	public List<StudentRecord> multiClauseFullScan() {
+		return database.filter(new QueryFilter(multiClauseQuery.getQuery()));
+	}
+
+	@Benchmark
+	public List<StudentRecord> multiClauseEndToEnd() {
+		QueryParser parser = new QueryParser(MULTI_CLAUSE_QUERY);
+		return database.execute(new QueryPlanner(database).plan(parser.getQuery()));
+	}
+}
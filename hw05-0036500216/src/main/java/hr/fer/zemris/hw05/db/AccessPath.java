@@ -0,0 +1,26 @@
+package hr.fer.zemris.hw05.db;
+
+/**
+ * Enum that represents all the ways {@link StudentDatabase} can retrieve
+ * records for a {@link QueryPlan}.
+ *
+ * @author ilovrencic
+ *
+ */
+public enum AccessPath {
+
+	/**
+	 * Represents a direct retrieval of one record through jmbag index.
+	 */
+	JMBAG_LOOKUP,
+
+	/**
+	 * Represents a retrieval of records through {@link SecondaryIndex}.
+	 */
+	INDEX_SCAN,
+
+	/**
+	 * Represents a scan through all records in database.
+	 */
+	FULL_SCAN
+}
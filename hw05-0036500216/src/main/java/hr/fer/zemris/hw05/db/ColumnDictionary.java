@@ -0,0 +1,86 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class that dictionary-encodes values of one {@link ColumnarStudentStore}
+ * column. Every distinct value is stored only once and gets an int code, so the
+ * column itself can be a primitive array of codes.
+ *
+ * @author ilovrencic
+ *
+ */
+class ColumnDictionary {
+
+	/**
+	 * Codes of stored values
+	 */
+	private Map<String, Integer> codes;
+
+	/**
+	 * Stored values, position in the list is the value code
+	 */
+	private List<String> values;
+
+	/**
+	 * Default constructor
+	 */
+	ColumnDictionary() {
+		codes = new HashMap<String, Integer>();
+		values = new ArrayList<String>();
+	}
+
+	/**
+	 * Method that returns code of the given value, adding the value to the
+	 * dictionary if it isn't already there.
+	 *
+	 * @param value - value we are encoding
+	 * @return code of the value
+	 */
+	int encode(String value) {
+		Integer code = codes.get(value);
+		if (code == null) {
+			code = values.size();
+			codes.put(value, code);
+			values.add(value);
+		}
+		return code;
+	}
+
+	/**
+	 * Method that returns value for the given code.
+	 *
+	 * @param code - code of the value
+	 * @return value
+	 */
+	String decode(int code) {
+		return values.get(code);
+	}
+
+	/**
+	 * Method that evaluates the expression once for every distinct value. Result
+	 * is indexed by value codes, so checking a row is a single array access.
+	 *
+	 * @param expression - expression we are evaluating
+	 * @return array of results indexed by codes
+	 */
+	boolean[] evaluate(ConditionalExpression expression) {
+		boolean[] accepted = new boolean[values.size()];
+		for (int code = 0; code < accepted.length; code++) {
+			accepted[code] = expression.matches(values.get(code));
+		}
+		return accepted;
+	}
+
+	/**
+	 * Method that returns the number of distinct values.
+	 *
+	 * @return number of distinct values
+	 */
+	int size() {
+		return values.size();
+	}
+}
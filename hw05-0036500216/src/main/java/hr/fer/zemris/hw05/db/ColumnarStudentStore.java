@@ -0,0 +1,211 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class that implements {@link IStudentStore} as columns. Jmbags are kept in
+ * one array, last and first names are dictionary-encoded into int arrays and
+ * final grades are kept in a primitive int array. {@link StudentRecord}s are
+ * created only for rows that are requested.
+ * <p>
+ * Expressions of {@link QueryFilter} are evaluated directly over the columns.
+ * In full scans the {@link IComparisonOperator} of a name expression is
+ * evaluated once for every distinct name, and rows are then checked with one
+ * array access. Candidate rows from an index are few, so their names are
+ * checked one by one instead. Final grade expressions are checked directly on
+ * the primitive grade column.
+ *
+ * @author ilovrencic
+ *
+ */
+public class ColumnarStudentStore implements IStudentStore {
+
+	/**
+	 * Default capacity of columns
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Column of jmbags
+	 */
+	private String[] jmbags;
+
+	/**
+	 * Column of last name codes
+	 */
+	private int[] lastNames;
+
+	/**
+	 * Column of first name codes
+	 */
+	private int[] firstNames;
+
+	/**
+	 * Column of final grades
+	 */
+	private int[] finalGrades;
+
+	/**
+	 * Dictionary of last names
+	 */
+	private ColumnDictionary lastNameDictionary;
+
+	/**
+	 * Dictionary of first names
+	 */
+	private ColumnDictionary firstNameDictionary;
+
+	/**
+	 * Number of rows
+	 */
+	private int size;
+
+	/**
+	 * Default constructor
+	 */
+	public ColumnarStudentStore() {
+		jmbags = new String[DEFAULT_CAPACITY];
+		lastNames = new int[DEFAULT_CAPACITY];
+		firstNames = new int[DEFAULT_CAPACITY];
+		finalGrades = new int[DEFAULT_CAPACITY];
+		lastNameDictionary = new ColumnDictionary();
+		firstNameDictionary = new ColumnDictionary();
+	}
+
+	@Override
+	public void add(StudentRecord record) {
+		if (size == jmbags.length) {
+			int capacity = jmbags.length * 2;
+			jmbags = Arrays.copyOf(jmbags, capacity);
+			lastNames = Arrays.copyOf(lastNames, capacity);
+			firstNames = Arrays.copyOf(firstNames, capacity);
+			finalGrades = Arrays.copyOf(finalGrades, capacity);
+		}
+
+		jmbags[size] = record.getJmbag();
+		lastNames[size] = lastNameDictionary.encode(record.getLastName());
+		firstNames[size] = firstNameDictionary.encode(record.getFirstName());
+		finalGrades[size] = record.getFinalGrade();
+		size++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public StudentRecord get(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " doesn't exist!");
+		}
+
+		return new StudentRecord(jmbags[row], firstNameDictionary.decode(firstNames[row]),
+				lastNameDictionary.decode(lastNames[row]), finalGrades[row]);
+	}
+
+	@Override
+	public String getJmbag(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " doesn't exist!");
+		}
+
+		return jmbags[row];
+	}
+
+	@Override
+	public int getFinalGrade(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " doesn't exist!");
+		}
+
+		return finalGrades[row];
+	}
+
+	@Override
+	public IRowMatcher matcher(IFilter filter) {
+		return matcher(filter, true);
+	}
+
+	@Override
+	public IRowMatcher candidateMatcher(IFilter filter) {
+		return matcher(filter, false);
+	}
+
+	/**
+	 * Method that compiles {@link IFilter} into {@link IRowMatcher}.
+	 *
+	 * @param filter - filter we are compiling
+	 * @param scan   - true if the matcher is used for a full scan
+	 * @return matcher for the filter
+	 */
+	private IRowMatcher matcher(IFilter filter, boolean scan) {
+		if (!(filter instanceof QueryFilter)) {
+			return row -> filter.accepts(get(row));
+		}
+
+		List<ConditionalExpression> expressions = ((QueryFilter) filter).getExpressions();
+		IRowMatcher[] matchers = new IRowMatcher[expressions.size()];
+		for (int i = 0; i < matchers.length; i++) {
+			matchers[i] = compile(expressions.get(i), scan);
+		}
+
+		return row -> {
+			for (IRowMatcher matcher : matchers) {
+				if (!matcher.matches(row)) {
+					return false;
+				}
+			}
+			return true;
+		};
+	}
+
+	/**
+	 * Method that compiles {@link ConditionalExpression} into
+	 * {@link IRowMatcher} that reads only the column of the expression field.
+	 * Only matchers for full scans evaluate name expressions over the whole
+	 * dictionary.
+	 *
+	 * @param expression - expression we are compiling
+	 * @param scan       - true if the matcher is used for a full scan
+	 * @return matcher for the expression
+	 */
+	private IRowMatcher compile(ConditionalExpression expression, boolean scan) {
+		IFieldValueGetter getter = expression.getGetter();
+
+		if (getter == FieldValueGetters.LAST_NAME) {
+			return compile(expression, lastNameDictionary, lastNames, scan);
+		} else if (getter == FieldValueGetters.FIRST_NAME) {
+			return compile(expression, firstNameDictionary, firstNames, scan);
+		} else if (getter == FieldValueGetters.JMBAG) {
+			String[] column = jmbags;
+			return row -> expression.matches(column[row]);
+		} else if (getter == FieldValueGetters.FINAL_GRADE) {
+			int[] column = finalGrades;
+			return row -> expression.matches(column[row]);
+		}
+
+		return row -> expression.satisfies(get(row));
+	}
+
+	/**
+	 * Method that compiles an expression over a dictionary-encoded column.
+	 *
+	 * @param expression - expression we are compiling
+	 * @param dictionary - dictionary of the column
+	 * @param column     - column of codes
+	 * @param scan       - true if the matcher is used for a full scan
+	 * @return matcher for the expression
+	 */
+	private static IRowMatcher compile(ConditionalExpression expression, ColumnDictionary dictionary, int[] column,
+			boolean scan) {
+		if (!scan) {
+			return row -> expression.matches(dictionary.decode(column[row]));
+		}
+
+		boolean[] accepted = dictionary.evaluate(expression);
+		return row -> accepted[column[row]];
+	}
+
+}
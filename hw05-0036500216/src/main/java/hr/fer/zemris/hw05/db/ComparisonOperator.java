@@ -1,7 +1,10 @@
 package hr.fer.zemris.hw05.db;
 
+import java.util.function.Predicate;
+
 /**
- * Class that initializes different {@link ComparisonOperator}.
+ * Class that initializes different {@link ComparisonOperator}. Relational
+ * operators compare ints as numbers and {@link String}s lexicographically.
  * 
  * @author ilovrencic
  *
@@ -17,6 +20,11 @@ public class ComparisonOperator {
 		public boolean satisfied(String value1, String value2) {
 			return value1.compareTo(value2) < 0;
 		}
+
+		@Override
+		public boolean satisfied(int value1, int value2) {
+			return value1 < value2;
+		}
 	};
 
 	/**
@@ -28,6 +36,11 @@ public class ComparisonOperator {
 		public boolean satisfied(String value1, String value2) {
 			return value1.compareTo(value2) <= 0;
 		}
+
+		@Override
+		public boolean satisfied(int value1, int value2) {
+			return value1 <= value2;
+		}
 	};
 
 	/**
@@ -39,6 +52,11 @@ public class ComparisonOperator {
 		public boolean satisfied(String value1, String value2) {
 			return value1.compareTo(value2) > 0;
 		}
+
+		@Override
+		public boolean satisfied(int value1, int value2) {
+			return value1 > value2;
+		}
 	};
 
 	/**
@@ -50,6 +68,11 @@ public class ComparisonOperator {
 		public boolean satisfied(String value1, String value2) {
 			return value1.compareTo(value2) >= 0;
 		}
+
+		@Override
+		public boolean satisfied(int value1, int value2) {
+			return value1 >= value2;
+		}
 	};
 
 	/**
@@ -61,6 +84,11 @@ public class ComparisonOperator {
 		public boolean satisfied(String value1, String value2) {
 			return value1.equals(value2);
 		}
+
+		@Override
+		public boolean satisfied(int value1, int value2) {
+			return value1 == value2;
+		}
 	};
 
 	/**
@@ -72,76 +100,57 @@ public class ComparisonOperator {
 		public boolean satisfied(String value1, String value2) {
 			return !value1.equals(value2);
 		}
+
+		@Override
+		public boolean satisfied(int value1, int value2) {
+			return value1 != value2;
+		}
 	};
 
 	/**
 	 * Class that check whether the first {@link String} satisfies the pattern that
-	 * is presented in second {@link String}. E.g. "AAAA" and "AA*AA" should return
-	 * true, but "AAA" and "AA*AA" should return false.
+	 * is presented in second {@link String}. Symbol * matches any sequence of
+	 * characters and symbol ? matches one character. E.g. "AAAA" and "AA*AA"
+	 * should return true, but "AAA" and "AA*AA" should return false. Pattern is
+	 * compiled into {@link LikePattern} once per {@link ConditionalExpression}.
 	 */
 	public static final IComparisonOperator LIKE = new IComparisonOperator() {
 		@Override
 		public boolean satisfied(String value1, String value2) {
-			if (containsMoreThanOneStar(value2)) {
-				throw new IllegalArgumentException("Matcher regex in LIKE operator contains more than one * symobol!");
-			}
-
-			String[] parts = value2.split("\\*");
-			if (parts.length == 2) {
-				if (value1.length() < parts[0].length() + parts[1].length()) {
-					return false;
-				}
-
-				String leftSubstring = value1.substring(0, parts[0].length());
-				String rightSubstring = value1.substring(value1.length() - parts[1].length(), value1.length());
-
-				if (leftSubstring.equals(parts[0]) && rightSubstring.equals(parts[1])) {
-					return true;
-				} else {
-					return false;
-				}
-			} else {
-				if (value1.length() < parts[0].length()) {
-					return false;
-				}
-
-				if (value2.charAt(0) == '*') {
-					String rightSubstring = value1.substring(value1.length() - parts[0].length(), value1.length());
-					return rightSubstring.equals(parts[0]);
-
-				} else if (value2.charAt(value2.length() - 1) == '*') {
-
-					String leftSubstring = value1.substring(0, parts[0].length());
-					return leftSubstring.equals(parts[0]);
-
-				} else {
-					throw new IllegalArgumentException("There shouldn't be more than one * symbol!");
-				}
-			}
+			return new LikePattern(value2).matches(value1);
 		}
 
-		/**
-		 * Method that checks whether the pattern contains more than one * symbol.
-		 * 
-		 * @param value - string we want to check
-		 * @return false if there isn't more than one, otherwise true
-		 */
-		private boolean containsMoreThanOneStar(String value) {
-			char[] letters = value.toCharArray();
-
-			int counter = 0;
-			for (Character letter : letters) {
-				if (letter == '*') {
-					counter++;
-				}
-
-				if (counter == 2) {
-					return true;
-				}
-			}
-
-			return counter > 1;
+		@Override
+		public Predicate<String> compile(String value2) {
+			return new LikePattern(value2);
 		}
 	};
 
+	/**
+	 * Method that returns the query symbol of the given
+	 * {@link IComparisonOperator}.
+	 * 
+	 * @param operator - operator whose symbol we want
+	 * @return symbol of the operator
+	 */
+	public static String symbolOf(IComparisonOperator operator) {
+		if (operator == LESS) {
+			return "<";
+		} else if (operator == LESS_OR_EQUALS) {
+			return "<=";
+		} else if (operator == GREATER) {
+			return ">";
+		} else if (operator == GREATER_OR_EQUAL) {
+			return ">=";
+		} else if (operator == EQUALS) {
+			return "=";
+		} else if (operator == NOT_EQUALS) {
+			return "!=";
+		} else if (operator == LIKE) {
+			return "LIKE";
+		}
+
+		return String.valueOf(operator);
+	}
+
 }
@@ -1,5 +1,8 @@
 package hr.fer.zemris.hw05.db;
 
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
 /**
  * Class that stores {@link IComparisonOperator}, {@link IFieldValueGetter} and
  * {@link String} and than checks whether {@link StudentRecord} satisfies this
@@ -25,6 +28,17 @@ public class ConditionalExpression {
 	 */
 	private String literal;
 
+	/**
+	 * Operator compiled with the literal, used for checking values.
+	 */
+	private Predicate<String> predicate;
+
+	/**
+	 * Operator compiled with the int literal, used for checking values of
+	 * {@link IIntFieldValueGetter} fields. It is null for textual fields.
+	 */
+	private IntPredicate intPredicate;
+
 	/**
 	 * Default constructor
 	 * 
@@ -39,6 +53,66 @@ public class ConditionalExpression {
 		this.operator = operator;
 		this.getter = getter;
 		this.literal = literal;
+
+		if (getter instanceof IIntFieldValueGetter && operator != ComparisonOperator.LIKE) {
+			try {
+				IntPredicate compiled = operator.compile(Integer.parseInt(literal.trim()));
+				this.intPredicate = compiled;
+				this.predicate = value -> compiled.test(Integer.parseInt(value));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Literal of numeric field must be an integer!");
+			}
+		} else {
+			this.predicate = operator.compile(literal);
+		}
+	}
+
+	/**
+	 * Method that checks whether this expression compares int values.
+	 * 
+	 * @return true if it does, otherwise false
+	 */
+	public boolean isNumeric() {
+		return intPredicate != null;
+	}
+
+	/**
+	 * Method that checks whether the given int field value satisfies this
+	 * expression.
+	 * 
+	 * @param value - value of the expression field
+	 * @return true if it is satisfied, otherwise false
+	 */
+	public boolean matches(int value) {
+		if (intPredicate == null) {
+			return predicate.test(String.valueOf(value));
+		}
+
+		return intPredicate.test(value);
+	}
+
+	/**
+	 * Method that checks whether the given field value satisfies this expression.
+	 * 
+	 * @param value - value of the expression field
+	 * @return true if it is satisfied, otherwise false
+	 */
+	public boolean matches(String value) {
+		return predicate.test(value);
+	}
+
+	/**
+	 * Method that checks whether {@link StudentRecord} satisfies this expression.
+	 * 
+	 * @param record - record we are checking
+	 * @return true if it is satisfied, otherwise false
+	 */
+	public boolean satisfies(StudentRecord record) {
+		if (intPredicate != null) {
+			return intPredicate.test(((IIntFieldValueGetter) getter).getInt(record));
+		}
+
+		return predicate.test(getter.get(record));
 	}
 
 	/* -------- GETTERS ---------- */
@@ -57,4 +131,10 @@ public class ConditionalExpression {
 
 	/* ---------------------------- */
 
+	@Override
+	public String toString() {
+		String value = isNumeric() ? literal.trim() : "\"" + literal + "\"";
+		return FieldValueGetters.nameOf(getter) + " " + ComparisonOperator.symbolOf(operator) + " " + value;
+	}
+
 }
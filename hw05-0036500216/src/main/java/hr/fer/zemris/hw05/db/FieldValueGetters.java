@@ -23,4 +23,31 @@ public class FieldValueGetters {
 	 */
 	public static final IFieldValueGetter JMBAG = (record) -> record.getJmbag();
 
+	/**
+	 * Class that defines a method that returns {@link StudentRecord} final grade
+	 * as a primitive int.
+	 */
+	public static final IIntFieldValueGetter FINAL_GRADE = (record) -> record.getFinalGrade();
+
+	/**
+	 * Method that returns the query name of the field that given
+	 * {@link IFieldValueGetter} returns.
+	 * 
+	 * @param getter - getter whose field name we want
+	 * @return name of the field
+	 */
+	public static String nameOf(IFieldValueGetter getter) {
+		if (getter == FIRST_NAME) {
+			return "firstName";
+		} else if (getter == LAST_NAME) {
+			return "lastName";
+		} else if (getter == JMBAG) {
+			return "jmbag";
+		} else if (getter == FINAL_GRADE) {
+			return "finalGrade";
+		}
+
+		return String.valueOf(getter);
+	}
+
 }
@@ -0,0 +1,99 @@
+package hr.fer.zemris.hw05.db;
+
+/**
+ * Class that accumulates aggregate values of final grades: number of records,
+ * average grade and a histogram of grades. Statistics are computed in one pass
+ * over the records, without storing them. Histogram covers grades from
+ * {@link #MIN_GRADE} to {@link #MAX_GRADE}, other grades are counted only in
+ * number of records and average.
+ *
+ * @author ilovrencic
+ *
+ */
+public class GradeStatistics {
+
+	/* ============= CONSTANTS ============= */
+	public static final int MIN_GRADE = 1;
+	public static final int MAX_GRADE = 5;
+	/* ===================================== */
+
+	/**
+	 * Number of records
+	 */
+	private long count;
+
+	/**
+	 * Sum of all grades
+	 */
+	private long sum;
+
+	/**
+	 * Number of records for every grade
+	 */
+	private long[] histogram;
+
+	/**
+	 * Default constructor
+	 */
+	public GradeStatistics() {
+		histogram = new long[MAX_GRADE - MIN_GRADE + 1];
+	}
+
+	/**
+	 * Method that adds one final grade to the statistics.
+	 *
+	 * @param grade - final grade of a record
+	 */
+	public void add(int grade) {
+		count++;
+		sum += grade;
+		if (grade >= MIN_GRADE && grade <= MAX_GRADE) {
+			histogram[grade - MIN_GRADE]++;
+		}
+	}
+
+	/**
+	 * Method that adds all values from other statistics to these statistics.
+	 *
+	 * @param other - statistics we are adding
+	 */
+	public void combine(GradeStatistics other) {
+		count += other.count;
+		sum += other.sum;
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] += other.histogram[i];
+		}
+	}
+
+	/**
+	 * Getter for count
+	 *
+	 * @return number of records
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Method that returns the average grade. If there are no records, returns 0.
+	 *
+	 * @return average grade
+	 */
+	public double getAverage() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * Method that returns the number of records with the given grade.
+	 *
+	 * @param grade - grade from {@link #MIN_GRADE} to {@link #MAX_GRADE}
+	 * @return number of records with that grade
+	 */
+	public long getGradeCount(int grade) {
+		if (grade < MIN_GRADE || grade > MAX_GRADE) {
+			throw new IllegalArgumentException("Grade must be between " + MIN_GRADE + " and " + MAX_GRADE + "!");
+		}
+
+		return histogram[grade - MIN_GRADE];
+	}
+}
@@ -1,5 +1,8 @@
 package hr.fer.zemris.hw05.db;
 
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
 /**
  * Interface that defines a method that checks whether comparison between two
  * {@link String}s is satisfied.
@@ -19,4 +22,40 @@ public interface IComparisonOperator {
 	 */
 	public boolean satisfied(String value1, String value2);
 
+	/**
+	 * Method that binds the second {@link String} of the comparison and returns a
+	 * {@link Predicate} that checks the first one. Operators can override this
+	 * method to prepare the literal once instead of on every comparison.
+	 * 
+	 * @param value2 - string two
+	 * @return predicate that checks whether comparison is satisfied
+	 */
+	public default Predicate<String> compile(String value2) {
+		return value1 -> satisfied(value1, value2);
+	}
+
+	/**
+	 * Method that checks whether the comparison between two ints is satisfied.
+	 * Default implementation compares their {@link String} forms, relational
+	 * operators override it to compare numbers.
+	 * 
+	 * @param value1 - int one
+	 * @param value2 - int two
+	 * @return - true if comparison is satisfied and false otherwise
+	 */
+	public default boolean satisfied(int value1, int value2) {
+		return satisfied(String.valueOf(value1), String.valueOf(value2));
+	}
+
+	/**
+	 * Method that binds the second int of the comparison and returns an
+	 * {@link IntPredicate} that checks the first one.
+	 * 
+	 * @param value2 - int two
+	 * @return predicate that checks whether comparison is satisfied
+	 */
+	public default IntPredicate compile(int value2) {
+		return value1 -> satisfied(value1, value2);
+	}
+
 }
@@ -0,0 +1,27 @@
+package hr.fer.zemris.hw05.db;
+
+/**
+ * Interface that defines method for obtaining the requested integer field from
+ * {@link StudentRecord} without converting it to {@link String}. Expressions on
+ * such fields are compared as numbers.
+ *
+ * @author ilovrencic
+ *
+ */
+public interface IIntFieldValueGetter extends IFieldValueGetter {
+
+	/**
+	 * Method that for a given {@link StudentRecord} returns the requested integer
+	 * field
+	 *
+	 * @param record - {@link StudentRecord}
+	 * @return field we want from the {@link StudentRecord}
+	 */
+	public int getInt(StudentRecord record);
+
+	@Override
+	public default String get(StudentRecord record) {
+		return String.valueOf(getInt(record));
+	}
+
+}
@@ -0,0 +1,21 @@
+package hr.fer.zemris.hw05.db;
+
+/**
+ * Interface that checks whether a record on some row of {@link IStudentStore}
+ * should be accepted. Matchers are created from {@link IFilter}s by the store,
+ * so they can evaluate predicates directly over the store's layout.
+ *
+ * @author ilovrencic
+ *
+ */
+public interface IRowMatcher {
+
+	/**
+	 * Method that checks whether the record on the given row is accepted.
+	 *
+	 * @param row - row of the record in store
+	 * @return true if it is, otherwise false
+	 */
+	public boolean matches(int row);
+
+}
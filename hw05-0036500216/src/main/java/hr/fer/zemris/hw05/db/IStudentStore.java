@@ -0,0 +1,73 @@
+package hr.fer.zemris.hw05.db;
+
+/**
+ * Interface that represents a backing store of {@link StudentDatabase}. Store
+ * keeps records in rows numbered from zero in the order they were added.
+ *
+ * @author ilovrencic
+ *
+ */
+public interface IStudentStore {
+
+	/**
+	 * Method that adds {@link StudentRecord} to the next row of the store.
+	 *
+	 * @param record - record we are adding
+	 */
+	public void add(StudentRecord record);
+
+	/**
+	 * Method that returns the number of rows in the store.
+	 *
+	 * @return number of rows
+	 */
+	public int size();
+
+	/**
+	 * Method that returns {@link StudentRecord} on the given row.
+	 *
+	 * @param row - row of the record
+	 * @return record on that row
+	 */
+	public StudentRecord get(int row);
+
+	/**
+	 * Method that returns the jmbag of the record on the given row without
+	 * creating {@link StudentRecord}, if the store doesn't already keep it.
+	 *
+	 * @param row - row of the record
+	 * @return jmbag of the record on that row
+	 */
+	public String getJmbag(int row);
+
+	/**
+	 * Method that returns the final grade of the record on the given row without
+	 * creating {@link StudentRecord}, if the store doesn't already keep it.
+	 *
+	 * @param row - row of the record
+	 * @return final grade of the record on that row
+	 */
+	public int getFinalGrade(int row);
+
+	/**
+	 * Method that creates {@link IRowMatcher} that accepts the same records as
+	 * the given {@link IFilter}. Matcher is meant for full scans, so the store may
+	 * prepare it in advance for all of its rows.
+	 *
+	 * @param filter - filter we are evaluating over the store
+	 * @return matcher for the filter
+	 */
+	public IRowMatcher matcher(IFilter filter);
+
+	/**
+	 * Method that creates {@link IRowMatcher} that accepts the same records as
+	 * the given {@link IFilter}. Matcher is meant for the few candidate rows that
+	 * an index returned, so it checks every row on its own without any
+	 * preparation.
+	 *
+	 * @param filter - filter we are evaluating over the candidate rows
+	 * @return matcher for the filter
+	 */
+	public IRowMatcher candidateMatcher(IFilter filter);
+
+}
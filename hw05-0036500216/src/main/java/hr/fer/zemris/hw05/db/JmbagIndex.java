@@ -0,0 +1,132 @@
+package hr.fer.zemris.hw05.db;
+
+/**
+ * Class that maps jmbags to rows of {@link IStudentStore}. It is an open
+ * addressing hash table with linear probing that keeps only two primitive
+ * arrays, one with hashes of jmbags and one with rows. Jmbags themselves aren't
+ * kept, they are read from the store when the hashes are the same, so the
+ * index doesn't create any object per record.
+ *
+ * @author ilovrencic
+ *
+ */
+class JmbagIndex {
+
+	/* ============= CONSTANTS ============= */
+	private static final int DEFAULT_CAPACITY = 16;
+	/* ===================================== */
+
+	/**
+	 * Store that keeps the jmbags
+	 */
+	private IStudentStore store;
+
+	/**
+	 * Hashes of the jmbags in slots
+	 */
+	private int[] hashes;
+
+	/**
+	 * Rows increased by one, zero marks an empty slot
+	 */
+	private int[] rows;
+
+	/**
+	 * Number of indexed rows
+	 */
+	private int size;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param store - store that keeps the jmbags
+	 */
+	JmbagIndex(IStudentStore store) {
+		if (store == null) {
+			throw new NullPointerException("Store shouldn't be null!");
+		}
+
+		this.store = store;
+		hashes = new int[DEFAULT_CAPACITY];
+		rows = new int[DEFAULT_CAPACITY];
+	}
+
+	/**
+	 * Method that returns the row of the record with the given jmbag.
+	 *
+	 * @param jmbag - jmbag we are looking for
+	 * @return row of the record, or -1 if there is no such record
+	 */
+	int get(String jmbag) {
+		int hash = hash(jmbag);
+		int mask = rows.length - 1;
+		for (int slot = hash & mask; rows[slot] != 0; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && store.getJmbag(rows[slot] - 1).equals(jmbag)) {
+				return rows[slot] - 1;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Method that indexes the record on the given row. Record must already be in
+	 * the store and its jmbag must not be indexed yet.
+	 *
+	 * @param row - row of the record
+	 */
+	void add(int row) {
+		if ((size + 1) * 2 > rows.length) {
+			resize(rows.length * 2);
+		}
+
+		insert(hash(store.getJmbag(row)), row + 1);
+		size++;
+	}
+
+	/**
+	 * Method that moves all slots to the new arrays of the given capacity.
+	 *
+	 * @param capacity - new capacity, power of two
+	 */
+	private void resize(int capacity) {
+		int[] oldHashes = hashes;
+		int[] oldRows = rows;
+		hashes = new int[capacity];
+		rows = new int[capacity];
+
+		for (int slot = 0; slot < oldRows.length; slot++) {
+			if (oldRows[slot] != 0) {
+				insert(oldHashes[slot], oldRows[slot]);
+			}
+		}
+	}
+
+	/**
+	 * Method that puts the hash and the row in the first empty slot.
+	 *
+	 * @param hash - hash of the jmbag
+	 * @param row  - row increased by one
+	 */
+	private void insert(int hash, int row) {
+		int mask = rows.length - 1;
+		int slot = hash & mask;
+		while (rows[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+
+		hashes[slot] = hash;
+		rows[slot] = row;
+	}
+
+	/**
+	 * Method that spreads the hash code of the jmbag over the lower bits.
+	 *
+	 * @param jmbag - jmbag we are hashing
+	 * @return hash of the jmbag
+	 */
+	private static int hash(String jmbag) {
+		int hash = jmbag.hashCode();
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -16,6 +16,7 @@ public class Lexer {
 	private static final String FIRST_NAME = "firstName";
 	private static final String LAST_NAME = "lastName";
 	private static final String JMBAG = "jmbag";
+	private static final String FINAL_GRADE = "finalGrade";
 	/* ===================================== */
 
 	/**
@@ -141,8 +142,8 @@ public class Lexer {
 	}
 
 	/**
-	 * Method that generates next textual token. This can be FIELD, QUERY or AND
-	 * token.
+	 * Method that generates next textual token. This can be FIELD, QUERY, AND
+	 * or unquoted integer VALUE token.
 	 * 
 	 * @return
 	 */
@@ -173,13 +174,36 @@ public class Lexer {
 			return new Token(TokenType.QUERY, text);
 		} else if (text.equals(LIKE)) {
 			return new Token(TokenType.SYMBOL, text);
-		} else if (text.equals(FIRST_NAME) || text.equals(LAST_NAME) || text.equals(JMBAG)) {
+		} else if (text.equals(FIRST_NAME) || text.equals(LAST_NAME) || text.equals(JMBAG)
+				|| text.equals(FINAL_GRADE)) {
 			return new Token(TokenType.FIELD, text);
+		} else if (isInteger(text)) {
+			return new Token(TokenType.VALUE, text);
 		} else {
 			throw new LexerException("Wrong argument in Lexer! This isn't a query: "+text);
 		}
 	}
 
+	/**
+	 * Method that checks whether the text is an unquoted integer literal.
+	 * 
+	 * @param text - text we are checking
+	 * @return true if it is, otherwise false
+	 */
+	private static boolean isInteger(String text) {
+		int start = text.startsWith("-") ? 1 : 0;
+		if (start == text.length()) {
+			return false;
+		}
+
+		for (int i = start; i < text.length(); i++) {
+			if (!Character.isDigit(text.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns next value token. This is text we are searching in query.
 	 * 
@@ -0,0 +1,155 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.function.Predicate;
+
+/**
+ * Class that represents a compiled pattern of {@link ComparisonOperator#LIKE}
+ * operator. Symbol * matches any sequence of characters (including an empty
+ * one) and symbol ? matches exactly one character. Pattern may contain any
+ * number of wildcards. Pattern is analysed once, when it is compiled, and
+ * matching doesn't allocate any objects.
+ *
+ * @author ilovrencic
+ *
+ */
+public class LikePattern implements Predicate<String> {
+
+	/* ============= CONSTANTS ============= */
+	private static final char ANY_SEQUENCE = '*';
+	private static final char ANY_CHARACTER = '?';
+	/* ===================================== */
+
+	/**
+	 * Original pattern
+	 */
+	private String pattern;
+
+	/**
+	 * Letters of the pattern
+	 */
+	private char[] letters;
+
+	/**
+	 * Part of the pattern before the first wildcard
+	 */
+	private String literalPrefix;
+
+	/**
+	 * Flag that tells whether pattern is literal prefix followed only by *
+	 * symbols
+	 */
+	private boolean prefixOnly;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param pattern - LIKE pattern
+	 */
+	public LikePattern(String pattern) {
+		if (pattern == null) {
+			throw new NullPointerException("Pattern shouldn't be null!");
+		}
+
+		this.pattern = pattern;
+		this.letters = pattern.toCharArray();
+
+		int firstWildcard = 0;
+		while (firstWildcard < letters.length && !isWildcard(letters[firstWildcard])) {
+			firstWildcard++;
+		}
+		this.literalPrefix = pattern.substring(0, firstWildcard);
+
+		int i = firstWildcard;
+		while (i < letters.length && letters[i] == ANY_SEQUENCE) {
+			i++;
+		}
+		this.prefixOnly = firstWildcard < letters.length && i == letters.length;
+	}
+
+	/**
+	 * Method that checks whether the given value matches the pattern.
+	 *
+	 * @param value - value we are checking
+	 * @return true if it matches, otherwise false
+	 */
+	public boolean matches(String value) {
+		if (literalPrefix.length() == letters.length) {
+			return value.equals(pattern);
+		}
+
+		if (!value.startsWith(literalPrefix)) {
+			return false;
+		}
+
+		if (prefixOnly) {
+			return true;
+		}
+
+		int v = literalPrefix.length();
+		int p = v;
+		int star = -1;
+		int starValue = 0;
+		int length = value.length();
+
+		while (v < length) {
+			if (p < letters.length && (letters[p] == ANY_CHARACTER || letters[p] == value.charAt(v))
+					&& letters[p] != ANY_SEQUENCE) {
+				v++;
+				p++;
+			} else if (p < letters.length && letters[p] == ANY_SEQUENCE) {
+				star = p++;
+				starValue = v;
+			} else if (star >= 0) {
+				p = star + 1;
+				v = ++starValue;
+			} else {
+				return false;
+			}
+		}
+
+		while (p < letters.length && letters[p] == ANY_SEQUENCE) {
+			p++;
+		}
+		return p == letters.length;
+	}
+
+	@Override
+	public boolean test(String value) {
+		return matches(value);
+	}
+
+	/**
+	 * Method that returns the part of the pattern before the first wildcard.
+	 * Every matching value starts with this prefix.
+	 *
+	 * @return literal prefix of the pattern
+	 */
+	public String getLiteralPrefix() {
+		return literalPrefix;
+	}
+
+	/**
+	 * Method that checks whether the pattern is a literal prefix followed only by
+	 * * symbols, e.g. "B*".
+	 *
+	 * @return true if it is, otherwise false
+	 */
+	public boolean isPrefixOnly() {
+		return prefixOnly;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+	/**
+	 * Method that checks whether the letter is a wildcard.
+	 *
+	 * @param letter - letter we are checking
+	 * @return true if it is, otherwise false
+	 */
+	private static boolean isWildcard(char letter) {
+		return letter == ANY_SEQUENCE || letter == ANY_CHARACTER;
+	}
+}
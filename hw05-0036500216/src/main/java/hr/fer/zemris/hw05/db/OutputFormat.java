@@ -0,0 +1,26 @@
+package hr.fer.zemris.hw05.db;
+
+/**
+ * Enum that represents all the formats {@link RecordPrinter} can print
+ * {@link StudentRecord}s in.
+ *
+ * @author ilovrencic
+ *
+ */
+public enum OutputFormat {
+
+	/**
+	 * Represents a human readable table with borders and aligned columns.
+	 */
+	TABLE,
+
+	/**
+	 * Represents tab-separated values with a header line.
+	 */
+	TSV,
+
+	/**
+	 * Represents comma-separated values with a header line.
+	 */
+	CSV
+}
@@ -16,6 +16,7 @@ public class Parser {
 	private static final String FIRST_NAME = "firstName";
 	private static final String LAST_NAME = "lastName";
 	private static final String JMBAG = "jmbag";
+	private static final String FINAL_GRADE = "finalGrade";
 	/* ===================================== */
 
 	/**
@@ -99,6 +100,8 @@ public class Parser {
 			getter = FieldValueGetters.LAST_NAME;
 		} else if (currentToken.getValue().equals(JMBAG)) {
 			getter = FieldValueGetters.JMBAG;
+		} else if (currentToken.getValue().equals(FINAL_GRADE)) {
+			getter = FieldValueGetters.FINAL_GRADE;
 		} else {
 			throw new ParserException("Unknown field name!");
 		}
@@ -112,7 +115,12 @@ public class Parser {
 			if (currentToken.getType().equals(TokenType.VALUE)) {
 				String value = (String) currentToken.getValue();
 
-				return new ConditionalExpression(operator, getter, value);
+				try {
+					return new ConditionalExpression(operator, getter, value);
+				} catch (IllegalArgumentException e) {
+					throw new ParserException(
+							"Field " + FieldValueGetters.nameOf(getter) + " must be compared with an integer!");
+				}
 			} else {
 				throw new ParserException("Irregular query!");
 			}
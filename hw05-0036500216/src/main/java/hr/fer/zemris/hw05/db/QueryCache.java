@@ -0,0 +1,284 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class that represents a least recently used cache of query results for
+ * {@link StudentDatabase}. Entries are keyed by the normalised query, which is
+ * the sorted list of its {@link ConditionalExpression}s, so queries that differ
+ * only in spacing or in the order of ANDed expressions share one entry. Every
+ * entry holds the {@link QueryPlan} and the result set. Query texts that were
+ * already seen are mapped to their normalised keys, so repeated queries skip
+ * lexing and parsing too.
+ * <p>
+ * Cache is bounded by number of entries and by the estimated memory of result
+ * sets. It is invalidated when the cached database changes or when a different
+ * database is queried.
+ *
+ * @author ilovrencic
+ *
+ */
+public class QueryCache {
+
+	/* ============= CONSTANTS ============= */
+	private static final long ENTRY_OVERHEAD_BYTES = 256;
+	private static final long RESULT_RECORD_BYTES = 48;
+	/* ===================================== */
+
+	/**
+	 * Maximum number of cached entries
+	 */
+	private int maxEntries;
+
+	/**
+	 * Maximum estimated memory of cached entries in bytes
+	 */
+	private long maxBytes;
+
+	/**
+	 * Cached entries in access order, the key is normalised query
+	 */
+	private LinkedHashMap<String, CachedQuery> entries;
+
+	/**
+	 * Normalised keys of seen query texts in access order
+	 */
+	private LinkedHashMap<String, String> normalisedKeys;
+
+	/**
+	 * Estimated memory of cached entries in bytes
+	 */
+	private long bytes;
+
+	/**
+	 * Database whose results are cached
+	 */
+	private StudentDatabase database;
+
+	/**
+	 * Version of the database when entries were cached
+	 */
+	private long databaseVersion;
+
+	/* ============= STATISTICS ============= */
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+	/* ====================================== */
+
+	/**
+	 * Default constructor
+	 *
+	 * @param maxEntries - maximum number of cached entries
+	 * @param maxBytes   - maximum estimated memory of cached entries in bytes
+	 */
+	public QueryCache(int maxEntries, long maxBytes) {
+		if (maxEntries < 1 || maxBytes < 1) {
+			throw new IllegalArgumentException("Cache bounds must be positive!");
+		}
+
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.entries = new LinkedHashMap<String, CachedQuery>(16, 0.75f, true);
+		this.normalisedKeys = new LinkedHashMap<String, String>(16, 0.75f, true);
+	}
+
+	/**
+	 * Method that returns cached results of the query. If the query isn't cached,
+	 * it is parsed with {@link QueryParser}, planned with {@link QueryPlanner},
+	 * executed and cached.
+	 *
+	 * @param database - database we are querying
+	 * @param query    - query text
+	 * @return cached query
+	 */
+	public CachedQuery query(StudentDatabase database, String query) {
+		if (database == null || query == null) {
+			throw new NullPointerException("Database and query shouldn't be null!");
+		}
+
+		if (this.database != database || databaseVersion != database.getVersion()) {
+			if (!entries.isEmpty() || !normalisedKeys.isEmpty()) {
+				invalidate();
+			}
+			this.database = database;
+			this.databaseVersion = database.getVersion();
+		}
+
+		String text = query.trim();
+		String key = normalisedKeys.get(text);
+		CachedQuery cached = key == null ? null : entries.get(key);
+		if (cached != null) {
+			hits++;
+			return cached;
+		}
+
+		List<ConditionalExpression> expressions = new QueryParser(text).getQuery();
+		key = normalise(expressions);
+		normalisedKeys.put(text, key);
+
+		cached = entries.get(key);
+		if (cached != null) {
+			hits++;
+			evict();
+			return cached;
+		}
+
+		misses++;
+		QueryPlan plan = new QueryPlanner(database).plan(expressions);
+		List<StudentRecord> results = Collections.unmodifiableList(database.execute(plan));
+		cached = new CachedQuery(plan, results, ENTRY_OVERHEAD_BYTES + 2L * key.length()
+				+ RESULT_RECORD_BYTES * results.size());
+
+		entries.put(key, cached);
+		bytes += cached.bytes;
+		evict();
+		return cached;
+	}
+
+	/**
+	 * Method that removes all cached entries. It should be called when the
+	 * database is reloaded.
+	 */
+	public void invalidate() {
+		entries.clear();
+		normalisedKeys.clear();
+		bytes = 0;
+		invalidations++;
+	}
+
+	/**
+	 * Method that returns the normalised key of the query expressions.
+	 *
+	 * @param expressions - query expressions
+	 * @return normalised key
+	 */
+	public static String normalise(List<ConditionalExpression> expressions) {
+		List<String> parts = new ArrayList<String>();
+		for (ConditionalExpression expression : expressions) {
+			parts.add(expression.toString());
+		}
+		Collections.sort(parts);
+		return String.join(" and ", parts);
+	}
+
+	/**
+	 * Method that returns the share of queries that were answered from cache.
+	 *
+	 * @return hit rate between 0 and 1
+	 */
+	public double getHitRate() {
+		long total = hits + misses;
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Method that returns the number of cached entries.
+	 *
+	 * @return number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/* -------- GETTERS ---------- */
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	/* ---------------------------- */
+
+	/**
+	 * Method that removes least recently used entries until the cache is within
+	 * its bounds. Most recently added entry is always kept, so results of the
+	 * current query are returned even if they exceed the memory bound.
+	 */
+	private void evict() {
+		Iterator<CachedQuery> iterator = entries.values().iterator();
+		while ((entries.size() > maxEntries || bytes > maxBytes) && entries.size() > 1) {
+			CachedQuery eldest = iterator.next();
+			iterator.remove();
+			bytes -= eldest.bytes;
+			evictions++;
+		}
+
+		Iterator<Map.Entry<String, String>> keys = normalisedKeys.entrySet().iterator();
+		while (normalisedKeys.size() > maxEntries * 4) {
+			keys.next();
+			keys.remove();
+		}
+	}
+
+	/**
+	 * Class that represents one cached query: its {@link QueryPlan} and its
+	 * unmodifiable result set.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	public static class CachedQuery {
+
+		/**
+		 * Plan of the query
+		 */
+		private QueryPlan plan;
+
+		/**
+		 * Results of the query
+		 */
+		private List<StudentRecord> results;
+
+		/**
+		 * Estimated memory of the entry in bytes
+		 */
+		private long bytes;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param plan    - plan of the query
+		 * @param results - results of the query
+		 * @param bytes   - estimated memory of the entry
+		 */
+		private CachedQuery(QueryPlan plan, List<StudentRecord> results, long bytes) {
+			this.plan = plan;
+			this.results = results;
+			this.bytes = bytes;
+		}
+
+		/* -------- GETTERS ---------- */
+
+		public QueryPlan getPlan() {
+			return plan;
+		}
+
+		public List<StudentRecord> getResults() {
+			return results;
+		}
+
+		/* ---------------------------- */
+	}
+}
@@ -24,16 +24,22 @@ public class QueryFilter implements IFilter {
 		this.expressions = expressions;
 	}
 
+	/**
+	 * Getter for expressions
+	 * 
+	 * @return list of expressions this filter checks
+	 */
+	public List<ConditionalExpression> getExpressions() {
+		return expressions;
+	}
+
 	/**
 	 * Method that checks whether the query satisfies all the conditions
 	 */
 	@Override
 	public boolean accepts(StudentRecord record) {
 		for (ConditionalExpression expression : expressions) {
-			boolean condition = expression.getOperator().satisfied(expression.getGetter().get(record),
-					expression.getLiteral());
-
-			if (!condition)
+			if (!expression.satisfies(record))
 				return false;
 
 		}
@@ -0,0 +1,112 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.List;
+
+/**
+ * Class that represents a plan for executing a query over
+ * {@link StudentDatabase}. Plan consists of an {@link AccessPath}, an
+ * expression that drives the access path (if there is one) and residual
+ * {@link ConditionalExpression}s that are checked on every retrieved record,
+ * ordered from the most to the least selective one. Plans are created by
+ * {@link QueryPlanner}.
+ *
+ * @author ilovrencic
+ *
+ */
+public class QueryPlan {
+
+	/**
+	 * Way the records are retrieved
+	 */
+	private AccessPath accessPath;
+
+	/**
+	 * Expression that is answered by the access path, null for full scan
+	 */
+	private ConditionalExpression driving;
+
+	/**
+	 * Name of the index used for retrieval, null for full scan
+	 */
+	private String indexName;
+
+	/**
+	 * Expressions checked on retrieved records
+	 */
+	private List<ConditionalExpression> residual;
+
+	/**
+	 * Estimated number of records the access path retrieves
+	 */
+	private double estimatedRows;
+
+	/**
+	 * Textual explanation of planner decisions
+	 */
+	private String explanation;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param accessPath    - way the records are retrieved
+	 * @param driving       - expression answered by the access path
+	 * @param indexName     - name of the used index
+	 * @param residual      - expressions checked on retrieved records
+	 * @param estimatedRows - estimated number of retrieved records
+	 * @param explanation   - explanation of planner decisions
+	 */
+	QueryPlan(AccessPath accessPath, ConditionalExpression driving, String indexName,
+			List<ConditionalExpression> residual, double estimatedRows, String explanation) {
+		this.accessPath = accessPath;
+		this.driving = driving;
+		this.indexName = indexName;
+		this.residual = residual;
+		this.estimatedRows = estimatedRows;
+		this.explanation = explanation;
+	}
+
+	/**
+	 * Method that returns {@link IFilter} that checks all residual expressions.
+	 *
+	 * @return filter for retrieved records
+	 */
+	public IFilter getFilter() {
+		return new QueryFilter(residual);
+	}
+
+	/**
+	 * Method that returns the textual explanation of the plan. It lists all
+	 * considered expressions with their estimated selectivity, chosen access path
+	 * and the order in which residual expressions are checked.
+	 *
+	 * @return explanation of the plan
+	 */
+	public String explain() {
+		return explanation;
+	}
+
+	/* -------- GETTERS ---------- */
+
+	public AccessPath getAccessPath() {
+		return accessPath;
+	}
+
+	public ConditionalExpression getDriving() {
+		return driving;
+	}
+
+	public String getIndexName() {
+		return indexName;
+	}
+
+	public List<ConditionalExpression> getResidual() {
+		return residual;
+	}
+
+	public double getEstimatedRows() {
+		return estimatedRows;
+	}
+
+	/* ---------------------------- */
+
+}
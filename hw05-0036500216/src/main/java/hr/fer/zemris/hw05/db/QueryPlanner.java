@@ -0,0 +1,242 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class that represents a simple cost-based query planner. Planner looks at
+ * all ANDed {@link ConditionalExpression}s of the query, estimates their
+ * selectivity, picks the cheapest {@link AccessPath} and orders the remaining
+ * expressions from the most to the least selective one, so that records are
+ * rejected as early as possible.
+ *
+ * @author ilovrencic
+ *
+ */
+public class QueryPlanner {
+
+	/* ============= CONSTANTS ============= */
+	private static final double RANGE_SELECTIVITY = 1.0 / 3;
+	private static final double EQUALS_SELECTIVITY = 1.0 / (GradeStatistics.MAX_GRADE - GradeStatistics.MIN_GRADE + 1);
+	private static final double PREFIX_LIKE_SELECTIVITY = 0.1;
+	private static final double LIKE_SELECTIVITY = 0.25;
+	/* ===================================== */
+
+	/**
+	 * Database for which we are planning queries
+	 */
+	private StudentDatabase database;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param database - database for which we are planning queries
+	 */
+	public QueryPlanner(StudentDatabase database) {
+		if (database == null) {
+			throw new NullPointerException("Database shouldn't be null!");
+		}
+
+		this.database = database;
+	}
+
+	/**
+	 * Method that creates {@link QueryPlan} for the given ANDed expressions.
+	 *
+	 * @param expressions - query expressions
+	 * @return plan for the query
+	 */
+	public QueryPlan plan(List<ConditionalExpression> expressions) {
+		if (expressions == null) {
+			throw new NullPointerException("Expressions shouldn't be null!");
+		}
+
+		int size = database.size();
+		List<Candidate> candidates = new ArrayList<Candidate>();
+		for (ConditionalExpression expression : expressions) {
+			candidates.add(estimate(expression, size));
+		}
+
+		Candidate driving = null;
+		double cost = size;
+		for (Candidate candidate : candidates) {
+			if (candidate.path != AccessPath.FULL_SCAN && candidate.rows < cost) {
+				driving = candidate;
+				cost = candidate.rows;
+			}
+		}
+
+		List<Candidate> residual = new ArrayList<Candidate>(candidates);
+		residual.remove(driving);
+		residual.sort(Comparator.comparingDouble(c -> c.selectivity));
+
+		List<ConditionalExpression> residualExpressions = new ArrayList<ConditionalExpression>();
+		for (Candidate candidate : residual) {
+			residualExpressions.add(candidate.expression);
+		}
+
+		AccessPath path = driving == null ? AccessPath.FULL_SCAN : driving.path;
+		String explanation = explain(candidates, driving, residual, size);
+
+		if (driving == null) {
+			return new QueryPlan(path, null, null, residualExpressions, size, explanation);
+		}
+		return new QueryPlan(path, driving.expression, driving.indexName, residualExpressions, driving.rows,
+				explanation);
+	}
+
+	/**
+	 * Method that estimates selectivity and the cheapest access path for one
+	 * expression. Expressions answered by {@link SecondaryIndex} get an exact
+	 * estimate from index entry counts, other ones get a default estimate based on
+	 * the operator.
+	 *
+	 * @param expression - expression we are estimating
+	 * @param size       - number of records in database
+	 * @return estimated candidate
+	 */
+	private Candidate estimate(ConditionalExpression expression, int size) {
+		IComparisonOperator operator = expression.getOperator();
+
+		if (expression.getGetter() == FieldValueGetters.JMBAG && operator == ComparisonOperator.EQUALS) {
+			double rows = database.forJMBAG(expression.getLiteral()) == null ? 0 : 1;
+			return new Candidate(expression, AccessPath.JMBAG_LOOKUP, "jmbag", rows, fraction(rows, size));
+		}
+
+		SecondaryIndex index = database.findIndex(expression);
+		if (index != null) {
+			double rows = index.estimate(expression);
+			return new Candidate(expression, AccessPath.INDEX_SCAN, index.getName(), rows, fraction(rows, size));
+		}
+
+		double equals = expression.getGetter() == FieldValueGetters.JMBAG ? 1.0 / Math.max(1, size)
+				: EQUALS_SELECTIVITY;
+		double selectivity;
+		if (operator == ComparisonOperator.EQUALS) {
+			selectivity = equals;
+		} else if (operator == ComparisonOperator.NOT_EQUALS) {
+			selectivity = 1.0 - equals;
+		} else if (operator == ComparisonOperator.LIKE) {
+			LikePattern pattern = new LikePattern(expression.getLiteral());
+			selectivity = pattern.getLiteralPrefix().isEmpty() ? LIKE_SELECTIVITY : PREFIX_LIKE_SELECTIVITY;
+		} else {
+			selectivity = RANGE_SELECTIVITY;
+		}
+
+		return new Candidate(expression, AccessPath.FULL_SCAN, null, selectivity * size, selectivity);
+	}
+
+	/**
+	 * Method that creates the textual explanation of the plan.
+	 *
+	 * @param candidates - all estimated candidates
+	 * @param driving    - candidate that drives the access path or null
+	 * @param residual   - ordered residual candidates
+	 * @param size       - number of records in database
+	 * @return explanation
+	 */
+	private static String explain(List<Candidate> candidates, Candidate driving, List<Candidate> residual,
+			int size) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Query plan (").append(size).append(" records):").append(System.lineSeparator());
+
+		sb.append("  Expressions:").append(System.lineSeparator());
+		for (Candidate candidate : candidates) {
+			sb.append("    ").append(candidate.expression).append(" -> ");
+			if (candidate.path == AccessPath.FULL_SCAN) {
+				sb.append("no index");
+			} else {
+				sb.append("index on ").append(candidate.indexName);
+			}
+			sb.append(String.format(", estimated %.0f rows, selectivity %.4f", candidate.rows,
+					candidate.selectivity));
+			sb.append(System.lineSeparator());
+		}
+
+		sb.append("  Access path: ");
+		if (driving == null) {
+			sb.append(AccessPath.FULL_SCAN).append(", no expression can be answered from an index");
+		} else {
+			sb.append(driving.path).append(" on ").append(driving.indexName).append(" using ")
+					.append(driving.expression);
+			sb.append(String.format(", estimated %.0f of %d rows", driving.rows, size));
+		}
+		sb.append(System.lineSeparator());
+
+		sb.append("  Residual expressions (most selective first):");
+		if (residual.isEmpty()) {
+			sb.append(" none");
+		}
+		for (int i = 0; i < residual.size(); i++) {
+			sb.append(System.lineSeparator()).append("    ").append(i + 1).append(". ")
+					.append(residual.get(i).expression);
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Method that returns the fraction of records.
+	 *
+	 * @param rows - number of rows
+	 * @param size - number of records in database
+	 * @return fraction of records
+	 */
+	private static double fraction(double rows, int size) {
+		return size == 0 ? 0 : rows / size;
+	}
+
+	/**
+	 * Class that stores planner estimates for one {@link ConditionalExpression}.
+	 *
+	 * @author ilovrencic
+	 *
+	 */
+	private static class Candidate {
+
+		/**
+		 * Estimated expression
+		 */
+		private ConditionalExpression expression;
+
+		/**
+		 * Cheapest access path for the expression
+		 */
+		private AccessPath path;
+
+		/**
+		 * Name of the index that answers the expression
+		 */
+		private String indexName;
+
+		/**
+		 * Estimated number of records that satisfy the expression
+		 */
+		private double rows;
+
+		/**
+		 * Estimated fraction of records that satisfy the expression
+		 */
+		private double selectivity;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param expression  - estimated expression
+		 * @param path        - cheapest access path
+		 * @param indexName   - name of the index
+		 * @param rows        - estimated number of records
+		 * @param selectivity - estimated fraction of records
+		 */
+		private Candidate(ConditionalExpression expression, AccessPath path, String indexName, double rows,
+				double selectivity) {
+			this.expression = expression;
+			this.path = path;
+			this.indexName = indexName;
+			this.rows = rows;
+			this.selectivity = selectivity;
+		}
+	}
+
+}
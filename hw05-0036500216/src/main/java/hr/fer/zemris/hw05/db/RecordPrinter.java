@@ -0,0 +1,280 @@
+package hr.fer.zemris.hw05.db;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class that prints {@link StudentRecord}s to a {@link Writer} in one of
+ * {@link OutputFormat}s. Records are written straight into the writer field by
+ * field, without building a {@link String} for every line, and padding is
+ * written from a reused array of spaces. Writer is flushed once, after the
+ * whole result is written, so it should be buffered.
+ *
+ * @author ilovrencic
+ *
+ */
+public class RecordPrinter {
+
+	/* ============= CONSTANTS ============= */
+	private static final String[] HEADER = { "jmbag", "lastName", "firstName", "finalGrade" };
+	private static final int JMBAG_COLUMN_WIDTH = 12;
+	private static final int GRADE_COLUMN_WIDTH = 3;
+	/* ===================================== */
+
+	/**
+	 * Writer we are printing to
+	 */
+	private Writer out;
+
+	/**
+	 * Format of the output
+	 */
+	private OutputFormat format;
+
+	/**
+	 * Reused array of spaces used for padding
+	 */
+	private char[] spaces;
+
+	/**
+	 * Reused array used for table borders
+	 */
+	private char[] border;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param out    - writer we are printing to, preferably buffered
+	 * @param format - format of the output
+	 */
+	public RecordPrinter(Writer out, OutputFormat format) {
+		if (out == null) {
+			throw new NullPointerException("Writer shouldn't be null!");
+		}
+
+		this.out = out;
+		this.spaces = new char[0];
+		this.border = new char[0];
+		setFormat(format);
+	}
+
+	/**
+	 * Method that prints all given records and flushes the writer.
+	 *
+	 * @param records - records we are printing
+	 * @throws UncheckedIOException if writing fails
+	 */
+	public void print(List<StudentRecord> records) {
+		try {
+			switch (format) {
+			case TABLE:
+				printTable(records);
+				break;
+			case TSV:
+				printSeparated(records, '\t');
+				break;
+			default:
+				printSeparated(records, ',');
+			}
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Setter for format
+	 *
+	 * @param format - format of the output
+	 */
+	public void setFormat(OutputFormat format) {
+		if (format == null) {
+			throw new NullPointerException("Format shouldn't be null!");
+		}
+
+		this.format = format;
+	}
+
+	/**
+	 * Getter for format
+	 *
+	 * @return format of the output
+	 */
+	public OutputFormat getFormat() {
+		return format;
+	}
+
+	/**
+	 * Method that prints records as a table. Column widths are computed in one
+	 * pass over the records, before anything is written.
+	 *
+	 * @param records - records we are printing
+	 * @throws IOException if writing fails
+	 */
+	private void printTable(List<StudentRecord> records) throws IOException {
+		if (records.isEmpty()) {
+			out.write("Records retrieved: 0");
+			out.write(System.lineSeparator());
+			return;
+		}
+
+		int longestLast = 0;
+		int longestFirst = 0;
+		for (StudentRecord record : records) {
+			longestLast = Math.max(longestLast, record.getLastName().length());
+			longestFirst = Math.max(longestFirst, record.getFirstName().length());
+		}
+		ensureSpaces(Math.max(longestLast, longestFirst));
+
+		int[] widths = { JMBAG_COLUMN_WIDTH, longestLast + 2, longestFirst + 2, GRADE_COLUMN_WIDTH };
+		int borderLength = prepareBorder(widths);
+
+		out.write(border, 0, borderLength);
+		for (StudentRecord record : records) {
+			String lastName = record.getLastName().trim();
+			String firstName = record.getFirstName().trim();
+
+			out.write("| ");
+			out.write(record.getJmbag().trim());
+			out.write(" | ");
+			out.write(lastName);
+			out.write(spaces, 0, longestLast - lastName.length());
+			out.write(" | ");
+			out.write(firstName);
+			out.write(spaces, 0, longestFirst - firstName.length());
+			out.write(" | ");
+			out.write(Integer.toString(record.getFinalGrade()));
+			out.write(" |");
+			out.write(System.lineSeparator());
+		}
+		out.write(border, 0, borderLength);
+
+		out.write("Records retrieved: ");
+		out.write(Integer.toString(records.size()));
+		out.write(System.lineSeparator());
+	}
+
+	/**
+	 * Method that prints records as separated values with a header line.
+	 *
+	 * @param records   - records we are printing
+	 * @param separator - separator of values
+	 * @throws IOException if writing fails
+	 */
+	private void printSeparated(List<StudentRecord> records, char separator) throws IOException {
+		for (int i = 0; i < HEADER.length; i++) {
+			if (i > 0) {
+				out.write(separator);
+			}
+			out.write(HEADER[i]);
+		}
+		out.write(System.lineSeparator());
+
+		for (StudentRecord record : records) {
+			writeValue(record.getJmbag(), separator);
+			out.write(separator);
+			writeValue(record.getLastName(), separator);
+			out.write(separator);
+			writeValue(record.getFirstName(), separator);
+			out.write(separator);
+			out.write(Integer.toString(record.getFinalGrade()));
+			out.write(System.lineSeparator());
+		}
+	}
+
+	/**
+	 * Method that writes one separated value. In CSV values that contain a
+	 * separator, a quote or a line break are quoted. TSV has no quoting, so tabs
+	 * and line breaks are replaced with spaces and quotes are written unchanged.
+	 *
+	 * @param value     - value we are writing
+	 * @param separator - separator of values
+	 * @throws IOException if writing fails
+	 */
+	private void writeValue(String value, char separator) throws IOException {
+		int special = 0;
+		while (special < value.length() && !isSpecial(value.charAt(special), separator)) {
+			special++;
+		}
+
+		if (special == value.length()) {
+			out.write(value);
+			return;
+		}
+
+		if (separator == '\t') {
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				out.write(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+			}
+			return;
+		}
+
+		out.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				out.write('"');
+			}
+			out.write(c);
+		}
+		out.write('"');
+	}
+
+	/**
+	 * Method that checks whether the character must be escaped in separated
+	 * values. In TSV quotes don't have to be escaped.
+	 *
+	 * @param c         - character we are checking
+	 * @param separator - separator of values
+	 * @return true if it must be escaped, otherwise false
+	 */
+	private static boolean isSpecial(char c, char separator) {
+		return c == separator || c == '\n' || c == '\r' || (c == '"' && separator != '\t');
+	}
+
+	/**
+	 * Method that fills the border array for the given column widths and returns
+	 * its length.
+	 *
+	 * @param widths - widths of columns without borders
+	 * @return length of the border, including the line separator
+	 */
+	private int prepareBorder(int[] widths) {
+		String lineSeparator = System.lineSeparator();
+		int length = widths.length + 1 + lineSeparator.length();
+		for (int width : widths) {
+			length += width;
+		}
+
+		if (border.length < length) {
+			border = new char[length];
+		}
+
+		int position = 0;
+		for (int width : widths) {
+			border[position++] = '+';
+			Arrays.fill(border, position, position + width, '=');
+			position += width;
+		}
+		border[position++] = '+';
+		lineSeparator.getChars(0, lineSeparator.length(), border, position);
+
+		return length;
+	}
+
+	/**
+	 * Method that makes sure the array of spaces is long enough.
+	 *
+	 * @param length - required number of spaces
+	 */
+	private void ensureSpaces(int length) {
+		if (spaces.length < length) {
+			spaces = new char[length];
+			Arrays.fill(spaces, ' ');
+		}
+	}
+}
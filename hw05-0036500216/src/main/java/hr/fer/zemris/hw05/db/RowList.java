@@ -0,0 +1,82 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.Arrays;
+
+/**
+ * Class that represents a growable list of record row numbers. Rows are stored
+ * as primitive ints, so indexes over millions of records don't box every row.
+ *
+ * @author ilovrencic
+ *
+ */
+class RowList {
+
+	/**
+	 * Default capacity of the list
+	 */
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/**
+	 * Stored row numbers
+	 */
+	private int[] rows;
+
+	/**
+	 * Number of stored rows
+	 */
+	private int size;
+
+	/**
+	 * Default constructor
+	 */
+	RowList() {
+		rows = new int[DEFAULT_CAPACITY];
+	}
+
+	/**
+	 * Method that adds a row to the end of the list.
+	 *
+	 * @param row - row number
+	 */
+	void add(int row) {
+		if (size == rows.length) {
+			rows = Arrays.copyOf(rows, rows.length * 2);
+		}
+
+		rows[size++] = row;
+	}
+
+	/**
+	 * Method that appends all rows from the other list.
+	 *
+	 * @param other - list whose rows we are appending
+	 */
+	void addAll(RowList other) {
+		if (size + other.size > rows.length) {
+			rows = Arrays.copyOf(rows, Math.max(rows.length * 2, size + other.size));
+		}
+
+		System.arraycopy(other.rows, 0, rows, size, other.size);
+		size += other.size;
+	}
+
+	/**
+	 * Getter for size
+	 *
+	 * @return number of stored rows
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Method that returns stored rows sorted in ascending order.
+	 *
+	 * @return sorted array of rows
+	 */
+	int[] toSortedArray() {
+		int[] sorted = Arrays.copyOf(rows, size);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+}
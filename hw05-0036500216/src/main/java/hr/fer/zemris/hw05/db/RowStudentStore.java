@@ -0,0 +1,63 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class that implements {@link IStudentStore} as a {@link List} of
+ * {@link StudentRecord} objects. This is the default store of
+ * {@link StudentDatabase}.
+ *
+ * @author ilovrencic
+ *
+ */
+public class RowStudentStore implements IStudentStore {
+
+	/**
+	 * Collection that stores {@link StudentRecord}s
+	 */
+	private List<StudentRecord> studentRecords;
+
+	/**
+	 * Default constructor
+	 */
+	public RowStudentStore() {
+		studentRecords = new ArrayList<StudentRecord>();
+	}
+
+	@Override
+	public void add(StudentRecord record) {
+		studentRecords.add(record);
+	}
+
+	@Override
+	public int size() {
+		return studentRecords.size();
+	}
+
+	@Override
+	public StudentRecord get(int row) {
+		return studentRecords.get(row);
+	}
+
+	@Override
+	public String getJmbag(int row) {
+		return studentRecords.get(row).getJmbag();
+	}
+
+	@Override
+	public int getFinalGrade(int row) {
+		return studentRecords.get(row).getFinalGrade();
+	}
+
+	@Override
+	public IRowMatcher matcher(IFilter filter) {
+		return row -> filter.accepts(studentRecords.get(row));
+	}
+
+	@Override
+	public IRowMatcher candidateMatcher(IFilter filter) {
+		return matcher(filter);
+	}
+
+}
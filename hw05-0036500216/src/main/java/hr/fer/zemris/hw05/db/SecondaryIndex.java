@@ -0,0 +1,210 @@
+package hr.fer.zemris.hw05.db;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Class that represents a sorted secondary index over one {@link StudentRecord}
+ * field. Index maps every field value to row numbers of records that have that
+ * value, so equality, range and prefix {@link ComparisonOperator#LIKE} queries
+ * can be answered without scanning the whole database.
+ *
+ * @author ilovrencic
+ *
+ */
+public class SecondaryIndex {
+
+	/**
+	 * Name of the indexed field
+	 */
+	private String name;
+
+	/**
+	 * Getter that returns indexed field from {@link StudentRecord}
+	 */
+	private IFieldValueGetter getter;
+
+	/**
+	 * Sorted map of field values and row numbers
+	 */
+	private NavigableMap<String, RowList> entries;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param name   - name of the indexed field
+	 * @param getter - getter for the indexed field
+	 */
+	public SecondaryIndex(String name, IFieldValueGetter getter) {
+		if (name == null || getter == null) {
+			throw new NullPointerException("Index name and getter shouldn't be null!");
+		}
+
+		this.name = name;
+		this.getter = getter;
+		this.entries = new TreeMap<String, RowList>();
+	}
+
+	/**
+	 * Method that adds {@link StudentRecord} on the given row to the index.
+	 *
+	 * @param record - record we are indexing
+	 * @param row    - row of the record in database
+	 */
+	void add(StudentRecord record, int row) {
+		entries.computeIfAbsent(getter.get(record), k -> new RowList()).add(row);
+	}
+
+	/**
+	 * Method that checks whether the index can answer the given
+	 * {@link ConditionalExpression}. Expression must be on the indexed field and
+	 * its operator must be equality, range or a LIKE whose pattern starts with a
+	 * literal prefix (e.g. "B*" or "Bo?i*").
+	 *
+	 * @param expression - expression we want to check
+	 * @return true if index can answer expression, otherwise false
+	 */
+	public boolean supports(ConditionalExpression expression) {
+		if (expression.getGetter() != getter) {
+			return false;
+		}
+
+		IComparisonOperator operator = expression.getOperator();
+		if (operator == ComparisonOperator.LIKE) {
+			return !new LikePattern(expression.getLiteral()).getLiteralPrefix().isEmpty();
+		}
+
+		return operator == ComparisonOperator.EQUALS || operator == ComparisonOperator.LESS
+				|| operator == ComparisonOperator.LESS_OR_EQUALS || operator == ComparisonOperator.GREATER
+				|| operator == ComparisonOperator.GREATER_OR_EQUAL;
+	}
+
+	/**
+	 * Method that returns rows of all records that satisfy the given
+	 * {@link ConditionalExpression}. Rows are sorted, so records can be retrieved
+	 * in their original order.
+	 *
+	 * @param expression - expression that index should answer
+	 * @return sorted array of rows
+	 */
+	public int[] lookup(ConditionalExpression expression) {
+		if (!supports(expression)) {
+			throw new IllegalArgumentException("Index on " + name + " can't answer this expression!");
+		}
+
+		RowList rows = new RowList();
+		boolean like = expression.getOperator() == ComparisonOperator.LIKE;
+		for (Map.Entry<String, RowList> entry : part(expression).entrySet()) {
+			if (!like || expression.matches(entry.getKey())) {
+				rows.addAll(entry.getValue());
+			}
+		}
+		return rows.toSortedArray();
+	}
+
+	/**
+	 * Method that returns the exact number of records that satisfy the given
+	 * {@link ConditionalExpression}. Only the row counts of matching index entries
+	 * are summed, records themselves aren't touched.
+	 *
+	 * @param expression - expression that index should answer
+	 * @return number of matching records
+	 */
+	public int estimate(ConditionalExpression expression) {
+		if (!supports(expression)) {
+			throw new IllegalArgumentException("Index on " + name + " can't answer this expression!");
+		}
+
+		int count = 0;
+		boolean like = expression.getOperator() == ComparisonOperator.LIKE;
+		for (Map.Entry<String, RowList> entry : part(expression).entrySet()) {
+			if (!like || expression.matches(entry.getKey())) {
+				count += entry.getValue().size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Method that returns the number of distinct values of the indexed field.
+	 *
+	 * @return number of distinct values
+	 */
+	public int distinctValues() {
+		return entries.size();
+	}
+
+	/**
+	 * Getter for name
+	 *
+	 * @return name of the indexed field
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Getter for getter
+	 *
+	 * @return getter of the indexed field
+	 */
+	public IFieldValueGetter getGetter() {
+		return getter;
+	}
+
+	/**
+	 * Method that returns the part of the index that satisfies the given
+	 * expression.
+	 *
+	 * @param expression - supported expression
+	 * @return part of the index
+	 */
+	private NavigableMap<String, RowList> part(ConditionalExpression expression) {
+		IComparisonOperator operator = expression.getOperator();
+		String literal = expression.getLiteral();
+
+		if (operator == ComparisonOperator.EQUALS) {
+			return entries.subMap(literal, true, literal, true);
+		} else if (operator == ComparisonOperator.LESS) {
+			return entries.headMap(literal, false);
+		} else if (operator == ComparisonOperator.LESS_OR_EQUALS) {
+			return entries.headMap(literal, true);
+		} else if (operator == ComparisonOperator.GREATER) {
+			return entries.tailMap(literal, false);
+		} else if (operator == ComparisonOperator.GREATER_OR_EQUAL) {
+			return entries.tailMap(literal, true);
+		}
+
+		if (literal.indexOf('*') < 0 && literal.indexOf('?') < 0) {
+			return entries.subMap(literal, true, literal, true);
+		}
+
+		String prefix = new LikePattern(literal).getLiteralPrefix();
+		String upperBound = prefixUpperBound(prefix);
+		if (upperBound == null) {
+			return entries.tailMap(prefix, true);
+		}
+		return entries.subMap(prefix, true, upperBound, false);
+	}
+
+	/**
+	 * Method that returns the smallest string that is greater than every string
+	 * starting with the given prefix. If there is no such string, returns null.
+	 *
+	 * @param prefix - non empty prefix
+	 * @return exclusive upper bound of the prefix range or null
+	 */
+	private static String prefixUpperBound(String prefix) {
+		int end = prefix.length();
+		while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+			end--;
+		}
+
+		if (end == 0) {
+			return null;
+		}
+
+		return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+	}
+}
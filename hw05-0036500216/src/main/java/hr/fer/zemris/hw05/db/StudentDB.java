@@ -1,11 +1,10 @@
 package hr.fer.zemris.hw05.db;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -16,22 +15,73 @@ import java.util.Scanner;
  */
 public class StudentDB {
 
-	public static void main(String[] args) {
-		Scanner sc = new Scanner(System.in);
-		StudentDatabase sdb = null;
+	/**
+	 * Keyword that asks for the query plan instead of query results
+	 */
+	private static final String EXPLAIN = "explain ";
 
-		try {
-			List<String> lines = Files.readAllLines(Paths.get("./database.txt"), StandardCharsets.UTF_8);
-			sdb = new StudentDatabase(lines);
+	/**
+	 * Keyword that asks for grade statistics instead of query results
+	 */
+	private static final String STATS = "stats ";
 
-		} catch (IOException e) {
-			System.out.println("Could not read the file.");
-			System.exit(0);
-		} catch (ParserException e) {
-			System.out.println("The error during parsing: " + e.getMessage());
+	/**
+	 * Program argument that selects {@link ColumnarStudentStore}
+	 */
+	private static final String COLUMNAR = "--columnar";
+
+	/**
+	 * Command that turns parallel full scans on or off
+	 */
+	private static final String PARALLEL = "parallel";
+
+	/**
+	 * Command that reloads the database from file
+	 */
+	private static final String RELOAD = "reload";
+
+	/**
+	 * Command that prints query cache statistics
+	 */
+	private static final String CACHE = "cache";
+
+	/**
+	 * Command that selects the {@link OutputFormat} of query results
+	 */
+	private static final String FORMAT = "format";
+
+	/**
+	 * Size of the output buffer in characters
+	 */
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Maximum number of cached queries
+	 */
+	private static final int CACHE_ENTRIES = 64;
+
+	/**
+	 * Maximum estimated memory of cached query results in bytes
+	 */
+	private static final long CACHE_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * Main method. If the program is started with --columnar argument, database is
+	 * kept in {@link ColumnarStudentStore}.
+	 * 
+	 * @param args - program arguments
+	 */
+	public static void main(String[] args) {
+		Scanner sc = new Scanner(System.in);
+		boolean columnar = args.length > 0 && args[0].equals(COLUMNAR);
+		StudentDatabase sdb = loadDatabase(columnar);
+		if (sdb == null) {
 			System.exit(0);
 		}
 
+		QueryCache cache = new QueryCache(CACHE_ENTRIES, CACHE_BYTES);
+		RecordPrinter printer = new RecordPrinter(
+				new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE), OutputFormat.TABLE);
 		System.out.print("> ");
 
 		while (sc.hasNext()) {
@@ -39,21 +89,71 @@ public class StudentDB {
 			if (input.equalsIgnoreCase("exit"))
 				break;
 
+			if (input.startsWith(PARALLEL)) {
+				setParallel(sdb, input.substring(PARALLEL.length()).trim());
+				System.out.print("> ");
+				continue;
+			}
+
+			if (input.equalsIgnoreCase(RELOAD)) {
+				StudentDatabase reloaded = loadDatabase(columnar);
+				if (reloaded != null) {
+					reloaded.setParallel(sdb.isParallel());
+					reloaded.setParallelThreshold(sdb.getParallelThreshold());
+					sdb = reloaded;
+					cache.invalidate();
+					System.out.println("Database reloaded: " + sdb.size() + " records.");
+				}
+				System.out.print("> ");
+				continue;
+			}
+
+			if (input.startsWith(FORMAT)) {
+				setFormat(printer, input.substring(FORMAT.length()).trim());
+				System.out.print("> ");
+				continue;
+			}
+
+			if (input.equalsIgnoreCase(CACHE)) {
+				printCacheStatistics(cache);
+				System.out.print("> ");
+				continue;
+			}
+
 			try {
-				QueryParser parser = new QueryParser(input);
+				boolean explain = false;
+				if (input.regionMatches(true, 0, EXPLAIN, 0, EXPLAIN.length())) {
+					explain = true;
+					input = input.substring(EXPLAIN.length());
+				}
 
-				if (parser.isDirectQuery()) {
-					List<StudentRecord> students = new ArrayList<StudentRecord>();
-					students.add(sdb.forJMBAG(parser.getQueriedJMBAG()));
-					System.out.println("Using index for record retrieval.");
-					printRecords(students);
-				} else {
-					List<StudentRecord> students = sdb.filter(new QueryFilter(parser.getQuery()));
-					printRecords(students);
+				boolean stats = false;
+				if (input.regionMatches(true, 0, STATS, 0, STATS.length())) {
+					stats = true;
+					input = input.substring(STATS.length());
+				}
+
+				if (explain || stats) {
+					QueryParser parser = new QueryParser(input);
+					QueryPlan plan = new QueryPlanner(sdb).plan(parser.getQuery());
 
+					if (explain) {
+						System.out.println(plan.explain());
+					} else {
+						printStatistics(sdb.aggregate(plan));
+					}
+				} else {
+					QueryCache.CachedQuery cached = cache.query(sdb, input);
+					QueryPlan plan = cached.getPlan();
+					if (plan.getAccessPath() != AccessPath.FULL_SCAN && printer.getFormat() == OutputFormat.TABLE) {
+						System.out.println("Using index on " + plan.getIndexName() + " for record retrieval.");
+					}
+					printer.print(cached.getResults());
 				}
 			} catch (ParserException | LexerException e) {
 				System.out.println("Something went wrong during the parsing! " + e.getLocalizedMessage());
+			} catch (UncheckedIOException e) {
+				System.out.println("Could not print the records.");
 			}
 
 			System.out.print("> ");
@@ -65,123 +165,94 @@ public class StudentDB {
 	}
 
 	/**
-	 * Method used for printing a {@link StudentRecord}.
+	 * Method that loads the database from database.txt file. If loading fails,
+	 * prints the error and returns null.
 	 * 
-	 * @param student
+	 * @param columnar - true if database should be kept in
+	 *                 {@link ColumnarStudentStore}
+	 * @return loaded database or null
 	 */
-	private static void printRecord(StudentRecord student, int first, int last) {
-		String output = "";
-		output += "|";
-
-		output += " " + student.getJmbag().trim() + " " + "|" + " ";
-		output += student.getLastName().trim();
-
-		for (int i = 0; i < last - student.getLastName().trim().length(); i++) {
-			output += " ";
-		}
-
-		output += " " + "|" + " ";
-		output += student.getFirstName().trim();
+	private static StudentDatabase loadDatabase(boolean columnar) {
+		try {
+			IStudentStore store = columnar ? new ColumnarStudentStore() : new RowStudentStore();
+			return StudentDatabaseLoader.load(Paths.get("./database.txt"), store);
 
-		for (int i = 0; i < first - student.getFirstName().trim().length(); i++) {
-			output += " ";
+		} catch (IOException e) {
+			System.out.println("Could not read the file.");
+		} catch (IllegalArgumentException | ParserException e) {
+			System.out.println("The error during parsing: " + e.getMessage());
 		}
 
-		output += " " + "|" + " ";
-		output += String.valueOf(student.getFinalGrade()) + " " + "|";
-		System.out.println(output);
+		return null;
 	}
 
 	/**
-	 * Method used for printing a list of {@link StudentRecord}
+	 * Method used for printing {@link QueryCache} statistics.
 	 * 
-	 * @param students
+	 * @param cache - cache whose statistics we are printing
 	 */
-	private static void printRecords(List<StudentRecord> students) {
-		int longestFirst = longestFirstName(students);
-		int longestLast = longestlastName(students);
-
-		if (students.isEmpty()) {
-			System.out.println("Records retrieved: 0");
-			return;
-		}
-
-		String output = generateFirstAndLastLine(longestFirst, longestLast);
-		System.out.println(output);
-
-		for (StudentRecord student : students) {
-			printRecord(student, longestFirst, longestLast);
-		}
-
-		System.out.println(output);
-		System.out.println("Records retrieved: " + String.valueOf(students.size()));
-
+	private static void printCacheStatistics(QueryCache cache) {
+		System.out.println("Cached queries: " + cache.size() + " (about " + cache.getBytes() / 1024 + " KB)");
+		System.out.println(String.format("Hits: %d, misses: %d, hit rate: %.2f%%", cache.getHits(),
+				cache.getMisses(), cache.getHitRate() * 100));
+		System.out.println("Evictions: " + cache.getEvictions() + ", invalidations: " + cache.getInvalidations());
 	}
 
 	/**
-	 * Method that returns the length of the longest last name.
+	 * Method that handles the parallel command. Argument "on" turns parallel full
+	 * scans on, "off" turns them off, and a number sets the number of records from
+	 * which scans run in parallel.
 	 * 
-	 * @param students
-	 * @return
-	 */
-	private static int longestlastName(List<StudentRecord> students) {
-		int longestName = 0;
-		for (StudentRecord record : students) {
-			if (record.getLastName().length() > longestName) {
-				longestName = record.getLastName().length();
+	 * @param sdb      - database we are configuring
+	 * @param argument - argument of the command
+	 */
+	private static void setParallel(StudentDatabase sdb, String argument) {
+		if (argument.equalsIgnoreCase("on")) {
+			sdb.setParallel(true);
+		} else if (argument.equalsIgnoreCase("off")) {
+			sdb.setParallel(false);
+		} else {
+			try {
+				sdb.setParallelThreshold(Integer.parseInt(argument));
+			} catch (IllegalArgumentException e) {
+				System.out.println("Usage: parallel on | off | <threshold>");
+				return;
 			}
 		}
 
-		return longestName;
-
+		System.out.println("Parallel scans are " + (sdb.isParallel() ? "on" : "off") + " for databases with at least "
+				+ sdb.getParallelThreshold() + " records.");
 	}
 
 	/**
-	 * Method that returns the length of the longest first name.
+	 * Method that handles the format command. Argument is the name of one of
+	 * {@link OutputFormat}s: table, tsv or csv.
 	 * 
-	 * @param students
-	 * @return
-	 */
-	private static int longestFirstName(List<StudentRecord> students) {
-		int longestName = 0;
-		for (StudentRecord record : students) {
-			if (record.getFirstName().length() > longestName) {
-				longestName = record.getFirstName().length();
-			}
+	 * @param printer  - printer we are configuring
+	 * @param argument - argument of the command
+	 */
+	private static void setFormat(RecordPrinter printer, String argument) {
+		try {
+			printer.setFormat(OutputFormat.valueOf(argument.toUpperCase()));
+		} catch (IllegalArgumentException e) {
+			System.out.println("Usage: format table | tsv | csv");
+			return;
 		}
 
-		return longestName;
+		System.out.println("Records are printed as " + argument.toLowerCase() + ".");
 	}
 
 	/**
-	 * Method used for generating the first and last line in the output.
-	 * @param longestFirst - length of the longest first name
-	 * @param longestLast - length of the longest last name
-	 * @return - generated line
+	 * Method used for printing {@link GradeStatistics}.
+	 * 
+	 * @param statistics - statistics we are printing
 	 */
-	private static String generateFirstAndLastLine(int longestFirst, int longestLast) {
-		String output = "";
-		output += "+";
-		for (int i = 0; i < 12; i++) {
-			output += "=";
-		}
-
-		output += "+";
-		for (int i = 0; i < longestLast + 2; i++) {
-			output += "=";
-		}
-
-		output += "+";
-		for (int i = 0; i < longestFirst + 2; i++) {
-			output += "=";
-		}
-
-		output += "+";
-		for (int i = 0; i < 3; i++) {
-			output += "=";
+	private static void printStatistics(GradeStatistics statistics) {
+		System.out.println("Records counted: " + statistics.getCount());
+		System.out.println(String.format("Average grade: %.2f", statistics.getAverage()));
+		for (int grade = GradeStatistics.MIN_GRADE; grade <= GradeStatistics.MAX_GRADE; grade++) {
+			System.out.println("  " + grade + " | " + statistics.getGradeCount(grade));
 		}
-		output += "+";
-		return output;
 	}
 
 }
@@ -1,29 +1,61 @@
 package hr.fer.zemris.hw05.db;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Class that holds all student records that it got in from of {@link List}
- * through constructor. Then it parses it to {@link StudentRecord}. Class offer
- * {@link List} collection for filtering and {@link Map} for O(1) acquiring.
+ * through constructor. Then it parses it to {@link StudentRecord}. Records are
+ * kept in {@link IStudentStore} which is used for filtering and
+ * {@link JmbagIndex} is used for O(1) acquiring. Records are also indexed by last and first name
+ * through {@link SecondaryIndex}es. Full scans can be run in parallel on
+ * {@link ForkJoinPool} once the database is large enough.
  * 
  * @author ilovrencic
  *
  */
 public class StudentDatabase {
 
+	/* ============= CONSTANTS ============= */
+	private static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+	private static final int SCAN_CHUNK_SIZE = 16_384;
+	/* ===================================== */
+
+	/**
+	 * Store that keeps {@link StudentRecord}s
+	 */
+	private IStudentStore store;
+
+	/**
+	 * Index that stores rows of {@link StudentRecord}s, and the key is student
+	 * jmbag.
+	 */
+	private JmbagIndex index;
+
+	/**
+	 * Sorted secondary indexes, the key is the getter of the indexed field.
+	 */
+	private Map<IFieldValueGetter, SecondaryIndex> secondaryIndexes;
+
 	/**
-	 * Collection that stores {@link StudentRecord}s
+	 * Flag that tells whether full scans may run in parallel
 	 */
-	private List<StudentRecord> studentRecords;
+	private boolean parallel;
 
 	/**
-	 * Collection that stores {@link StudentRecord}s, and the key is student jmbag.
+	 * Number of records from which full scans run in parallel
 	 */
-	private Map<String, StudentRecord> index;
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+	/**
+	 * Number that changes every time a record is added, used for invalidating
+	 * cached query results
+	 */
+	private long version;
 
 	/**
 	 * Default constructor
@@ -32,16 +64,43 @@ public class StudentDatabase {
 	 *                into {@link StudentRecord}.
 	 */
 	public StudentDatabase(List<String> records) {
-		studentRecords = new ArrayList<StudentRecord>();
-		index = new HashMap<String, StudentRecord>();
-
+		this();
 		transformRecords(records);
 	}
 
+	/**
+	 * Constructor that creates an empty database backed by
+	 * {@link RowStudentStore}.
+	 */
+	StudentDatabase() {
+		this(new RowStudentStore());
+	}
+
+	/**
+	 * Constructor that creates an empty database backed by the given
+	 * {@link IStudentStore}. Records are added through
+	 * {@link #addRecord(StudentRecord)}, which is used by
+	 * {@link StudentDatabaseLoader}.
+	 * 
+	 * @param store - empty store that will keep records
+	 */
+	StudentDatabase(IStudentStore store) {
+		if (store == null) {
+			throw new NullPointerException("Store shouldn't be null!");
+		}
+
+		this.store = store;
+		index = new JmbagIndex(store);
+		secondaryIndexes = new LinkedHashMap<IFieldValueGetter, SecondaryIndex>();
+		secondaryIndexes.put(FieldValueGetters.LAST_NAME, new SecondaryIndex("lastName", FieldValueGetters.LAST_NAME));
+		secondaryIndexes.put(FieldValueGetters.FIRST_NAME,
+				new SecondaryIndex("firstName", FieldValueGetters.FIRST_NAME));
+	}
+
 	/**
 	 * Method that returns {@link StudentRecord} for given jmbag. If there is no
 	 * student with that specific jmbag, returns null. This call works in O(1) time,
-	 * because we are using {@link Map}.
+	 * because we are using {@link JmbagIndex}.
 	 * 
 	 * @param jmbag - for which we want {@link StudentRecord}
 	 * @return {@link StudentRecord} or if there is no student record with that
@@ -52,12 +111,16 @@ public class StudentDatabase {
 			throw new NullPointerException("Jmbag shouldn't be null!");
 		}
 
-		return index.get(jmbag);
+		int row = index.get(jmbag);
+		return row < 0 ? null : store.get(row);
 	}
 
 	/**
 	 * Method that for a given {@link IFilter} filters through dataset and returns
-	 * filtered {@link StudentRecord} dataset.
+	 * filtered {@link StudentRecord} dataset. If parallel mode is on and the
+	 * database has at least {@link #getParallelThreshold()} records, dataset is
+	 * split into chunks that are filtered on {@link ForkJoinPool}. Records are
+	 * always returned in their original order.
 	 * 
 	 * @param filter - instance that filters through dataset
 	 * @return - filtered dataset
@@ -67,10 +130,202 @@ public class StudentDatabase {
 			throw new NullPointerException("Filter shouldn't be null!");
 		}
 
+		IRowMatcher matcher = store.matcher(filter);
+		int size = store.size();
+
+		if (parallel && size >= parallelThreshold) {
+			return ForkJoinPool.commonPool().invoke(new FilterTask(store, matcher, 0, size));
+		}
+
+		return scan(store, matcher, 0, size);
+	}
+
+	/**
+	 * Method that executes the given {@link QueryPlan}. Records are retrieved
+	 * through plan's {@link AccessPath} and then filtered with plan's residual
+	 * expressions. Only full scans prepare the matcher for the whole store, rows
+	 * retrieved from an index are checked one by one.
+	 * 
+	 * @param plan - plan created by {@link QueryPlanner}
+	 * @return filtered dataset
+	 */
+	public List<StudentRecord> execute(QueryPlan plan) {
+		if (plan == null) {
+			throw new NullPointerException("Plan shouldn't be null!");
+		}
+
+		switch (plan.getAccessPath()) {
+		case JMBAG_LOOKUP:
+			List<StudentRecord> records = new ArrayList<StudentRecord>();
+			int row = index.get(plan.getDriving().getLiteral());
+			if (row >= 0 && store.candidateMatcher(plan.getFilter()).matches(row)) {
+				records.add(store.get(row));
+			}
+			return records;
+		case INDEX_SCAN:
+			return filter(plan.getDriving(), plan.getFilter());
+		default:
+			return filter(plan.getFilter());
+		}
+	}
+
+	/**
+	 * Method that computes {@link GradeStatistics} of all records that satisfy the
+	 * given {@link QueryPlan}. Records are retrieved the same way as in
+	 * {@link #execute(QueryPlan)}, but only their final grades are read and no
+	 * list of records is created.
+	 * 
+	 * @param plan - plan created by {@link QueryPlanner}
+	 * @return statistics of matching records
+	 */
+	public GradeStatistics aggregate(QueryPlan plan) {
+		if (plan == null) {
+			throw new NullPointerException("Plan shouldn't be null!");
+		}
+
+		switch (plan.getAccessPath()) {
+		case JMBAG_LOOKUP:
+			GradeStatistics statistics = new GradeStatistics();
+			int row = index.get(plan.getDriving().getLiteral());
+			if (row >= 0 && store.candidateMatcher(plan.getFilter()).matches(row)) {
+				statistics.add(store.getFinalGrade(row));
+			}
+			return statistics;
+		case INDEX_SCAN:
+			statistics = new GradeStatistics();
+			IRowMatcher matcher = store.candidateMatcher(plan.getFilter());
+			for (int indexedRow : findIndex(plan.getDriving()).lookup(plan.getDriving())) {
+				if (matcher.matches(indexedRow)) {
+					statistics.add(store.getFinalGrade(indexedRow));
+				}
+			}
+			return statistics;
+		default:
+			return aggregateRows(store.matcher(plan.getFilter()));
+		}
+	}
+
+	/**
+	 * Method that computes {@link GradeStatistics} of all records accepted by the
+	 * given {@link IFilter} in one pass over the dataset.
+	 * 
+	 * @param filter - instance that filters through dataset
+	 * @return statistics of accepted records
+	 */
+	public GradeStatistics aggregate(IFilter filter) {
+		if (filter == null) {
+			throw new NullPointerException("Filter shouldn't be null!");
+		}
+
+		return aggregateRows(store.matcher(filter));
+	}
+
+	/**
+	 * Method that turns parallel full scans on or off.
+	 * 
+	 * @param parallel - true if full scans may run in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Method that checks whether parallel full scans are turned on.
+	 * 
+	 * @return true if they are, otherwise false
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Method that sets the number of records from which full scans run in
+	 * parallel. Smaller scans run on the calling thread, because splitting them
+	 * costs more than it saves.
+	 * 
+	 * @param parallelThreshold - number of records, must be positive
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		if (parallelThreshold < 1) {
+			throw new IllegalArgumentException("Parallel threshold must be positive!");
+		}
+
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Getter for parallel threshold
+	 * 
+	 * @return number of records from which full scans run in parallel
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Method that returns the version of the database. Version changes every time
+	 * the database is modified.
+	 * 
+	 * @return version of the database
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Method that returns the number of records in database.
+	 * 
+	 * @return number of records
+	 */
+	public int size() {
+		return store.size();
+	}
+
+	/**
+	 * Method that returns {@link SecondaryIndex} that can answer the given
+	 * {@link ConditionalExpression}. If there is no such index, returns null.
+	 * 
+	 * @param expression - expression we want to answer from index
+	 * @return {@link SecondaryIndex} or null
+	 */
+	public SecondaryIndex findIndex(ConditionalExpression expression) {
+		if (expression == null) {
+			throw new NullPointerException("Expression shouldn't be null!");
+		}
+
+		SecondaryIndex secondaryIndex = secondaryIndexes.get(expression.getGetter());
+		if (secondaryIndex != null && secondaryIndex.supports(expression)) {
+			return secondaryIndex;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Method that retrieves {@link StudentRecord}s that satisfy indexed
+	 * {@link ConditionalExpression} through {@link SecondaryIndex}, and then
+	 * filters them with given {@link IFilter}. Records are returned in their
+	 * original order.
+	 * 
+	 * @param indexed - expression that is answered from index
+	 * @param filter  - instance that filters through retrieved records
+	 * @return filtered dataset
+	 */
+	public List<StudentRecord> filter(ConditionalExpression indexed, IFilter filter) {
+		if (filter == null) {
+			throw new NullPointerException("Filter shouldn't be null!");
+		}
+
+		SecondaryIndex secondaryIndex = findIndex(indexed);
+		if (secondaryIndex == null) {
+			throw new IllegalArgumentException("There is no index that can answer this expression!");
+		}
+
+		IRowMatcher matcher = store.candidateMatcher(filter);
 		List<StudentRecord> filteredRecords = new ArrayList<StudentRecord>();
-		for (StudentRecord record : studentRecords) {
-			if (filter.accepts(record)) {
-				filteredRecords.add(record);
+		for (int row : secondaryIndex.lookup(indexed)) {
+			if (matcher.matches(row)) {
+				filteredRecords.add(store.get(row));
 			}
 		}
 
@@ -89,15 +344,30 @@ public class StudentDatabase {
 			if(record == null) {
 				continue;
 			}
-			
-			if (index.get(record.getJmbag()) != null) {
-				throw new IllegalArgumentException("There is a duplicate student record in database! Shutting down!");
-			}
 
-			index.put(record.getJmbag(), record);
-			studentRecords.add(record);
+			addRecord(record);
+		}
+
+	}
+
+	/**
+	 * Method that adds {@link StudentRecord} to the database and all of its
+	 * indexes.
+	 * 
+	 * @param record - record we are adding
+	 */
+	void addRecord(StudentRecord record) {
+		if (index.get(record.getJmbag()) >= 0) {
+			throw new IllegalArgumentException("There is a duplicate student record in database! Shutting down!");
 		}
 
+		int row = store.size();
+		store.add(record);
+		index.add(row);
+		for (SecondaryIndex secondaryIndex : secondaryIndexes.values()) {
+			secondaryIndex.add(record, row);
+		}
+		version++;
 	}
 
 	/**
@@ -120,4 +390,193 @@ public class StudentDatabase {
 		}
 	}
 
+	/**
+	 * Method that computes statistics of all rows accepted by the matcher, in
+	 * parallel if the parallel mode is on and database is large enough.
+	 * 
+	 * @param matcher - matcher for the filter
+	 * @return statistics of accepted rows
+	 */
+	private GradeStatistics aggregateRows(IRowMatcher matcher) {
+		int size = store.size();
+
+		if (parallel && size >= parallelThreshold) {
+			return ForkJoinPool.commonPool().invoke(new AggregateTask(store, matcher, 0, size));
+		}
+
+		return aggregate(store, matcher, 0, size);
+	}
+
+	/**
+	 * Method that computes statistics of rows from the given range on the calling
+	 * thread.
+	 * 
+	 * @param store   - store we are scanning
+	 * @param matcher - matcher for the filter
+	 * @param from    - first row, inclusive
+	 * @param to      - last row, exclusive
+	 * @return statistics of accepted rows
+	 */
+	private static GradeStatistics aggregate(IStudentStore store, IRowMatcher matcher, int from, int to) {
+		GradeStatistics statistics = new GradeStatistics();
+		for (int row = from; row < to; row++) {
+			if (matcher.matches(row)) {
+				statistics.add(store.getFinalGrade(row));
+			}
+		}
+
+		return statistics;
+	}
+
+	/**
+	 * Method that filters rows from the given range on the calling thread.
+	 * 
+	 * @param store   - store we are scanning
+	 * @param matcher - matcher for the filter
+	 * @param from    - first row, inclusive
+	 * @param to      - last row, exclusive
+	 * @return filtered records in their original order
+	 */
+	private static List<StudentRecord> scan(IStudentStore store, IRowMatcher matcher, int from, int to) {
+		List<StudentRecord> filteredRecords = new ArrayList<StudentRecord>();
+		for (int row = from; row < to; row++) {
+			if (matcher.matches(row)) {
+				filteredRecords.add(store.get(row));
+			}
+		}
+
+		return filteredRecords;
+	}
+
+	/**
+	 * Class that filters a range of rows by splitting it in halves until the
+	 * range is small enough to be scanned directly. Results of the left half are
+	 * placed before results of the right half, so the original order is kept.
+	 * 
+	 * @author ilovrencic
+	 *
+	 */
+	private static class FilterTask extends RecursiveTask<List<StudentRecord>> {
+
+		/**
+		 * Generated serial version UID
+		 */
+		private static final long serialVersionUID = 6172894513290134553L;
+
+		/**
+		 * Store we are scanning
+		 */
+		private IStudentStore store;
+
+		/**
+		 * Matcher for the filter
+		 */
+		private IRowMatcher matcher;
+
+		/**
+		 * First row, inclusive
+		 */
+		private int from;
+
+		/**
+		 * Last row, exclusive
+		 */
+		private int to;
+
+		/**
+		 * Default constructor
+		 * 
+		 * @param store   - store we are scanning
+		 * @param matcher - matcher for the filter
+		 * @param from    - first row, inclusive
+		 * @param to      - last row, exclusive
+		 */
+		private FilterTask(IStudentStore store, IRowMatcher matcher, int from, int to) {
+			this.store = store;
+			this.matcher = matcher;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected List<StudentRecord> compute() {
+			if (to - from <= SCAN_CHUNK_SIZE) {
+				return scan(store, matcher, from, to);
+			}
+
+			int middle = (from + to) >>> 1;
+			FilterTask left = new FilterTask(store, matcher, from, middle);
+			left.fork();
+			List<StudentRecord> right = new FilterTask(store, matcher, middle, to).compute();
+
+			List<StudentRecord> result = left.join();
+			result.addAll(right);
+			return result;
+		}
+	}
+
+	/**
+	 * Class that computes statistics of a range of rows by splitting it in halves
+	 * until the range is small enough to be scanned directly.
+	 * 
+	 * @author ilovrencic
+	 *
+	 */
+	private static class AggregateTask extends RecursiveTask<GradeStatistics> {
+
+		/**
+		 * Generated serial version UID
+		 */
+		private static final long serialVersionUID = -2838641750913262587L;
+
+		/**
+		 * Store we are scanning
+		 */
+		private IStudentStore store;
+
+		/**
+		 * Matcher for the filter
+		 */
+		private IRowMatcher matcher;
+
+		/**
+		 * First row, inclusive
+		 */
+		private int from;
+
+		/**
+		 * Last row, exclusive
+		 */
+		private int to;
+
+		/**
+		 * Default constructor
+		 * 
+		 * @param store   - store we are scanning
+		 * @param matcher - matcher for the filter
+		 * @param from    - first row, inclusive
+		 * @param to      - last row, exclusive
+		 */
+		private AggregateTask(IStudentStore store, IRowMatcher matcher, int from, int to) {
+			this.store = store;
+			this.matcher = matcher;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected GradeStatistics compute() {
+			if (to - from <= SCAN_CHUNK_SIZE) {
+				return aggregate(store, matcher, from, to);
+			}
+
+			int middle = (from + to) >>> 1;
+			AggregateTask left = new AggregateTask(store, matcher, from, middle);
+			left.fork();
+			GradeStatistics statistics = new AggregateTask(store, matcher, middle, to).compute();
+			statistics.combine(left.join());
+			return statistics;
+		}
+	}
+
 }
@@ -0,0 +1,229 @@
+package hr.fer.zemris.hw05.db;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class that loads {@link StudentDatabase} from a file. File is memory-mapped
+ * in windows and every line is tokenized in place on tab characters, so we
+ * don't hold all the lines in memory and don't run a regex for every line. Each
+ * line must have jmbag, last name, first name and final grade separated with
+ * tabs.
+ *
+ * @author ilovrencic
+ *
+ */
+public class StudentDatabaseLoader {
+
+	/* ============= CONSTANTS ============= */
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+	private static final int INITIAL_LINE_CAPACITY = 256;
+	private static final int FIELD_COUNT = 4;
+	/* ===================================== */
+
+	/**
+	 * Database we are filling
+	 */
+	private StudentDatabase database;
+
+	/**
+	 * Bytes of the line we are currently reading
+	 */
+	private byte[] line;
+
+	/**
+	 * Number of bytes in the current line
+	 */
+	private int lineLength;
+
+	/**
+	 * Number of the current line, used in error messages
+	 */
+	private int lineNumber;
+
+	/**
+	 * Start offsets of fields in the current line
+	 */
+	private int[] fieldStarts;
+
+	/**
+	 * End offsets of fields in the current line
+	 */
+	private int[] fieldEnds;
+
+	/**
+	 * Private constructor, loader is used through {@link #load(Path)}.
+	 * 
+	 * @param store - empty store that will keep records
+	 */
+	private StudentDatabaseLoader(IStudentStore store) {
+		database = new StudentDatabase(store);
+		line = new byte[INITIAL_LINE_CAPACITY];
+		fieldStarts = new int[FIELD_COUNT];
+		fieldEnds = new int[FIELD_COUNT];
+	}
+
+	/**
+	 * Method that loads {@link StudentDatabase} from the given UTF-8 file.
+	 *
+	 * @param path - path of the database file
+	 * @return loaded database
+	 * @throws IOException              if file can't be read
+	 * @throws IllegalArgumentException if some line isn't a valid student record
+	 */
+	public static StudentDatabase load(Path path) throws IOException {
+		return load(path, new RowStudentStore());
+	}
+
+	/**
+	 * Method that loads {@link StudentDatabase} backed by the given
+	 * {@link IStudentStore} from the given UTF-8 file.
+	 *
+	 * @param path  - path of the database file
+	 * @param store - empty store that will keep records
+	 * @return loaded database
+	 * @throws IOException              if file can't be read
+	 * @throws IllegalArgumentException if some line isn't a valid student record
+	 */
+	public static StudentDatabase load(Path path, IStudentStore store) throws IOException {
+		if (path == null || store == null) {
+			throw new NullPointerException("Path and store shouldn't be null!");
+		}
+
+		StudentDatabaseLoader loader = new StudentDatabaseLoader(store);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			for (long position = 0; position < size; position += WINDOW_SIZE) {
+				long length = Math.min(WINDOW_SIZE, size - position);
+				loader.consume(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+			}
+		}
+		loader.endLine();
+
+		return loader.database;
+	}
+
+	/**
+	 * Method that reads all bytes from the mapped window. Line that isn't
+	 * finished at the end of the window is continued in the next one.
+	 *
+	 * @param buffer - mapped window of the file
+	 */
+	private void consume(MappedByteBuffer buffer) {
+		int limit = buffer.limit();
+		for (int i = 0; i < limit; i++) {
+			byte b = buffer.get(i);
+			if (b == '\n') {
+				endLine();
+				continue;
+			}
+
+			if (lineLength == line.length) {
+				line = Arrays.copyOf(line, line.length * 2);
+			}
+			line[lineLength++] = b;
+		}
+	}
+
+	/**
+	 * Method that tokenizes the current line and adds its
+	 * {@link StudentRecord} to the database. Empty lines are skipped.
+	 */
+	private void endLine() {
+		lineNumber++;
+		int start = 0;
+		int end = lineLength;
+		lineLength = 0;
+
+		if (lineNumber == 1 && end >= 3 && line[0] == (byte) 0xEF && line[1] == (byte) 0xBB
+				&& line[2] == (byte) 0xBF) {
+			start = 3;
+		}
+		while (end > start && isBlank(line[end - 1])) {
+			end--;
+		}
+		while (start < end && isBlank(line[start])) {
+			start++;
+		}
+		if (start == end) {
+			return;
+		}
+
+		int field = 0;
+		fieldStarts[0] = start;
+		for (int i = start; i < end; i++) {
+			if (line[i] == '\t') {
+				if (field == FIELD_COUNT - 1) {
+					throw invalidLine();
+				}
+				fieldEnds[field++] = i;
+				fieldStarts[field] = i + 1;
+			}
+		}
+		fieldEnds[field] = end;
+		if (field != FIELD_COUNT - 1) {
+			throw invalidLine();
+		}
+
+		database.addRecord(new StudentRecord(field(0), field(2), field(1), parseGrade()));
+	}
+
+	/**
+	 * Method that decodes the field of the current line.
+	 *
+	 * @param field - index of the field
+	 * @return decoded field
+	 */
+	private String field(int field) {
+		return new String(line, fieldStarts[field], fieldEnds[field] - fieldStarts[field], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Method that parses the final grade directly from the bytes of the current
+	 * line.
+	 *
+	 * @return final grade
+	 */
+	private int parseGrade() {
+		int start = fieldStarts[FIELD_COUNT - 1];
+		int end = fieldEnds[FIELD_COUNT - 1];
+		if (start == end) {
+			throw new IllegalArgumentException("Final grade is not the right type! It should be integer!");
+		}
+
+		int grade = 0;
+		for (int i = start; i < end; i++) {
+			int digit = line[i] - '0';
+			if (digit < 0 || digit > 9 || grade > (Integer.MAX_VALUE - digit) / 10) {
+				throw new IllegalArgumentException("Final grade is not the right type! It should be integer!");
+			}
+			grade = grade * 10 + digit;
+		}
+		return grade;
+	}
+
+	/**
+	 * Method that creates an exception for the invalid current line.
+	 *
+	 * @return exception
+	 */
+	private IllegalArgumentException invalidLine() {
+		return new IllegalArgumentException("Line " + lineNumber + " isn't a valid student record!");
+	}
+
+	/**
+	 * Method that checks whether the byte is a space or a carriage return.
+	 *
+	 * @param b - byte we are checking
+	 * @return true if it is blank, otherwise false
+	 */
+	private static boolean isBlank(byte b) {
+		return b == ' ' || b == '\r';
+	}
+
+}
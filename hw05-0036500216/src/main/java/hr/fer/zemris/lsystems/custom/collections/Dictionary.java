@@ -1,10 +1,14 @@
 package hr.fer.zemris.lsystems.custom.collections;
 
-import java.util.Map;
+import java.util.Arrays;
 
 /**
- * Parameterized class that represents Dictionary
- * 
+ * Parameterized class that represents Dictionary. Entries are kept in a small
+ * open addressing table with linear probing, so both
+ * {@link #put(Object, Object)} and {@link #get(Object)} take constant time. Values of {@link Character} keys
+ * from the ASCII range are kept in an array indexed by the character, because
+ * dictionaries of single symbols are looked up once per symbol of long strings.
+ *
  * @author ilovrencic
  *
  * @param <K> - parameterized value of key
@@ -13,129 +17,198 @@ import java.util.Map;
 public class Dictionary<K, V> {
 
 	/**
-	 * Parameterized {@link ArrayIndexedCollection} that serves as dictionary
+	 * Number of {@link Character} keys that are kept in the array
+	 */
+	private static final int CHARACTER_KEYS = 128;
+
+	/**
+	 * Size of the default table
+	 */
+	private static final int DEFAULT_TABLE = 16;
+
+	/**
+	 * Keys of the table, null marks an empty slot
+	 */
+	private Object[] keys;
+
+	/**
+	 * Values of the table
+	 */
+	private Object[] values;
+
+	/**
+	 * Number of keys kept in the table
+	 */
+	private int tableCount;
+
+	/**
+	 * Values of {@link Character} keys from the ASCII range, indexed by the
+	 * character. It is created with the first such key.
+	 */
+	private Object[] characterValues;
+
+	/**
+	 * Flags that tell which {@link Character} keys from the ASCII range are present
+	 */
+	private boolean[] characterKeys;
+
+	/**
+	 * Number of {@link Character} keys kept in the array
 	 */
-	private ArrayIndexedCollection<Element<K, V>> dictionary;
+	private int characterCount;
 
 	/**
-	 * Default constructor that initializes the {@link ArrayIndexedCollection}
+	 * Default constructor that initializes the table with 16 slots
 	 */
 	public Dictionary() {
-		this.dictionary = new ArrayIndexedCollection<>();
+		this.keys = new Object[DEFAULT_TABLE];
+		this.values = new Object[DEFAULT_TABLE];
 	}
 
 	/**
 	 * Method that checks whether the {@link Dictionary} is empty.
-	 * 
+	 *
 	 * @return true - if there is no elements
 	 */
 	public boolean isEmpty() {
-		return dictionary.isEmpty();
+		return size() == 0;
 	}
 
 	/**
 	 * Method that returns number of elements inside {@link Dictionary}
-	 * 
+	 *
 	 * @return - number of elements inside {@link Dictionary}
 	 */
 	public int size() {
-		return dictionary.size();
+		return tableCount + characterCount;
 	}
 
 	/**
-	 * Method that removes all the elements from the {@link Dictionary}. In this
-	 * case this method is just called on {@link ArrayIndexedCollection}.
+	 * Method that removes all the elements from the {@link Dictionary}.
 	 */
 	public void clear() {
-		dictionary.clear();
+		Arrays.fill(keys, null);
+		Arrays.fill(values, null);
+		tableCount = 0;
+		characterValues = null;
+		characterKeys = null;
+		characterCount = 0;
 	}
 
 	/**
-	 * Method that puts {@link Element} value inside {@link ArrayIndexedCollection}.
-	 * If there is already a {@link Element} with the same key value, the value will
-	 * be overwritten.
-	 * 
+	 * Method that puts the key-value pair inside {@link Dictionary}. If there is
+	 * already a pair with the same key, the value will be overwritten.
+	 *
 	 * @param key
 	 * @param value
 	 */
 	public void put(K key, V value) {
-		if(key == null) {
+		if (key == null) {
 			throw new NullPointerException("Key can't be null!");
 		}
-		Element<K, V> element = new Element<>(key, value);
-		if (dictionary.contains(element)) {
-			dictionary.remove(element);
+
+		int character = characterIndex(key);
+		if (character < 0) {
+			putInTable(key, value);
+			return;
+		}
+
+		if (characterValues == null) {
+			characterValues = new Object[CHARACTER_KEYS];
+			characterKeys = new boolean[CHARACTER_KEYS];
 		}
 
-		dictionary.add(element);
+		if (!characterKeys[character]) {
+			characterKeys[character] = true;
+			characterCount++;
+		}
+		characterValues[character] = value;
 	}
 
 	/**
 	 * Method that returns value for a given {@link Object} key. If there is no such
 	 * key inside {@link Dictionary} the method will return <code>null</code>.
-	 * 
+	 *
 	 * @param key - key for which we are looking a value
 	 * @return - value that corresponds to the given key
 	 */
 	@SuppressWarnings("unchecked")
 	public V get(Object key) {
-		if(key == null) {
+		if (key == null) {
 			throw new NullPointerException("Key can't be null!");
 		}
-		Element<K, V> element = new Element<K, V>((K) key, null);
-		if (dictionary.contains(element)) {
-			return dictionary.get(dictionary.indexOf(element)).getValue();
+
+		int character = characterIndex(key);
+		if (character < 0) {
+			return (V) values[slot(keys, key)];
 		}
-		return null;
+
+		return characterValues == null ? null : (V) characterValues[character];
 	}
 
 	/**
-	 * Class that represents a single element inside {@link Dictionary}. It consists
-	 * of key-value pair that should resemble to the {@link Map} implementation.
-	 * 
-	 * @author ilovrencic
+	 * Method that puts the key-value pair into the table, and doubles the table
+	 * once it is half full.
 	 *
-	 * @param <K> - key type
-	 * @param <V> - value type
-	 */
-	private static class Element<K, V> {
-
-		private K key;
-		private V value;
-
-		/**
-		 * Default constructor for {@link Element}
-		 * 
-		 * @param key
-		 * @param value
-		 */
-		public Element(K key, V value) {
-			this.key = key;
-			this.value = value;
+	 * @param key   - key of the pair
+	 * @param value - value of the pair
+	 */
+	private void putInTable(Object key, Object value) {
+		int slot = slot(keys, key);
+		if (keys[slot] == null) {
+			keys[slot] = key;
+			tableCount++;
 		}
-
-		/**
-		 * Getter for value
-		 * 
-		 * @return
-		 */
-		public V getValue() {
-			return value;
+		values[slot] = value;
+
+		if (tableCount * 2 > keys.length) {
+			Object[] oldKeys = keys;
+			Object[] oldValues = values;
+			keys = new Object[oldKeys.length * 2];
+			values = new Object[oldKeys.length * 2];
+
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != null) {
+					int newSlot = slot(keys, oldKeys[i]);
+					keys[newSlot] = oldKeys[i];
+					values[newSlot] = oldValues[i];
+				}
+			}
 		}
+	}
 
-		@Override
-		public int hashCode() {
-			return key.hashCode() + value.hashCode();
+	/**
+	 * Method that returns the slot of the key in the table, or the empty slot
+	 * where the key should be put.
+	 *
+	 * @param keys - keys of the table
+	 * @param key  - key we are looking for
+	 * @return - slot of the key
+	 */
+	private static int slot(Object[] keys, Object key) {
+		int mask = keys.length - 1;
+		int hash = key.hashCode();
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (keys[slot] != null && !keys[slot].equals(key)) {
+			slot = (slot + 1) & mask;
 		}
+		return slot;
+	}
 
-		@Override
-		@SuppressWarnings("unchecked")
-		public boolean equals(Object obj) {
-			if (obj instanceof Element) {
-				Element<K, V> element = (Element<K, V>) obj;
-				return element.key.equals(key);
+	/**
+	 * Method that returns the index of the key in the array of {@link Character}
+	 * keys, or -1 if the key isn't kept there.
+	 *
+	 * @param key - key we are looking for
+	 * @return - index of the key or -1
+	 */
+	private static int characterIndex(Object key) {
+		if (key instanceof Character) {
+			char character = (Character) key;
+			if (character < CHARACTER_KEYS) {
+				return character;
 			}
-			return false;
 		}
+		return -1;
 	}
 }
@@ -489,11 +489,11 @@ public class LSystemBuilderImpl implements LSystemBuilder {
 
 			char[] generatedState = generate(level).toCharArray();
 			for (Character action : generatedState) {
-				if (commands.get(action) == null) {
+				Command command = commands.get(action);
+				if (command == null) {
 					continue;
 				}
 
-				Command command = commands.get(action);
 				command.execute(context, painter);
 			}
 		}
@@ -508,22 +508,22 @@ public class LSystemBuilderImpl implements LSystemBuilder {
 				return axiom;
 			}
 
-			String generatedAxiom = "";
-
-			char[] currentAxiom = axiom.toCharArray();
+			String generatedAxiom = axiom;
 			for (int i = 0; i < level; i++) {
-				generatedAxiom = "";
+				StringBuilder builder = new StringBuilder(generatedAxiom.length() * 2);
 
-				for (Character action : currentAxiom) {
-					if (productions.get(action) == null) {
-						generatedAxiom += action.toString();
+				for (int j = 0; j < generatedAxiom.length(); j++) {
+					char action = generatedAxiom.charAt(j);
+					String production = productions.get(action);
+					if (production == null) {
+						builder.append(action);
 						continue;
 					}
 
-					generatedAxiom += productions.get(action);
+					builder.append(production);
 				}
 
-				currentAxiom = generatedAxiom.toCharArray();
+				generatedAxiom = builder.toString();
 			}
 
 			return generatedAxiom;
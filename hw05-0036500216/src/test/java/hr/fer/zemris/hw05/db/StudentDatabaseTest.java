@@ -2,7 +2,13 @@ package hr.fer.zemris.hw05.db;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -84,7 +90,33 @@ class StudentDatabaseTest {
 		assertEquals(oper7.satisfied("AABBCC", "A*C"), true);
 		assertEquals(oper7.satisfied("AAA", "A*A"), true);
 		
-		Assertions.assertThrows(IllegalArgumentException.class, () -> oper7.satisfied("AAA", "A**"));
+		assertEquals(oper7.satisfied("AAA", "A**"), true);
+		assertEquals(oper7.satisfied("ABCD", "ABCD"), true);
+		assertEquals(oper7.satisfied("ABCD", "ABC"), false);
+	}
+
+	@Test
+	void testLikePattern() {
+		assertTrue(new LikePattern("*B*D").matches("ABCD"));
+		assertTrue(new LikePattern("A*C*").matches("ABCD"));
+		assertTrue(new LikePattern("A?C?").matches("ABCD"));
+		assertFalse(new LikePattern("A?D").matches("ABCD"));
+		assertTrue(new LikePattern("*").matches(""));
+		assertTrue(new LikePattern("a*b*c").matches("aXbYbZc"));
+		assertFalse(new LikePattern("a*b*c").matches("aXbYbZ"));
+		assertTrue(new LikePattern("B*").isPrefixOnly());
+		assertEquals("Bo", new LikePattern("Bo?i*").getLiteralPrefix());
+
+		List<String> records = new ArrayList<String>();
+		records.add("0000000001\tBosnic\tAndrea\t4");
+		records.add("0000000002\tBožic\tMarin\t5");
+		records.add("0000000003\tBotic\tIvan\t2");
+		StudentDatabase database = new StudentDatabase(records);
+
+		ConditionalExpression like = new ConditionalExpression(ComparisonOperator.LIKE, FieldValueGetters.LAST_NAME,
+				"Bo?i*");
+		assertEquals("lastName", database.findIndex(like).getName());
+		assertEquals(2, database.filter(like, record -> true).size());
 	}
 	
 	@Test
@@ -134,4 +166,246 @@ class StudentDatabaseTest {
 		assertEquals(parser.getQueriedJMBAG(),"0123456789");
 	}
 
+	@Test
+	void testSecondaryIndex() {
+		List<String> records = new ArrayList<String>();
+		records.add("0000000001\tBakamovic\tPetra\t3");
+		records.add("0000000002\tAkšamovic\tMarin\t2");
+		records.add("0000000003\tBosnic\tAndrea\t4");
+		records.add("0000000004\tBakamovic\tIvan\t5");
+
+		StudentDatabase database = new StudentDatabase(records);
+		IFilter all = record -> true;
+
+		ConditionalExpression equals = new ConditionalExpression(ComparisonOperator.EQUALS,
+				FieldValueGetters.LAST_NAME, "Bakamovic");
+		assertEquals("lastName", database.findIndex(equals).getName());
+		List<StudentRecord> result = database.filter(equals, all);
+		assertEquals(2, result.size());
+		assertEquals("0000000001", result.get(0).getJmbag());
+		assertEquals("0000000004", result.get(1).getJmbag());
+
+		ConditionalExpression like = new ConditionalExpression(ComparisonOperator.LIKE, FieldValueGetters.LAST_NAME,
+				"B*");
+		assertEquals(3, database.filter(like, all).size());
+
+		ConditionalExpression range = new ConditionalExpression(ComparisonOperator.GREATER_OR_EQUAL,
+				FieldValueGetters.FIRST_NAME, "Marin");
+		assertEquals("firstName", database.findIndex(range).getName());
+		assertEquals(2, database.filter(range, all).size());
+
+		ConditionalExpression notEquals = new ConditionalExpression(ComparisonOperator.NOT_EQUALS,
+				FieldValueGetters.LAST_NAME, "Bosnic");
+		assertNull(database.findIndex(notEquals));
+		assertNull(database.findIndex(new ConditionalExpression(ComparisonOperator.LIKE,
+				FieldValueGetters.LAST_NAME, "*ic")));
+	}
+
+	@Test
+	void testQueryPlanner() {
+		List<String> records = new ArrayList<String>();
+		records.add("0000000001\tBakamovic\tPetra\t3");
+		records.add("0000000002\tAkšamovic\tMarin\t2");
+		records.add("0000000003\tBosnic\tAndrea\t4");
+		records.add("0000000004\tBakamovic\tIvan\t5");
+
+		StudentDatabase database = new StudentDatabase(records);
+		QueryPlanner planner = new QueryPlanner(database);
+
+		QueryPlan direct = planner.plan(new QueryParser("query lastName LIKE \"B*\" and jmbag=\"0000000004\"").getQuery());
+		assertEquals(AccessPath.JMBAG_LOOKUP, direct.getAccessPath());
+		assertEquals(1, direct.getResidual().size());
+		assertEquals(1, database.execute(direct).size());
+
+		QueryPlan indexed = planner
+				.plan(new QueryParser("query firstName != \"Ivan\" and lastName = \"Bakamovic\"").getQuery());
+		assertEquals(AccessPath.INDEX_SCAN, indexed.getAccessPath());
+		assertEquals("lastName", indexed.getIndexName());
+		assertEquals("0000000001", database.execute(indexed).get(0).getJmbag());
+
+		QueryPlan scan = planner.plan(new QueryParser("query lastName LIKE \"*ic\" and jmbag > \"0000000001\"").getQuery());
+		assertEquals(AccessPath.FULL_SCAN, scan.getAccessPath());
+		assertEquals(ComparisonOperator.LIKE, scan.getResidual().get(0).getOperator());
+		assertEquals(3, database.execute(scan).size());
+	}
+
+	@Test
+	void testLoader() throws IOException {
+		Path file = Files.createTempFile("database", ".txt");
+		try {
+			Files.write(file, ("0000000001\tGlavinić Pecotić\tKristijan\t4\r\n\r\n0000000002\tBakamović\tPetra\t3")
+					.getBytes(StandardCharsets.UTF_8));
+
+			StudentDatabase database = StudentDatabaseLoader.load(file);
+			assertEquals(2, database.size());
+			assertEquals("Glavinić Pecotić", database.forJMBAG("0000000001").getLastName());
+			assertEquals("Kristijan", database.forJMBAG("0000000001").getFirstName());
+			assertEquals(3, database.forJMBAG("0000000002").getFinalGrade());
+
+			Files.write(file, "0000000001\tBakamović\t3".getBytes(StandardCharsets.UTF_8));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> StudentDatabaseLoader.load(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testColumnarStore() {
+		IStudentStore store = new ColumnarStudentStore();
+		StudentDatabase database = new StudentDatabase(store);
+		database.addRecord(new StudentRecord("0000000001", "Petra", "Bakamovic", 3));
+		database.addRecord(new StudentRecord("0000000002", "Marin", "Akšamovic", 2));
+		database.addRecord(new StudentRecord("0000000003", "Andrea", "Bosnic", 4));
+		database.addRecord(new StudentRecord("0000000004", "Marin", "Bakamovic", 5));
+
+		assertEquals("0000000003 Andrea Bosnic 4", database.forJMBAG("0000000003").toString());
+
+		List<StudentRecord> result = database
+				.filter(new QueryFilter(new QueryParser("query firstName = \"Marin\" and jmbag > \"0000000001\"").getQuery()));
+		assertEquals(2, result.size());
+		assertEquals("0000000002", result.get(0).getJmbag());
+		assertEquals("0000000004", result.get(1).getJmbag());
+
+		List<StudentRecord> like = database
+				.filter(new QueryFilter(new QueryParser("query lastName LIKE \"B*\"").getQuery()));
+		assertEquals(3, like.size());
+		assertEquals(2, database.filter(record -> record.getFinalGrade() > 3).size());
+
+		QueryPlanner planner = new QueryPlanner(database);
+		QueryPlan direct = planner
+				.plan(new QueryParser("query jmbag = \"0000000004\" and lastName LIKE \"Ba*\"").getQuery());
+		assertEquals(AccessPath.JMBAG_LOOKUP, direct.getAccessPath());
+		assertEquals(1, database.execute(direct).size());
+		assertEquals(1, database.aggregate(direct).getCount());
+
+		QueryPlan indexed = planner
+				.plan(new QueryParser("query lastName = \"Bakamovic\" and firstName != \"Petra\"").getQuery());
+		assertEquals(AccessPath.INDEX_SCAN, indexed.getAccessPath());
+		assertEquals("0000000004", database.execute(indexed).get(0).getJmbag());
+		assertEquals(1, database.aggregate(indexed).getCount());
+
+		for (int i = 5; i < 1000; i++) {
+			database.addRecord(new StudentRecord(String.format("%010d", i), "Ime", "Prezime", 1));
+		}
+		assertEquals("0000000003 Andrea Bosnic 4", database.forJMBAG("0000000003").toString());
+		assertEquals("0000000999", database.forJMBAG("0000000999").getJmbag());
+		assertNull(database.forJMBAG("0000001000"));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> database.addRecord(new StudentRecord("0000000500", "Ime", "Prezime", 1)));
+	}
+
+	@Test
+	void testParallelFilter() {
+		StudentDatabase database = new StudentDatabase();
+		for (int i = 0; i < 50_000; i++) {
+			database.addRecord(new StudentRecord(String.format("%010d", i), "Ime" + (i % 97), "Prezime" + (i % 13),
+					i % 5 + 1));
+		}
+		IFilter filter = new QueryFilter(new QueryParser("query lastName LIKE \"Prezime1*\"").getQuery());
+		List<StudentRecord> sequential = database.filter(filter);
+
+		database.setParallel(true);
+		database.setParallelThreshold(1);
+		List<StudentRecord> parallel = database.filter(filter);
+
+		assertEquals(sequential.size(), parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			assertEquals(sequential.get(i).getJmbag(), parallel.get(i).getJmbag());
+		}
+		Assertions.assertThrows(IllegalArgumentException.class, () -> database.setParallelThreshold(0));
+	}
+
+	@Test
+	void testFinalGradeQueries() {
+		List<String> records = new ArrayList<String>();
+		records.add("0000000001\tBakamovic\tPetra\t3");
+		records.add("0000000002\tAkšamovic\tMarin\t2");
+		records.add("0000000003\tBosnic\tAndrea\t4");
+		records.add("0000000004\tBakamovic\tIvan\t5");
+		records.add("0000000005\tBosnic\tIvan\t10");
+		StudentDatabase database = new StudentDatabase(records);
+
+		ConditionalExpression expression = new QueryParser("query finalGrade > 4").getQuery().get(0);
+		assertTrue(expression.isNumeric());
+		assertEquals(2, database.filter(new QueryFilter(Arrays.asList(expression))).size());
+		assertEquals(1, database.filter(new QueryFilter(new QueryParser("query finalGrade=\"10\"").getQuery())).size());
+		Assertions.assertThrows(ParserException.class, () -> new QueryParser("query finalGrade = \"A\""));
+
+		QueryPlanner planner = new QueryPlanner(database);
+		GradeStatistics statistics = database
+				.aggregate(planner.plan(new QueryParser("query lastName = \"Bakamovic\" and finalGrade >= 3").getQuery()));
+		assertEquals(2, statistics.getCount());
+		assertEquals(4.0, statistics.getAverage());
+		assertEquals(1, statistics.getGradeCount(3));
+		assertEquals(1, statistics.getGradeCount(5));
+
+		GradeStatistics all = database.aggregate(record -> true);
+		assertEquals(5, all.getCount());
+		assertEquals(0, all.getGradeCount(1));
+		assertEquals(4.8, all.getAverage(), 1e-9);
+	}
+
+	@Test
+	void testQueryCache() {
+		StudentDatabase database = new StudentDatabase();
+		database.addRecord(new StudentRecord("0000000001", "Petra", "Bakamovic", 3));
+		database.addRecord(new StudentRecord("0000000002", "Marin", "Akšamovic", 2));
+		QueryCache cache = new QueryCache(2, Long.MAX_VALUE);
+
+		QueryCache.CachedQuery first = cache.query(database, "query lastName LIKE \"B*\" and finalGrade > 2");
+		assertEquals(1, first.getResults().size());
+		assertSame(first, cache.query(database, "query lastName LIKE \"B*\" and finalGrade > 2"));
+		assertSame(first, cache.query(database, "query finalGrade>2 and lastName LIKE \"B*\""));
+		assertEquals(1, cache.getMisses());
+		assertEquals(2, cache.getHits());
+
+		cache.query(database, "query jmbag = \"0000000002\"");
+		cache.query(database, "query firstName = \"Marin\"");
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+
+		database.addRecord(new StudentRecord("0000000003", "Andrea", "Bosnic", 4));
+		QueryCache.CachedQuery reloaded = cache.query(database, "query lastName LIKE \"B*\" and finalGrade > 2");
+		assertNotSame(first, reloaded);
+		assertEquals(2, reloaded.getResults().size());
+		assertEquals(1, cache.getInvalidations());
+	}
+
+	@Test
+	void testRecordPrinter() {
+		List<StudentRecord> records = Arrays.asList(new StudentRecord("0000000001", "Petra", "Bakamovic", 3),
+				new StudentRecord("0000000002", "Ivan \"Ivo\"", "Di, Marco", 5));
+		String nl = System.lineSeparator();
+
+		StringWriter out = new StringWriter();
+		RecordPrinter printer = new RecordPrinter(out, OutputFormat.TABLE);
+		printer.print(records);
+		assertEquals("+============+===========+============+===+" + nl
+				+ "| 0000000001 | Bakamovic | Petra      | 3 |" + nl
+				+ "| 0000000002 | Di, Marco | Ivan \"Ivo\" | 5 |" + nl
+				+ "+============+===========+============+===+" + nl
+				+ "Records retrieved: 2" + nl, out.toString());
+
+		out.getBuffer().setLength(0);
+		printer.print(new ArrayList<StudentRecord>());
+		assertEquals("Records retrieved: 0" + nl, out.toString());
+
+		out.getBuffer().setLength(0);
+		printer.setFormat(OutputFormat.TSV);
+		printer.print(records);
+		assertEquals("jmbag\tlastName\tfirstName\tfinalGrade" + nl + "0000000001\tBakamovic\tPetra\t3" + nl
+				+ "0000000002\tDi, Marco\tIvan \"Ivo\"\t5" + nl, out.toString());
+
+		out.getBuffer().setLength(0);
+		printer.print(Arrays.asList(new StudentRecord("0000000003", "Ana\tMarija", "Horvat\r\nKovac", 4)));
+		assertEquals("jmbag\tlastName\tfirstName\tfinalGrade" + nl + "0000000003\tHorvat  Kovac\tAna Marija\t4" + nl,
+				out.toString());
+
+		out.getBuffer().setLength(0);
+		printer.setFormat(OutputFormat.CSV);
+		printer.print(records);
+		assertEquals("jmbag,lastName,firstName,finalGrade" + nl + "0000000001,Bakamovic,Petra,3" + nl
+				+ "0000000002,\"Di, Marco\",\"Ivan \"\"Ivo\"\"\",5" + nl, out.toString());
+	}
+
 }